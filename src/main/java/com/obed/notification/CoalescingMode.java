@@ -0,0 +1,14 @@
+package com.obed.notification;
+
+/**
+ * How the pushes coalesced into one send within a window are combined.
+ */
+public enum CoalescingMode {
+    /** Only the latest push is sent. */
+    LAST_WRITE_WINS,
+    /**
+     * The latest title and body are sent with the data maps of every push merged, later values winning, plus a
+     * {@code coalesced_count} entry with the number of pushes merged.
+     */
+    DIGEST
+}
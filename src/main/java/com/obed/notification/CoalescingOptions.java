@@ -0,0 +1,63 @@
+package com.obed.notification;
+
+import com.obed.notification.domain.model.PushNotification;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Settings for push coalescing enabled with {@link NotificationClient.Builder#withPushCoalescing}.
+ *
+ * @param window      how long the first push to a device and collapse key waits for others to merge with
+ * @param maxPending  upper bound on windows open at once; pushes that would open another one are sent right away
+ * @param mode        how the pushes of a window are combined
+ * @param collapseKey pushes to the same device are only merged when this returns the same key for them
+ */
+public record CoalescingOptions(
+        Duration window,
+        int maxPending,
+        CoalescingMode mode,
+        Function<PushNotification, String> collapseKey
+) {
+    /** Data entry read by the default collapse key. */
+    public static final String COLLAPSE_KEY = "collapse_key";
+
+    public CoalescingOptions {
+        if (window == null || window.isNegative() || window.isZero())
+            throw new IllegalArgumentException("window must be positive");
+
+        if (maxPending < 1)
+            throw new IllegalArgumentException("maxPending must be at least 1");
+
+        if (mode == null)
+            throw new IllegalArgumentException("mode cannot be null");
+
+        if (collapseKey == null)
+            throw new IllegalArgumentException("collapseKey cannot be null");
+    }
+
+    /**
+     * A 2 second last-write-wins window keyed by the {@value #COLLAPSE_KEY} entry of the data map, so pushes
+     * without one to the same device are all merged.
+     */
+    public static CoalescingOptions defaults() {
+        return new CoalescingOptions(Duration.ofSeconds(2), 100_000, CoalescingMode.LAST_WRITE_WINS,
+                push -> push.data() == null ? "" : push.data().getOrDefault(COLLAPSE_KEY, ""));
+    }
+
+    public CoalescingOptions withWindow(Duration window) {
+        return new CoalescingOptions(window, maxPending, mode, collapseKey);
+    }
+
+    public CoalescingOptions withMaxPending(int maxPending) {
+        return new CoalescingOptions(window, maxPending, mode, collapseKey);
+    }
+
+    public CoalescingOptions withMode(CoalescingMode mode) {
+        return new CoalescingOptions(window, maxPending, mode, collapseKey);
+    }
+
+    public CoalescingOptions withCollapseKey(Function<PushNotification, String> collapseKey) {
+        return new CoalescingOptions(window, maxPending, mode, collapseKey);
+    }
+}
@@ -0,0 +1,27 @@
+package com.obed.notification;
+
+/**
+ * Point-in-time counters of push coalescing.
+ *
+ * @param received pushes handed to the coalescing stage
+ * @param merged   pushes folded into another one instead of being sent on their own
+ * @param bypassed pushes sent right away because {@code maxPending} windows were already open
+ * @param pending  windows currently open
+ */
+public record CoalescingStats(
+        long received,
+        long merged,
+        long bypassed,
+        int pending
+) {
+    public static CoalescingStats empty() {
+        return new CoalescingStats(0, 0, 0, 0);
+    }
+
+    /**
+     * Pushes received per provider send; 1.0 means nothing was coalesced.
+     */
+    public double ratio() {
+        return received == merged ? 1.0 : (double) received / (received - merged);
+    }
+}
@@ -0,0 +1,187 @@
+package com.obed.notification;
+
+import com.obed.notification.domain.model.EmailNotification;
+import com.obed.notification.domain.model.Notification;
+import com.obed.notification.domain.model.PushNotification;
+import com.obed.notification.domain.model.SmsNotification;
+import com.obed.notification.resilience.Ticker;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Remembers the idempotency keys of recent sends for a fixed ttl. Keys are spread over lock stripes, each an
+ * insertion-ordered map: with a single ttl insertion order is also expiry order, so expired keys and, when a stripe
+ * is full, the oldest live ones are always removed from the head.
+ */
+final class DedupCache {
+    private static final HexFormat HEX = HexFormat.of();
+
+    private final long ttlNanos;
+    private final boolean deriveKeys;
+    private final Ticker ticker;
+    private final Stripe[] stripes;
+    private final int mask;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    DedupCache(DeduplicationOptions options, Ticker ticker) {
+        this.ttlNanos = options.ttl().toNanos();
+        this.deriveKeys = options.deriveKeys();
+        this.ticker = ticker;
+
+        int count = Integer.highestOneBit(Math.max(1, Math.min(options.maxEntries(),
+                4 * Runtime.getRuntime().availableProcessors())));
+        this.stripes = new Stripe[count];
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new Stripe(Math.max(1, options.maxEntries() / count));
+        }
+        this.mask = count - 1;
+    }
+
+    /**
+     * Returns the key duplicates of this notification are detected by, or null if it should not be deduplicated.
+     */
+    String keyOf(Notification notification) {
+        if (notification.idempotencyKey() != null) {
+            return notification.getClass().getSimpleName() + ':' + notification.idempotencyKey();
+        }
+        return deriveKeys ? derive(notification) : null;
+    }
+
+    /**
+     * Records the key and returns true if it was not already present, false if this send is a duplicate.
+     */
+    boolean claim(String key) {
+        Stripe stripe = stripe(key);
+        long now = ticker.read();
+        stripe.lock.lock();
+        try {
+            stripe.expire(now);
+            if (stripe.entries.containsKey(key)) {
+                hits.increment();
+                return false;
+            }
+            stripe.entries.put(key, now + ttlNanos);
+            if (stripe.entries.size() > stripe.capacity) {
+                stripe.removeEldest();
+                evictions.increment();
+            }
+            misses.increment();
+            return true;
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    /**
+     * Forgets a claimed key, so a send that failed can be tried again.
+     */
+    void release(String key) {
+        Stripe stripe = stripe(key);
+        stripe.lock.lock();
+        try {
+            stripe.entries.remove(key);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    DeduplicationStats stats() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                size += stripe.entries.size();
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        return new DeduplicationStats(hits.sum(), misses.sum(), evictions.sum(), size);
+    }
+
+    private Stripe stripe(String key) {
+        int h = key.hashCode();
+        return stripes[(h ^ (h >>> 16)) & mask];
+    }
+
+    /**
+     * SHA-256 of the recipient and content, truncated to 128 bits.
+     */
+    static String derive(Notification notification) {
+        MessageDigest digest = sha256();
+        update(digest, notification.getClass().getSimpleName());
+        update(digest, notification.recipient());
+        switch (notification) {
+            case EmailNotification email -> {
+                update(digest, email.subject());
+                update(digest, email.body());
+                if (email.attachments() != null) {
+                    for (File file : email.attachments()) {
+                        update(digest, file.getPath());
+                    }
+                }
+            }
+            case SmsNotification sms -> update(digest, sms.message());
+            case PushNotification push -> {
+                update(digest, push.title());
+                update(digest, push.body());
+                if (push.data() != null) {
+                    for (Map.Entry<String, String> entry : new TreeMap<>(push.data()).entrySet()) {
+                        update(digest, entry.getKey());
+                        update(digest, entry.getValue());
+                    }
+                }
+            }
+        }
+        return HEX.formatHex(digest.digest(), 0, 16);
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        if (value != null) {
+            digest.update(value.getBytes(StandardCharsets.UTF_8));
+        }
+        digest.update((byte) 0);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static final class Stripe {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final LinkedHashMap<String, Long> entries = new LinkedHashMap<>();
+        private final int capacity;
+
+        private Stripe(int capacity) {
+            this.capacity = capacity;
+        }
+
+        private void expire(long now) {
+            Iterator<Long> expiries = entries.values().iterator();
+            while (expiries.hasNext() && expiries.next() - now <= 0) {
+                expiries.remove();
+            }
+        }
+
+        private void removeEldest() {
+            Iterator<String> keys = entries.keySet().iterator();
+            keys.next();
+            keys.remove();
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.obed.notification;
+
+import java.time.Duration;
+
+/**
+ * Settings for duplicate suppression enabled with {@link NotificationClient.Builder#withDeduplication}.
+ *
+ * @param ttl        how long a delivered notification keeps its duplicates from being sent
+ * @param maxEntries upper bound on remembered keys; the oldest ones are evicted first
+ * @param deriveKeys whether notifications without an idempotency key get one derived from their content
+ */
+public record DeduplicationOptions(
+        Duration ttl,
+        int maxEntries,
+        boolean deriveKeys
+) {
+    public DeduplicationOptions {
+        if (ttl == null || ttl.isNegative() || ttl.isZero())
+            throw new IllegalArgumentException("ttl must be positive");
+
+        if (maxEntries < 1)
+            throw new IllegalArgumentException("maxEntries must be at least 1");
+    }
+
+    public static DeduplicationOptions defaults() {
+        return new DeduplicationOptions(Duration.ofMinutes(10), 100_000, true);
+    }
+
+    public DeduplicationOptions withTtl(Duration ttl) {
+        return new DeduplicationOptions(ttl, maxEntries, deriveKeys);
+    }
+
+    public DeduplicationOptions withMaxEntries(int maxEntries) {
+        return new DeduplicationOptions(ttl, maxEntries, deriveKeys);
+    }
+
+    public DeduplicationOptions withDeriveKeys(boolean deriveKeys) {
+        return new DeduplicationOptions(ttl, maxEntries, deriveKeys);
+    }
+}
@@ -0,0 +1,20 @@
+package com.obed.notification;
+
+/**
+ * Point-in-time counters of the deduplication cache.
+ *
+ * @param hits      sends skipped because their key was already delivered or in flight
+ * @param misses    sends whose key was new and went through to a provider
+ * @param evictions keys dropped before their ttl because the cache was full
+ * @param size      keys currently remembered
+ */
+public record DeduplicationStats(
+        long hits,
+        long misses,
+        long evictions,
+        int size
+) {
+    public static DeduplicationStats empty() {
+        return new DeduplicationStats(0, 0, 0, 0);
+    }
+}
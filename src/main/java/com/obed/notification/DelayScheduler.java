@@ -0,0 +1,186 @@
+package com.obed.notification;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Holds items until their deadline and then hands them to the sink on a single daemon thread, which sleeps until
+ * the earliest deadline. Items sit in a 4-ary min-heap kept in two parallel arrays, so a pending item costs no
+ * more than its own object: scheduling and taking the earliest are O(log n), and a 4-ary heap is half as deep as a
+ * binary one with the children of a node next to each other in memory. Unlike the timer wheel it never walks
+ * items that are not yet due, which suits millions of sends scheduled hours or days ahead.
+ */
+final class DelayScheduler<T> {
+    private static final Logger log = LoggerFactory.getLogger(DelayScheduler.class);
+
+    // Keeps deadlines far enough from overflow that comparing them by subtraction stays correct
+    private static final long MAX_DELAY_NANOS = Long.MAX_VALUE / 4;
+
+    private final Consumer<T> sink;
+    private final String threadName;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+    private long[] deadlines = new long[64];
+    private Object[] items = new Object[64];
+    private int size;
+    private Thread thread;
+    private boolean closed;
+
+    DelayScheduler(Consumer<T> sink, String threadName) {
+        this.sink = sink;
+        this.threadName = threadName;
+    }
+
+    /**
+     * Schedules the item to be handed to the sink once {@code delayNanos} have passed.
+     *
+     * @return {@code false} if the scheduler was closed and the item was not taken
+     */
+    boolean schedule(T item, long delayNanos) {
+        long deadline = System.nanoTime() + Math.min(Math.max(0, delayNanos), MAX_DELAY_NANOS);
+        lock.lock();
+        try {
+            if (closed) {
+                return false;
+            }
+            if (thread == null) {
+                thread = Thread.ofPlatform().name(threadName).daemon().start(this::run);
+            }
+            if (size == deadlines.length) {
+                int capacity = size + (size >> 1);
+                deadlines = Arrays.copyOf(deadlines, capacity);
+                items = Arrays.copyOf(items, capacity);
+            }
+            int index = siftUp(size++, deadline, item);
+            if (index == 0) {
+                changed.signal();
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int size() {
+        lock.lock();
+        try {
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Stops the scheduler and returns the items that were still waiting, earliest first.
+     */
+    List<T> close() {
+        List<T> pending;
+        lock.lock();
+        try {
+            closed = true;
+            pending = new ArrayList<>(size);
+            while (size > 0) {
+                pending.add(removeFirst());
+            }
+            changed.signal();
+        } finally {
+            lock.unlock();
+        }
+        return pending;
+    }
+
+    private void run() {
+        List<T> due = new ArrayList<>();
+        while (true) {
+            lock.lock();
+            try {
+                while (!closed && (size == 0 || deadlines[0] - System.nanoTime() > 0)) {
+                    if (size == 0) {
+                        changed.await();
+                    } else {
+                        changed.awaitNanos(deadlines[0] - System.nanoTime());
+                    }
+                }
+                if (closed) {
+                    return;
+                }
+                long now = System.nanoTime();
+                while (size > 0 && deadlines[0] - now <= 0) {
+                    due.add(removeFirst());
+                }
+            } catch (InterruptedException e) {
+                return;
+            } finally {
+                lock.unlock();
+            }
+
+            for (T item : due) {
+                try {
+                    sink.accept(item);
+                } catch (RuntimeException e) {
+                    log.error("Scheduled item could not be handed on", e);
+                }
+            }
+            due.clear();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private T removeFirst() {
+        T first = (T) items[0];
+        int last = --size;
+        long deadline = deadlines[last];
+        Object item = items[last];
+        items[last] = null;
+        if (last > 0) {
+            siftDown(0, deadline, item);
+        }
+        return first;
+    }
+
+    private int siftUp(int index, long deadline, Object item) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 2;
+            if (deadlines[parent] - deadline <= 0) {
+                break;
+            }
+            deadlines[index] = deadlines[parent];
+            items[index] = items[parent];
+            index = parent;
+        }
+        deadlines[index] = deadline;
+        items[index] = item;
+        return index;
+    }
+
+    private void siftDown(int index, long deadline, Object item) {
+        while (true) {
+            int first = (index << 2) + 1;
+            if (first >= size) {
+                break;
+            }
+            int smallest = first;
+            int end = Math.min(first + 4, size);
+            for (int child = first + 1; child < end; child++) {
+                if (deadlines[child] - deadlines[smallest] < 0) {
+                    smallest = child;
+                }
+            }
+            if (deadline - deadlines[smallest] <= 0) {
+                break;
+            }
+            deadlines[index] = deadlines[smallest];
+            items[index] = items[smallest];
+            index = smallest;
+        }
+        deadlines[index] = deadline;
+        items[index] = item;
+    }
+}
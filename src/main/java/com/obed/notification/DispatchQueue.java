@@ -0,0 +1,207 @@
+package com.obed.notification;
+
+import com.obed.notification.domain.exception.DeliveryException;
+import com.obed.notification.domain.exception.QueueFullException;
+import com.obed.notification.domain.model.Notification;
+import com.obed.notification.ports.out.SendResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Bounded ingestion pipeline in front of the providers. At most {@code capacity} notifications are buffered or
+ * in flight at once; each notification type and priority gets its own {@link MicroBatcher} and full batches are
+ * handed to the sender.
+ */
+final class DispatchQueue {
+    private static final Logger log = LoggerFactory.getLogger(DispatchQueue.class);
+
+    @FunctionalInterface
+    interface BatchSender {
+        CompletableFuture<List<SendResult>> send(Route route, Priority priority, List<Notification> notifications);
+    }
+
+    record Envelope(Notification notification, Consumer<SendResult> callback) {
+    }
+
+    private final int capacity;
+    private final Semaphore permits;
+    private final OverflowPolicy overflowPolicy;
+    private final long flushIntervalNanos;
+    private final BatchSender sender;
+    private final Map<BatchKey, MicroBatcher> batchers = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService ticker;
+    private final AtomicInteger pending = new AtomicInteger();
+    private final ReentrantLock idleLock = new ReentrantLock();
+    private final Condition idle = idleLock.newCondition();
+    private volatile boolean closed;
+
+    DispatchQueue(DispatchQueueOptions options, BatchSender sender) {
+        this.capacity = options.capacity();
+        this.permits = new Semaphore(options.capacity());
+        this.overflowPolicy = options.overflowPolicy();
+        this.flushIntervalNanos = options.flushInterval().toNanos();
+        this.sender = sender;
+
+        this.ticker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "notification-batcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long tickNanos = Math.max(TimeUnit.MILLISECONDS.toNanos(1), flushIntervalNanos / 4);
+        ticker.scheduleAtFixedRate(this::flushExpired, tickNanos, tickNanos, TimeUnit.NANOSECONDS);
+    }
+
+    void enqueue(Route route, Priority priority, Notification notification, Consumer<SendResult> callback) {
+        if (closed) {
+            callback.accept(SendResult.failure(notification, new DeliveryException("Notification client is closed")));
+            return;
+        }
+
+        MicroBatcher batcher = batchers.computeIfAbsent(new BatchKey(route, priority),
+                key -> new MicroBatcher(route.batchSize(), batch -> submit(key, batch)));
+        try {
+            reserve(batcher);
+        } catch (DeliveryException e) {
+            callback.accept(SendResult.failure(notification, e));
+            return;
+        }
+
+        pending.incrementAndGet();
+        batcher.add(new Envelope(notification, callback), System.nanoTime());
+
+        if (closed) {
+            // close() may already have flushed, so make sure this notification does not stay buffered
+            batcher.flush();
+        }
+    }
+
+    void flush() {
+        batchers.values().forEach(MicroBatcher::flush);
+
+        idleLock.lock();
+        try {
+            while (pending.get() > 0) {
+                idle.await();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DeliveryException("Interrupted while flushing the dispatch queue", e);
+        } finally {
+            idleLock.unlock();
+        }
+    }
+
+    /**
+     * Stops taking notifications and hands every buffered batch to the sender without waiting for it; the client
+     * waits for the sends itself, up to its drain deadline.
+     */
+    void close() {
+        closed = true;
+        try {
+            batchers.values().forEach(MicroBatcher::flush);
+        } finally {
+            ticker.shutdownNow();
+        }
+    }
+
+    private void reserve(MicroBatcher batcher) {
+        switch (overflowPolicy) {
+            case BLOCK -> acquire();
+            case REJECT -> {
+                if (!permits.tryAcquire()) {
+                    throw new QueueFullException("Dispatch queue is full (capacity " + capacity + ")");
+                }
+            }
+            case DROP_OLDEST -> {
+                if (permits.tryAcquire()) {
+                    return;
+                }
+                Envelope oldest = batcher.pollOldest();
+                if (oldest == null) {
+                    // Everything for this provider is already in flight, so there is nothing to drop
+                    acquire();
+                    return;
+                }
+                // The dropped notification hands its permit over to the new one
+                complete(oldest, SendResult.failure(oldest.notification(),
+                        new QueueFullException("Dropped from a full dispatch queue (capacity " + capacity + ")")));
+                pending.decrementAndGet();
+            }
+        }
+    }
+
+    private void acquire() {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DeliveryException("Interrupted while waiting for room in the dispatch queue", e);
+        }
+    }
+
+    private void flushExpired() {
+        long now = System.nanoTime();
+        for (MicroBatcher batcher : batchers.values()) {
+            batcher.flushIfOlderThan(now, flushIntervalNanos);
+        }
+    }
+
+    private void submit(BatchKey key, List<Envelope> batch) {
+        Route route = key.route();
+        List<Notification> notifications = new ArrayList<>(batch.size());
+        for (Envelope envelope : batch) {
+            notifications.add(envelope.notification());
+        }
+        sender.send(route, key.priority(), notifications).whenComplete((results, error) -> {
+            if (error != null) {
+                DeliveryException failure = new DeliveryException("Failed to send batch of " + route.typeName(), error);
+                results = new ArrayList<>(batch.size());
+                for (Notification notification : notifications) {
+                    results.add(SendResult.failure(notification, failure));
+                }
+            }
+            finish(batch, results);
+        });
+    }
+
+    private void finish(List<Envelope> batch, List<SendResult> results) {
+        for (int i = 0; i < batch.size(); i++) {
+            complete(batch.get(i), results.get(i));
+        }
+        permits.release(batch.size());
+
+        if (pending.addAndGet(-batch.size()) == 0) {
+            idleLock.lock();
+            try {
+                idle.signalAll();
+            } finally {
+                idleLock.unlock();
+            }
+        }
+    }
+
+    private static void complete(Envelope envelope, SendResult result) {
+        try {
+            envelope.callback().accept(result);
+        } catch (RuntimeException e) {
+            log.error("Completion callback failed for {}", envelope.notification().getClass().getSimpleName(), e);
+        }
+    }
+
+    private record BatchKey(Route route, Priority priority) {
+    }
+}
@@ -0,0 +1,27 @@
+package com.obed.notification;
+
+import java.time.Duration;
+
+/**
+ * Settings for the bounded dispatch queue enabled with {@link NotificationClient.Builder#withDispatchQueue}.
+ *
+ * @param capacity       maximum number of notifications buffered or in flight at once
+ * @param overflowPolicy what to do when the queue is full
+ * @param flushInterval  how long a provider buffer may wait before it is flushed without reaching its batch size
+ */
+public record DispatchQueueOptions(
+        int capacity,
+        OverflowPolicy overflowPolicy,
+        Duration flushInterval
+) {
+    public DispatchQueueOptions {
+        if (capacity < 1)
+            throw new IllegalArgumentException("capacity must be at least 1");
+
+        if (overflowPolicy == null)
+            throw new IllegalArgumentException("overflowPolicy cannot be null");
+
+        if (flushInterval == null || flushInterval.isNegative() || flushInterval.isZero())
+            throw new IllegalArgumentException("flushInterval must be positive");
+    }
+}
@@ -0,0 +1,495 @@
+package com.obed.notification;
+
+import com.obed.notification.domain.exception.CircuitOpenException;
+import com.obed.notification.domain.exception.DeliveryException;
+import com.obed.notification.domain.exception.RetriesExhaustedException;
+import com.obed.notification.domain.exception.ThrottledException;
+import com.obed.notification.domain.exception.ValidationException;
+import com.obed.notification.domain.model.Notification;
+import com.obed.notification.ports.out.AsyncNotificationPort;
+import com.obed.notification.ports.out.SendResult;
+import com.obed.notification.resilience.HashedWheelTimer;
+import com.obed.notification.resilience.RetryPolicy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Calls the providers of a {@link Route} for a notification or a batch, applying their rate limit, concurrency
+ * limit and circuit breaker plus the retry policy. Within one attempt, notifications that fail on a provider are
+ * failed over to the next candidate of the route; the retry policy only kicks in once every candidate was tried.
+ * Async calls never hold a thread while they wait: rate-limit and retry delays are parked on the timer wheel, sends
+ * waiting for a concurrency slot are queued on the provider and only the provider calls themselves run on the
+ * executor. With a {@link DedupCache}, notifications whose key was
+ * already claimed are reported as sent without reaching a provider; the key is released again if delivery fails.
+ */
+final class Dispatcher {
+    private static final Logger log = LoggerFactory.getLogger(Dispatcher.class);
+
+    /**
+     * One provider call, made once the caller holds a concurrency slot taken at {@code startedAt}; the call releases
+     * it. Blocking ports complete the returned future before returning; asynchronous ports complete it later,
+     * without holding the calling thread. The future never completes exceptionally.
+     */
+    @FunctionalInterface
+    private interface Attempt {
+        CompletableFuture<List<SendResult>> run(ProviderSlot provider, List<Notification> notifications,
+                                                long startedAt);
+    }
+
+    private final RetryPolicy retryPolicy;
+    private final HashedWheelTimer timer;
+    private final DedupCache dedup;
+
+    Dispatcher(RetryPolicy retryPolicy, HashedWheelTimer timer, DedupCache dedup) {
+        this.retryPolicy = retryPolicy;
+        this.timer = timer;
+        this.dedup = dedup;
+    }
+
+    void send(Route route, Notification notification) {
+        SendResult result = deduplicated(List.of(notification),
+                fresh -> CompletableFuture.completedFuture(runSync(route, fresh, this::sendOnce))).join().get(0);
+        if (!result.isSuccess()) {
+            throw result.error() instanceof RuntimeException e
+                    ? e
+                    : new DeliveryException("Failed to send " + route.typeName(), result.error());
+        }
+    }
+
+    List<SendResult> deliver(Route route, List<Notification> notifications) {
+        return deduplicated(notifications,
+                fresh -> CompletableFuture.completedFuture(runSync(route, fresh, this::deliverOnce))).join();
+    }
+
+    /**
+     * Sends on the given executor, which is how the caller picks the priority lane of the send.
+     */
+    CompletableFuture<SendResult> sendAsync(Route route, Notification notification, Executor executor) {
+        return deduplicated(List.of(notification), fresh -> runAsync(route, fresh, this::sendOnce, executor))
+                .thenApply(results -> results.get(0));
+    }
+
+    CompletableFuture<List<SendResult>> deliverAsync(Route route, List<Notification> notifications,
+                                                     Executor executor) {
+        return deduplicated(notifications, fresh -> runAsync(route, fresh, this::deliverOnce, executor));
+    }
+
+    /**
+     * Sends only the notifications whose key could be claimed and merges their results back with successes for
+     * the duplicates, in the original order.
+     */
+    private CompletableFuture<List<SendResult>> deduplicated(
+            List<Notification> notifications, Function<List<Notification>, CompletableFuture<List<SendResult>>> send) {
+        if (dedup == null) {
+            return send.apply(notifications);
+        }
+
+        int size = notifications.size();
+        SendResult[] results = new SendResult[size];
+        String[] keys = new String[size];
+        int[] indexes = new int[size];
+        List<Notification> fresh = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Notification notification = notifications.get(i);
+            String key = dedup.keyOf(notification);
+            if (key != null && !dedup.claim(key)) {
+                log.debug("Skipping duplicate {}", notification.getClass().getSimpleName());
+                results[i] = SendResult.success(notification);
+                continue;
+            }
+            keys[fresh.size()] = key;
+            indexes[fresh.size()] = i;
+            fresh.add(notification);
+        }
+        if (fresh.isEmpty()) {
+            return CompletableFuture.completedFuture(Arrays.asList(results));
+        }
+
+        return send.apply(fresh).thenApply(freshResults -> {
+            for (int j = 0; j < freshResults.size(); j++) {
+                SendResult result = freshResults.get(j);
+                if (!result.isSuccess() && keys[j] != null) {
+                    dedup.release(keys[j]);
+                }
+                results[indexes[j]] = result;
+            }
+            return Arrays.asList(results);
+        });
+    }
+
+    private CompletableFuture<List<SendResult>> sendOnce(ProviderSlot provider, List<Notification> notifications,
+                                                         long startedAt) {
+        Notification notification = notifications.get(0);
+        log.debug("Dispatching {} to provider: {}", notification.getClass().getSimpleName(), provider.name());
+
+        provider.metrics().started();
+        long sentAt = System.nanoTime();
+        if (provider.port() instanceof AsyncNotificationPort<Notification> port) {
+            return start(() -> port.sendAsync(notification)).handle((ignored, error) -> {
+                SendResult result = result(provider, notification, error == null ? null : cause(error));
+                provider.release(startedAt, result.error() instanceof ThrottledException);
+                return record(provider, sentAt, List.of(result));
+            });
+        }
+
+        SendResult result;
+        try {
+            provider.port().send(notification);
+            result = SendResult.success(notification);
+        } catch (Exception e) {
+            result = result(provider, notification, e);
+        }
+        provider.release(startedAt, result.error() instanceof ThrottledException);
+        return CompletableFuture.completedFuture(record(provider, sentAt, List.of(result)));
+    }
+
+    private CompletableFuture<List<SendResult>> deliverOnce(ProviderSlot provider, List<Notification> notifications,
+                                                            long startedAt) {
+        log.debug("Dispatching batch of {} to provider: {}", notifications.size(), provider.name());
+
+        provider.metrics().batch(notifications.size());
+        provider.metrics().started();
+        long sentAt = System.nanoTime();
+        if (provider.port() instanceof AsyncNotificationPort<Notification> port) {
+            return start(() -> port.sendBatchAsync(notifications)).handle((batchResults, error) ->
+                    record(provider, sentAt, batchResults(provider, notifications, startedAt, batchResults,
+                            error == null ? null : cause(error))));
+        }
+
+        List<SendResult> batchResults = null;
+        Exception error = null;
+        try {
+            batchResults = provider.port().sendBatch(notifications);
+        } catch (Exception e) {
+            error = e;
+        }
+        return CompletableFuture.completedFuture(
+                record(provider, sentAt, batchResults(provider, notifications, startedAt, batchResults, error)));
+    }
+
+    private static List<SendResult> record(ProviderSlot provider, long sentAt, List<SendResult> results) {
+        int successes = 0;
+        int invalid = 0;
+        for (SendResult result : results) {
+            if (result.isSuccess()) {
+                successes++;
+            } else if (result.error() instanceof ValidationException) {
+                invalid++;
+            }
+        }
+        provider.metrics().completed(System.nanoTime() - sentAt, successes, results.size() - successes - invalid, invalid);
+        return results;
+    }
+
+    private List<SendResult> batchResults(ProviderSlot provider, List<Notification> notifications, long startedAt,
+                                          List<SendResult> batchResults, Exception error) {
+        if (error == null && batchResults.size() != notifications.size()) {
+            error = new DeliveryException(provider.name() + " returned " + batchResults.size()
+                    + " results for a batch of " + notifications.size());
+        }
+        if (error != null) {
+            provider.release(startedAt, error instanceof ThrottledException);
+            log.error("Failed to send batch via {}", provider.name(), error);
+            List<SendResult> failures = new ArrayList<>(notifications.size());
+            for (Notification notification : notifications) {
+                failures.add(failure(provider, notification, error));
+            }
+            return failures;
+        }
+
+        boolean throttled = false;
+        List<SendResult> results = new ArrayList<>(batchResults.size());
+        for (int j = 0; j < batchResults.size(); j++) {
+            SendResult result = batchResults.get(j);
+            throttled |= result.error() instanceof ThrottledException;
+            results.add(result.isSuccess() ? result : failure(provider, notifications.get(j), result.error()));
+        }
+        provider.release(startedAt, throttled);
+        return results;
+    }
+
+    /**
+     * Maps the outcome of a single send: throttling and validation failures are kept as they are, anything else
+     * becomes a {@link DeliveryException} naming the provider.
+     */
+    private static SendResult result(ProviderSlot provider, Notification notification, Exception error) {
+        if (error == null) {
+            return SendResult.success(notification);
+        }
+        if (error instanceof ThrottledException) {
+            log.warn("Throttled by {}", provider.name());
+            return SendResult.failure(notification, error);
+        }
+        if (error instanceof ValidationException) {
+            return SendResult.failure(notification, error);
+        }
+        log.error("Failed to send notification via {}", provider.name(), error);
+        return SendResult.failure(notification,
+                new DeliveryException("Failed to send notification via " + provider.name(), error));
+    }
+
+    private static Exception cause(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        return cause instanceof Exception e ? e : new CompletionException(cause);
+    }
+
+    private static <T> CompletableFuture<T> start(Supplier<CompletableFuture<T>> call) {
+        try {
+            return call.get();
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private List<SendResult> runSync(Route route, List<Notification> notifications, Attempt attempt) {
+        SendResult[] results = new SendResult[notifications.size()];
+        Pending pending = Pending.of(notifications);
+
+        for (int attemptNo = 1; ; attemptNo++) {
+            Pending hop = pending;
+            long tried = 0;
+            while (hop != null) {
+                int index = route.acquire(tried);
+                if (index < 0) {
+                    if (tried == 0) {
+                        fail(hop, results, unavailable(route));
+                    }
+                    break;
+                }
+                ProviderSlot provider = route.provider(index);
+                logFailover(tried, hop, provider);
+                tried |= 1L << index;
+                long startedAt;
+                try {
+                    provider.awaitRateLimit(hop.notifications.size());
+                    startedAt = provider.acquire();
+                } catch (DeliveryException e) {
+                    // interrupted before the provider was reached, so it is not to blame
+                    provider.releasePermission();
+                    fail(hop, results, e);
+                    break;
+                }
+                hop = call(provider, hop, attempt, results, startedAt).join();
+            }
+
+            pending = settle(route, pending, attemptNo, results);
+            if (pending == null) {
+                return Arrays.asList(results);
+            }
+            try {
+                TimeUnit.NANOSECONDS.sleep(retryPolicy.backoffNanos(attemptNo));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail(pending, results, new DeliveryException("Interrupted while waiting to retry " + route.typeName(), e));
+                return Arrays.asList(results);
+            }
+        }
+    }
+
+    private CompletableFuture<List<SendResult>> runAsync(Route route, List<Notification> notifications,
+                                                         Attempt attempt, Executor executor) {
+        AsyncRun run = new AsyncRun(route, attempt, executor, notifications.size());
+        run.start(Pending.of(notifications));
+        return run.future;
+    }
+
+    /**
+     * Calls one provider for the notifications of a hop, stores their results and reports the outcome to the
+     * provider's circuit breaker. Completes with the notifications worth failing over to another provider, or
+     * {@code null} when there are none.
+     */
+    private CompletableFuture<Pending> call(ProviderSlot provider, Pending hop, Attempt attempt, SendResult[] results,
+                                            long startedAt) {
+        CompletableFuture<List<SendResult>> call;
+        try {
+            call = attempt.run(provider, hop.notifications, startedAt);
+        } catch (RuntimeException e) {
+            // The provider was never reached, so it is not to blame
+            provider.releasePermission();
+            fail(hop, results, e instanceof DeliveryException d
+                    ? d
+                    : new DeliveryException("Failed to send notification via " + provider.name(), e));
+            return CompletableFuture.completedFuture(null);
+        }
+
+        return call.thenApply(hopResults -> {
+            Pending failover = null;
+            for (int j = 0; j < hopResults.size(); j++) {
+                SendResult result = hopResults.get(j);
+                results[hop.indexes[j]] = result;
+                if (result.error() instanceof DeliveryException) {
+                    failover = add(failover, hopResults.size() - j, result.notification(), hop.indexes[j]);
+                }
+            }
+            provider.recordOutcome(failover != null);
+            return failover;
+        });
+    }
+
+    /**
+     * Runs the final outcome of an attempt through the retry policy and returns the notifications that deserve
+     * another attempt, or {@code null} when there are none.
+     */
+    private Pending settle(Route route, Pending pending, int attemptNo, SendResult[] results) {
+        Pending retry = null;
+        for (int j = 0; j < pending.notifications.size(); j++) {
+            int index = pending.indexes[j];
+            SendResult result = results[index];
+
+            if (result.isSuccess()) {
+                continue;
+            }
+            if (retryPolicy.shouldRetry(result.error(), attemptNo)) {
+                retry = add(retry, pending.notifications.size() - j, result.notification(), index);
+            } else if (attemptNo > 1 && retryPolicy.retryOn().test(result.error())) {
+                results[index] = SendResult.failure(result.notification(),
+                        new RetriesExhaustedException(attemptNo, result.error()));
+            }
+        }
+
+        if (retry != null) {
+            log.warn("Retrying {} {}(s) (attempt {} of {})",
+                    retry.notifications.size(), route.typeName(), attemptNo + 1, retryPolicy.maxAttempts());
+        }
+        return retry;
+    }
+
+    private static void logFailover(long tried, Pending hop, ProviderSlot provider) {
+        if (tried != 0) {
+            log.warn("Failing over {} notification(s) to {}", hop.notifications.size(), provider.name());
+        }
+    }
+
+    private static CircuitOpenException unavailable(Route route) {
+        return new CircuitOpenException("No provider available for " + route.typeName() + ": every circuit is open");
+    }
+
+    private static Pending add(Pending pending, int capacity, Notification notification, int index) {
+        if (pending == null) {
+            pending = new Pending(new ArrayList<>(), new int[capacity]);
+        }
+        pending.indexes[pending.notifications.size()] = index;
+        pending.notifications.add(notification);
+        return pending;
+    }
+
+    private static void fail(Pending pending, SendResult[] results, DeliveryException error) {
+        for (int j = 0; j < pending.notifications.size(); j++) {
+            results[pending.indexes[j]] = SendResult.failure(pending.notifications.get(j), error);
+        }
+    }
+
+    private static SendResult failure(ProviderSlot provider, Notification notification, Exception error) {
+        if (error instanceof ValidationException || error instanceof DeliveryException) {
+            return SendResult.failure(notification, error);
+        }
+        return SendResult.failure(notification,
+                new DeliveryException("Failed to send notification via " + provider.name(), error));
+    }
+
+    /**
+     * State of one async send. Hops and attempts of a run never overlap, each one is handed to the next through the
+     * executor or the timer, so the mutable fields need no further synchronisation.
+     */
+    private final class AsyncRun {
+        private final Route route;
+        private final Attempt attempt;
+        private final Executor executor;
+        private final SendResult[] results;
+        private final CompletableFuture<List<SendResult>> future = new CompletableFuture<>();
+        private Pending pending;
+        private int attemptNo = 1;
+        private long tried;
+
+        private AsyncRun(Route route, Attempt attempt, Executor executor, int size) {
+            this.route = route;
+            this.attempt = attempt;
+            this.executor = executor;
+            this.results = new SendResult[size];
+        }
+
+        private void start(Pending pending) {
+            this.pending = pending;
+            this.tried = 0;
+            hop(pending);
+        }
+
+        private void hop(Pending hop) {
+            int index = route.acquire(tried);
+            if (index < 0) {
+                if (tried == 0) {
+                    fail(hop, results, unavailable(route));
+                }
+                finishAttempt();
+                return;
+            }
+            ProviderSlot provider = route.provider(index);
+            logFailover(tried, hop, provider);
+            tried |= 1L << index;
+
+            // a full provider queues the hop instead of parking an executor thread until a slot frees up
+            Runnable acquire = () -> provider.acquireAsync(startedAt -> execute(provider, hop, startedAt));
+            long delay = provider.reserve(hop.notifications.size());
+            if (delay > 0) {
+                timer.schedule(acquire, delay, TimeUnit.NANOSECONDS);
+            } else {
+                acquire.run();
+            }
+        }
+
+        private void execute(ProviderSlot provider, Pending hop, long startedAt) {
+            long queuedAt = System.nanoTime();
+            try {
+                executor.execute(() -> {
+                    provider.metrics().queued(System.nanoTime() - queuedAt);
+                    call(provider, hop, attempt, results, startedAt).thenAccept(failover -> {
+                        if (failover != null) {
+                            hop(failover);
+                        } else {
+                            finishAttempt();
+                        }
+                    });
+                });
+            } catch (RejectedExecutionException e) {
+                provider.release(startedAt, false);
+                provider.releasePermission();
+                fail(hop, results, new DeliveryException("Executor rejected a send to " + provider.name(), e));
+                future.complete(Arrays.asList(results));
+            }
+        }
+
+        private void finishAttempt() {
+            Pending retry = settle(route, pending, attemptNo, results);
+            if (retry == null) {
+                future.complete(Arrays.asList(results));
+                return;
+            }
+            long backoff = retryPolicy.backoffNanos(attemptNo++);
+            timer.schedule(() -> start(retry), backoff, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * The notifications still to be sent and their positions in the caller's result array.
+     */
+    private record Pending(List<Notification> notifications, int[] indexes) {
+        private static Pending of(List<Notification> notifications) {
+            int[] indexes = new int[notifications.size()];
+            for (int i = 0; i < indexes.length; i++) {
+                indexes[i] = i;
+            }
+            return new Pending(notifications, indexes);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.obed.notification;
+
+import java.time.Duration;
+
+/**
+ * What closing a client left behind.
+ *
+ * @param pending   sends still in flight when the drain deadline passed; with an outbox they are replayed on the
+ *                  next start
+ * @param cancelled scheduled sends that had not come due and were failed instead
+ * @param elapsed   time spent draining
+ */
+public record DrainReport(
+        int pending,
+        int cancelled,
+        Duration elapsed
+) {
+    public static DrainReport empty() {
+        return new DrainReport(0, 0, Duration.ZERO);
+    }
+
+    /**
+     * True when every send accepted before closing completed.
+     */
+    public boolean isComplete() {
+        return pending == 0;
+    }
+
+    DrainReport plus(DrainReport other) {
+        return new DrainReport(pending + other.pending, cancelled + other.cancelled, elapsed.plus(other.elapsed));
+    }
+}
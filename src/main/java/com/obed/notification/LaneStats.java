@@ -0,0 +1,21 @@
+package com.obed.notification;
+
+import com.obed.notification.metrics.HistogramSnapshot;
+
+/**
+ * State of one priority lane, as reported by {@link NotificationClient#laneStats()}.
+ *
+ * @param depth    tasks waiting in the lane right now
+ * @param started  tasks the lane has handed to the executor so far
+ * @param waitTime nanoseconds tasks spent in the lane before they started
+ */
+public record LaneStats(
+        Priority priority,
+        int depth,
+        long started,
+        HistogramSnapshot waitTime
+) {
+    public static LaneStats empty(Priority priority) {
+        return new LaneStats(priority, 0, 0, HistogramSnapshot.empty());
+    }
+}
@@ -0,0 +1,96 @@
+package com.obed.notification;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Buffers the notifications queued for one provider and hands them on in batches, either as soon as
+ * {@code batchSize} of them are waiting or once the oldest one has waited long enough.
+ */
+final class MicroBatcher {
+    private final int batchSize;
+    private final Consumer<List<DispatchQueue.Envelope>> sink;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ArrayDeque<DispatchQueue.Envelope> buffer = new ArrayDeque<>();
+    private long oldestEnqueuedAt;
+
+    MicroBatcher(int batchSize, Consumer<List<DispatchQueue.Envelope>> sink) {
+        this.batchSize = batchSize;
+        this.sink = sink;
+    }
+
+    void add(DispatchQueue.Envelope envelope, long now) {
+        List<DispatchQueue.Envelope> batch = null;
+        lock.lock();
+        try {
+            if (buffer.isEmpty()) {
+                oldestEnqueuedAt = now;
+            }
+            buffer.addLast(envelope);
+            if (buffer.size() >= batchSize) {
+                batch = drain(batchSize);
+                oldestEnqueuedAt = now;
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (batch != null) {
+            sink.accept(batch);
+        }
+    }
+
+    DispatchQueue.Envelope pollOldest() {
+        lock.lock();
+        try {
+            return buffer.pollFirst();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void flushIfOlderThan(long now, long maxAgeNanos) {
+        List<List<DispatchQueue.Envelope>> batches;
+        lock.lock();
+        try {
+            if (buffer.isEmpty() || now - oldestEnqueuedAt < maxAgeNanos) {
+                return;
+            }
+            batches = drainAll();
+        } finally {
+            lock.unlock();
+        }
+        batches.forEach(sink);
+    }
+
+    void flush() {
+        List<List<DispatchQueue.Envelope>> batches;
+        lock.lock();
+        try {
+            batches = drainAll();
+        } finally {
+            lock.unlock();
+        }
+        batches.forEach(sink);
+    }
+
+    private List<List<DispatchQueue.Envelope>> drainAll() {
+        List<List<DispatchQueue.Envelope>> batches = new ArrayList<>();
+        while (!buffer.isEmpty()) {
+            batches.add(drain(batchSize));
+        }
+        return batches;
+    }
+
+    private List<DispatchQueue.Envelope> drain(int max) {
+        int size = Math.min(max, buffer.size());
+        List<DispatchQueue.Envelope> batch = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            batch.add(buffer.pollFirst());
+        }
+        return batch;
+    }
+}
@@ -3,67 +3,632 @@ package com.obed.notification;
 import com.obed.notification.domain.exception.DeliveryException;
 import com.obed.notification.domain.exception.ValidationException;
 import com.obed.notification.domain.model.Notification;
+import com.obed.notification.domain.model.PushNotification;
+import com.obed.notification.metrics.InMemoryMetrics;
+import com.obed.notification.metrics.NotificationMetrics;
+import com.obed.notification.outbox.Outbox;
+import com.obed.notification.outbox.OutboxOptions;
 import com.obed.notification.ports.in.SendNotificationUseCase;
 import com.obed.notification.ports.out.NotificationPort;
+import com.obed.notification.ports.out.SendResult;
+import com.obed.notification.resilience.HashedWheelTimer;
+import com.obed.notification.resilience.RetryPolicy;
+import com.obed.notification.resilience.Ticker;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
-public class NotificationClient implements SendNotificationUseCase {
+public class NotificationClient implements SendNotificationUseCase, AutoCloseable {
     private static final Logger log = LoggerFactory.getLogger(NotificationClient.class);
+    private static final Duration DEFAULT_DRAIN_TIMEOUT = Duration.ofSeconds(30);
 
     private final ExecutorService executor;
-    private final List<NotificationPort<?>> providers;
+    private final boolean ownsExecutor;
+    private final ProviderRouter router;
+    private final Dispatcher dispatcher;
+    private final DispatchQueue dispatchQueue;
+    private final Outbox outbox;
+    private final DedupCache dedup;
+    private final NotificationMetrics metrics;
+    private final PriorityLanes lanes;
+    private final DelayScheduler<Scheduled> scheduler;
+    private final PushCoalescer coalescer;
+    // sends accepted and not completed yet; close() waits for it to reach zero
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final ReentrantLock drainLock = new ReentrantLock();
+    private final Condition drained = drainLock.newCondition();
+    // completes once the client is closed and inFlight has reached zero
+    private final CompletableFuture<Void> terminated = new CompletableFuture<>();
+    private volatile boolean closed;
 
-
-    private NotificationClient(ExecutorService executor, List<NotificationPort<?>> providers) {
+    private NotificationClient(ExecutorService executor, boolean ownsExecutor, List<ProviderSlot> providers,
+                               RetryPolicy retryPolicy, DispatchQueueOptions queueOptions, Outbox outbox,
+                               DedupCache dedup, NotificationMetrics metrics, PriorityLanes lanes,
+                               CoalescingOptions coalescingOptions) {
         this.executor = executor;
-        this.providers = providers;
+        this.ownsExecutor = ownsExecutor;
+        this.router = new ProviderRouter(providers);
+        this.dedup = dedup;
+        this.metrics = metrics;
+        this.lanes = lanes;
+        this.scheduler = new DelayScheduler<>(this::release, "notification-scheduler");
+        this.coalescer = coalescingOptions == null ? null
+                : new PushCoalescer(coalescingOptions, HashedWheelTimer.shared(), this::executor,
+                        this::dispatchThroughOutbox);
+        this.dispatcher = new Dispatcher(retryPolicy, HashedWheelTimer.shared(), dedup);
+        this.dispatchQueue = queueOptions == null ? null : new DispatchQueue(queueOptions,
+                (route, priority, batch) -> dispatcher.deliverAsync(route, batch, executor(priority)));
+        this.outbox = outbox;
+        if (outbox != null) {
+            replay(outbox.recovered());
+        }
     }
 
     @Override
-    @SuppressWarnings("unchecked")
     public void send(Notification notification) {
-        NotificationPort<Notification> provider = (NotificationPort<Notification>) providers.stream()
-                .filter(p -> p.supports().isInstance(notification))
-                .findFirst()
-                .orElseThrow(() -> new ValidationException(
-                        "No provider registered for notification type: " + notification.getClass().getSimpleName()));
+        if (!admit(1)) {
+            throw closedException();
+        }
+        try {
+            dispatcher.send(router.route(notification), notification);
+        } finally {
+            retire(1);
+        }
+    }
+
+    public CompletableFuture<Void> sendAsync(Notification notification) {
+        return sendAsync(notification, Priority.NORMAL);
+    }
+
+    /**
+     * Sends in the lane of the given priority. Without {@link Builder#withPriorityLanes} every priority shares the
+     * executor's queue.
+     */
+    public CompletableFuture<Void> sendAsync(Notification notification, Priority priority) {
+        if (!admit(1)) {
+            return CompletableFuture.failedFuture(closedException());
+        }
+        CompletableFuture<Void> future = tracked(new CompletableFuture<>(), 1);
+        dispatch(notification, priority).whenComplete((result, error) -> complete(future, result, error));
+        return future;
+    }
+
+    public CompletableFuture<Void> sendAt(Notification notification, Instant at) {
+        return sendAt(notification, at, Priority.NORMAL);
+    }
+
+    public CompletableFuture<Void> sendAt(Notification notification, Instant at, Priority priority) {
+        return sendAfter(notification, Duration.between(Instant.now(), at), priority);
+    }
+
+    public CompletableFuture<Void> sendAfter(Notification notification, Duration delay) {
+        return sendAfter(notification, delay, Priority.NORMAL);
+    }
+
+    /**
+     * Sends once the delay has passed, as {@link #sendAsync(Notification, Priority)} would. Until then the
+     * notification is only held in memory: it reaches the outbox when it comes due, and closing the client fails
+     * the sends still waiting. Cancelling the returned future before it comes due drops the send.
+     */
+    public CompletableFuture<Void> sendAfter(Notification notification, Duration delay, Priority priority) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        if (!scheduler.schedule(new Scheduled(notification, priority, future), delay.toNanos())) {
+            future.completeExceptionally(closedException());
+        }
+        return future;
+    }
+
+    public List<SendResult> sendAll(List<Notification> notifications) {
+        if (!admit(notifications.size())) {
+            throw closedException();
+        }
+        try {
+            SendResult[] results = new SendResult[notifications.size()];
+            for (Chunk chunk : partition(notifications, results)) {
+                chunk.collect(dispatcher.deliver(chunk.route, chunk.notifications), results);
+            }
+            return Arrays.asList(results);
+        } finally {
+            retire(notifications.size());
+        }
+    }
+
+    public CompletableFuture<Void> sendAllAsync(List<Notification> notifications) {
+        return sendAllAsync(notifications, Priority.NORMAL);
+    }
+
+    public CompletableFuture<Void> sendAllAsync(List<Notification> notifications, Priority priority) {
+        int count = notifications.size();
+        if (!admit(count)) {
+            return CompletableFuture.failedFuture(closedException());
+        }
+        CompletableFuture<Void> sent;
+        try {
+            sent = outbox == null
+                    ? sendAllAsync(notifications, null, priority)
+                    : outbox.appendAll(notifications)
+                            .exceptionally(error -> {
+                                throw outboxFailure(error);
+                            })
+                            .thenComposeAsync(ids -> sendAllAsync(notifications, ids, priority), executor(priority));
+        } catch (RuntimeException e) {
+            sent = CompletableFuture.failedFuture(e);
+        }
+        return tracked(sent, count);
+    }
+
+    private CompletableFuture<Void> sendAllAsync(List<Notification> notifications, long[] ids, Priority priority) {
+        if (dispatchQueue != null) {
+            BatchCompletion completion = new BatchCompletion(notifications.size());
+            for (int i = 0; i < notifications.size(); i++) {
+                Consumer<SendResult> callback = ids == null ? completion::record : acknowledging(ids[i], completion::record);
+                enqueue(notifications.get(i), priority, callback);
+            }
+            return completion.future;
+        }
+
+        SendResult[] results = new SendResult[notifications.size()];
+        CompletableFuture<?>[] futures = partition(notifications, results).stream()
+                .map(chunk -> dispatcher.deliverAsync(chunk.route, chunk.notifications, executor(priority))
+                        .thenAccept(batchResults -> chunk.collect(batchResults, results)))
+                .toArray(CompletableFuture[]::new);
+
+        return CompletableFuture.allOf(futures).thenRun(() -> {
+            if (ids != null) {
+                for (int i = 0; i < results.length; i++) {
+                    acknowledge(ids[i], results[i]);
+                }
+            }
+            failIfAnyFailed(results);
+        });
+    }
+
+    /**
+     * Sends every notification the source publishes, keeping at most {@code maxInFlight} of them between the
+     * source and the subscriber of the returned publisher. Results are published as sends complete and the source
+     * is only asked for more as results are consumed.
+     */
+    public Flow.Publisher<SendResult> sendStream(Flow.Publisher<? extends Notification> source, int maxInFlight) {
+        return new StreamingSender(source, this::dispatchTracked, maxInFlight);
+    }
+
+    public Flow.Publisher<SendResult> sendStream(Iterator<? extends Notification> source, int maxInFlight) {
+        return sendStream(new IteratorPublisher<>(source, () -> { }), maxInFlight);
+    }
+
+    public Flow.Publisher<SendResult> sendStream(Stream<? extends Notification> source, int maxInFlight) {
+        return sendStream(new IteratorPublisher<>(source.iterator(), source::close), maxInFlight);
+    }
+
+    private CompletableFuture<SendResult> dispatchTracked(Notification notification) {
+        if (!admit(1)) {
+            return CompletableFuture.completedFuture(SendResult.failure(notification, closedException()));
+        }
+        return tracked(dispatch(notification, Priority.NORMAL), 1);
+    }
+
+    /**
+     * Never throws: the send is already counted in flight, so a failure must complete the future to be retired.
+     */
+    private CompletableFuture<SendResult> dispatch(Notification notification, Priority priority) {
+        try {
+            if (coalescer != null && notification instanceof PushNotification push) {
+                return coalescer.submit(push, priority);
+            }
+            return dispatchThroughOutbox(notification, priority);
+        } catch (RuntimeException e) {
+            return CompletableFuture.completedFuture(SendResult.failure(notification, e));
+        }
+    }
+
+    /**
+     * Appends complete on the outbox's committer thread, so the send continues on the executor: a blocking dispatch
+     * queue would otherwise hold up the commit of every other append. A record whose send the executor rejects stays
+     * unacknowledged and is replayed on the next start.
+     */
+    private CompletableFuture<SendResult> dispatchThroughOutbox(Notification notification, Priority priority) {
+        if (outbox == null) {
+            return dispatchNow(notification, priority);
+        }
+        return outbox.append(notification).handleAsync((id, error) -> {
+            if (error != null) {
+                return CompletableFuture.completedFuture(SendResult.failure(notification, outboxFailure(error)));
+            }
+            return dispatchNow(notification, priority).thenApply(result -> acknowledge(id, result));
+        }, executor(priority)).thenCompose(result -> result).exceptionally(error -> SendResult.failure(notification,
+                new DeliveryException("Executor rejected a send", unwrap(error))));
+    }
 
-        log.debug("Dispatching {} to provider: {}", notification.getClass().getSimpleName(), provider.getClass().getSimpleName());
+    private CompletableFuture<SendResult> dispatchNow(Notification notification, Priority priority) {
+        if (dispatchQueue != null) {
+            CompletableFuture<SendResult> future = new CompletableFuture<>();
+            enqueue(notification, priority, future::complete);
+            return future;
+        }
 
+        Route route;
         try {
-            provider.send(notification);
+            route = router.route(notification);
         } catch (ValidationException e) {
-            throw e;
-        } catch (Exception e) {
-            log.error("Failed to send notification via {}", provider.getClass().getSimpleName(), e);
-            throw new DeliveryException("Failed to send notification via " + provider.getClass().getSimpleName());
+            return CompletableFuture.completedFuture(SendResult.failure(notification, e));
         }
+        return dispatcher.sendAsync(route, notification, executor(priority));
     }
 
-    public CompletableFuture<Void> sendAsync(Notification notification) {
-        return CompletableFuture.runAsync(() -> {
-                    log.debug("Async sending started in thread: {}", Thread.currentThread().getName());
-                    this.send(notification);
-                }, this.executor);
+    private Executor executor(Priority priority) {
+        return lanes == null ? executor : lanes.lane(priority);
     }
 
-    public void sendAll(List<Notification> notifications) {
-        notifications.forEach(this::send);
+    /**
+     * Runs on the scheduler thread, so the send itself is handed to the executor: with a blocking dispatch queue
+     * it could otherwise hold up every other scheduled send.
+     */
+    private void release(Scheduled scheduled) {
+        if (scheduled.future().isDone()) {
+            return;
+        }
+        if (!admit(1)) {
+            scheduled.future().completeExceptionally(closedException());
+            return;
+        }
+        tracked(scheduled.future(), 1);
+        try {
+            executor(scheduled.priority()).execute(() -> dispatch(scheduled.notification(), scheduled.priority())
+                    .whenComplete((result, error) -> complete(scheduled.future(), result, error)));
+        } catch (RejectedExecutionException e) {
+            scheduled.future().completeExceptionally(
+                    new DeliveryException("Executor rejected a scheduled send", e));
+        }
     }
 
-    public CompletableFuture<Void> sendAllAsync(List<Notification> notifications) {
-        List<CompletableFuture<Void>> futures = notifications.stream()
-                .map(this::sendAsync)
-                .toList();
+    /**
+     * Counts {@code count} sends as in flight, unless the client is closed. The count is raised before the check,
+     * so a drain that has seen it reach zero cannot miss a send that got past the check.
+     */
+    private boolean admit(int count) {
+        inFlight.addAndGet(count);
+        if (closed) {
+            retire(count);
+            return false;
+        }
+        return true;
+    }
+
+    private void retire(int count) {
+        if (inFlight.addAndGet(-count) == 0 && closed) {
+            drainLock.lock();
+            try {
+                drained.signalAll();
+            } finally {
+                drainLock.unlock();
+            }
+            terminated.complete(null);
+        }
+    }
+
+    private <T> CompletableFuture<T> tracked(CompletableFuture<T> future, int count) {
+        future.whenComplete((result, error) -> retire(count));
+        return future;
+    }
+
+    private static DeliveryException closedException() {
+        return new DeliveryException("Notification client is closed");
+    }
+
+    private static void complete(CompletableFuture<Void> future, SendResult result, Throwable error) {
+        if (error != null) {
+            future.completeExceptionally(unwrap(error));
+        } else if (result.isSuccess()) {
+            future.complete(null);
+        } else {
+            future.completeExceptionally(result.error());
+        }
+    }
+
+    /**
+     * Sends the notifications a previous run left unacknowledged in the outbox.
+     */
+    private void replay(List<Outbox.Entry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        log.info("Replaying {} notifications from the outbox", entries.size());
+        inFlight.addAndGet(entries.size());
+        for (Outbox.Entry entry : entries) {
+            tracked(dispatchNow(entry.notification(), Priority.NORMAL), 1)
+                    .thenAccept(result -> acknowledge(entry.id(), result));
+        }
+    }
+
+    /**
+     * Delivery failures stay in the outbox to be replayed on the next start; anything else, such as a validation
+     * error, would fail again and is acknowledged along with successes.
+     */
+    private SendResult acknowledge(long id, SendResult result) {
+        if (!(result.error() instanceof DeliveryException)) {
+            outbox.acknowledge(id);
+        }
+        return result;
+    }
+
+    private Consumer<SendResult> acknowledging(long id, Consumer<SendResult> callback) {
+        return result -> callback.accept(acknowledge(id, result));
+    }
+
+    private static DeliveryException outboxFailure(Throwable error) {
+        return new DeliveryException("Could not persist notification to the outbox", unwrap(error));
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException ? error.getCause() : error;
+    }
+
+    private List<Chunk> partition(List<Notification> notifications, SendResult[] results) {
+        Map<Route, Chunk> open = new HashMap<>();
+        List<Chunk> chunks = new ArrayList<>();
+
+        for (int i = 0; i < notifications.size(); i++) {
+            Notification notification = notifications.get(i);
+            Route route;
+            try {
+                route = router.route(notification);
+            } catch (ValidationException e) {
+                results[i] = SendResult.failure(notification, e);
+                continue;
+            }
+
+            Chunk chunk = open.get(route);
+            if (chunk == null || chunk.isFull()) {
+                chunk = new Chunk(route);
+                open.put(route, chunk);
+                chunks.add(chunk);
+            }
+            chunk.add(i, notification);
+        }
+        return chunks;
+    }
+
+    private void enqueue(Notification notification, Priority priority, Consumer<SendResult> callback) {
+        Route route;
+        try {
+            route = router.route(notification);
+        } catch (ValidationException e) {
+            callback.accept(SendResult.failure(notification, e));
+            return;
+        }
+        dispatchQueue.enqueue(route, priority, notification, callback);
+    }
+
+    /**
+     * The metrics the client records into; {@link NotificationMetrics#snapshot()} reads them.
+     */
+    public NotificationMetrics metrics() {
+        return metrics;
+    }
+
+    /**
+     * Hit and miss counters of the deduplication cache; all zeros when deduplication is disabled.
+     */
+    public DeduplicationStats deduplicationStats() {
+        return dedup == null ? DeduplicationStats.empty() : dedup.stats();
+    }
+
+    /**
+     * Depth, throughput and wait time of each priority lane; all zeros when the client has no priority lanes.
+     */
+    public List<LaneStats> laneStats() {
+        if (lanes == null) {
+            return Arrays.stream(Priority.values()).map(LaneStats::empty).toList();
+        }
+        return lanes.stats();
+    }
+
+    /**
+     * Received and merged push counters of the coalescing stage; all zeros when coalescing is disabled.
+     */
+    public CoalescingStats coalescingStats() {
+        return coalescer == null ? CoalescingStats.empty() : coalescer.stats();
+    }
 
-        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]));
+    /**
+     * Number of sends from {@link #sendAt} and {@link #sendAfter} that have not come due yet.
+     */
+    public int scheduledCount() {
+        return scheduler.size();
+    }
+
+    /**
+     * Number of sends accepted and not completed yet, including pushes held for coalescing and notifications
+     * buffered in the dispatch queue.
+     */
+    public int inFlightCount() {
+        return inFlight.get();
+    }
+
+    /**
+     * Sends the pushes held for coalescing, then pushes out everything buffered in the dispatch queue and waits
+     * until it has been delivered.
+     */
+    public void flush() {
+        if (coalescer != null) {
+            coalescer.flush();
+        }
+        if (dispatchQueue != null) {
+            dispatchQueue.flush();
+        }
+    }
+
+    /**
+     * Closes the client, waiting up to 30 seconds for the sends in flight; see {@link #close(Duration)}.
+     */
+    @Override
+    public void close() {
+        close(DEFAULT_DRAIN_TIMEOUT);
+    }
+
+    /**
+     * Stops accepting sends, fails the scheduled ones that have not come due, sends the pushes held for coalescing
+     * and the batches buffered in the dispatch queue, and waits up to {@code timeout} for every send in flight.
+     * Then shuts down the executor if the client created it, interrupting whatever is still running once the
+     * deadline has passed, and closes the outbox. Executors passed to {@link Builder#withExecutor} are left to their
+     * owner, so sends still running on them finish there.
+     */
+    public DrainReport close(Duration timeout) {
+        return close(timeout, true);
+    }
+
+    /**
+     * Closes as {@link #close(Duration)} would without waiting for the sends in flight or warning about them; the
+     * returned future completes once they have completed.
+     */
+    CompletableFuture<Void> closeWithoutDraining() {
+        close(Duration.ZERO, false);
+        return terminated;
+    }
+
+    private DrainReport close(Duration timeout, boolean warnIfPending) {
+        long startedAt = System.nanoTime();
+        long deadline = startedAt + timeout.toNanos();
+        closed = true;
+        if (inFlight.get() == 0) {
+            terminated.complete(null);
+        }
+
+        int cancelled = 0;
+        for (Scheduled scheduled : scheduler.close()) {
+            if (scheduled.future().completeExceptionally(
+                    new DeliveryException("Notification client closed before the scheduled send"))) {
+                cancelled++;
+            }
+        }
+        int pending = inFlight.get();
+        try {
+            if (coalescer != null) {
+                coalescer.flush();
+            }
+            if (dispatchQueue != null) {
+                dispatchQueue.close();
+            }
+            pending = awaitDrained(deadline);
+        } finally {
+            if (ownsExecutor) {
+                shutdownExecutor(pending, deadline);
+            }
+            if (outbox != null) {
+                outbox.close();
+            }
+        }
+        if (pending > 0 && warnIfPending) {
+            log.warn("Notification client closed with {} sends still in flight after {} ms", pending,
+                    timeout.toMillis());
+        }
+        return new DrainReport(pending, cancelled, Duration.ofNanos(System.nanoTime() - startedAt));
+    }
+
+    private int awaitDrained(long deadline) {
+        drainLock.lock();
+        try {
+            long remaining;
+            while (inFlight.get() > 0 && (remaining = deadline - System.nanoTime()) > 0) {
+                drained.awaitNanos(remaining);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            drainLock.unlock();
+        }
+        return inFlight.get();
+    }
+
+    private void shutdownExecutor(int pending, long deadline) {
+        if (pending > 0) {
+            executor.shutdownNow();
+            return;
+        }
+        executor.shutdown();
+        try {
+            // only completion callbacks can still be running, but they should not outlive close()
+            executor.awaitTermination(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Starts the core threads of the executor and lets every provider open its connections, waiting for them at
+     * most {@code timeout}. Warm-up is best effort: a provider that fails or is slow is logged and left cold.
+     */
+    private void warmUp(Duration timeout) {
+        if (executor instanceof ThreadPoolExecutor pool) {
+            pool.prestartAllCoreThreads();
+        }
+        List<ProviderSlot> providers = router.providers();
+        CompletableFuture<?>[] primed = new CompletableFuture[providers.size()];
+        for (int i = 0; i < primed.length; i++) {
+            ProviderSlot provider = providers.get(i);
+            primed[i] = CompletableFuture.runAsync(provider.port()::warmUp, executor)
+                    .whenComplete((ignored, error) -> {
+                        if (error != null) {
+                            Throwable cause = error instanceof CompletionException && error.getCause() != null
+                                    ? error.getCause() : error;
+                            log.warn("Warm-up of {} failed: {}", provider.name(), cause.toString());
+                        }
+                    });
+        }
+        try {
+            CompletableFuture.allOf(primed).get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            log.warn("Provider warm-up did not finish within {} ms", timeout.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            // already logged per provider
+        }
+    }
+
+    private static void failIfAnyFailed(SendResult[] results) {
+        int failed = 0;
+        Exception first = null;
+        for (SendResult result : results) {
+            if (!result.isSuccess()) {
+                failed++;
+                if (first == null) {
+                    first = result.error();
+                }
+            }
+        }
+        if (failed > 0) {
+            throw batchFailure(failed, results.length, first);
+        }
+    }
+
+    private static DeliveryException batchFailure(int failed, int total, Exception first) {
+        return new DeliveryException(failed + " of " + total + " notifications failed", first);
     }
 
     public static Builder builder() {
@@ -71,24 +636,214 @@ public class NotificationClient implements SendNotificationUseCase {
     }
 
     public static class Builder {
-        private final List<NotificationPort<?>> providers = new ArrayList<>();
+        private final List<Registration> registrations = new ArrayList<>();
         private ExecutorService executor;
+        private boolean ownsExecutor;
+        private DispatchQueueOptions queueOptions;
+        private Ticker ticker = Ticker.system();
+        private RetryPolicy retryPolicy = RetryPolicy.none();
+        private OutboxOptions outboxOptions;
+        private DeduplicationOptions deduplicationOptions;
+        private NotificationMetrics metrics;
+        private PriorityLaneOptions laneOptions;
+        private PriorityLanes lanes;
+        private CoalescingOptions coalescingOptions;
+        private Duration warmUpTimeout;
 
         public Builder withExecutor(ExecutorService executor) {
             this.executor = executor;
+            this.ownsExecutor = false;
+            return this;
+        }
+
+        public Builder useVirtualThreads() {
+            this.executor = Executors.newThreadPerTaskExecutor(
+                    Thread.ofVirtual().name("notification-", 0).factory());
+            this.ownsExecutor = true;
+            return this;
+        }
+
+        public Builder withDispatchQueue(DispatchQueueOptions queueOptions) {
+            this.queueOptions = queueOptions;
+            return this;
+        }
+
+        public Builder withRetryPolicy(RetryPolicy retryPolicy) {
+            this.retryPolicy = retryPolicy;
+            return this;
+        }
+
+        /**
+         * Persists every notification accepted by {@code sendAsync}, {@code sendAllAsync} and {@code sendStream}
+         * before dispatching it, and replays the ones never delivered when the client is next built.
+         */
+        public Builder withOutbox(OutboxOptions outboxOptions) {
+            this.outboxOptions = outboxOptions;
+            return this;
+        }
+
+        /**
+         * Suppresses repeated sends of the same notification within the ttl, matched by its idempotency key or,
+         * if enabled, by a hash of its recipient and content.
+         */
+        public Builder withDeduplication(DeduplicationOptions deduplicationOptions) {
+            this.deduplicationOptions = deduplicationOptions;
+            return this;
+        }
+
+        /**
+         * Sends per-provider metrics to the given implementation instead of the default {@link InMemoryMetrics}.
+         * Use {@link NotificationMetrics#noop()} to turn recording off.
+         */
+        public Builder withMetrics(NotificationMetrics metrics) {
+            this.metrics = metrics;
+            return this;
+        }
+
+        /**
+         * Gives each {@link Priority} its own lane in front of the executor. Set the options' workers to the number
+         * of threads of the executor, so sends wait in their lane rather than in the executor's queue.
+         */
+        public Builder withPriorityLanes(PriorityLaneOptions laneOptions) {
+            this.laneOptions = laneOptions;
+            return this;
+        }
+
+        /**
+         * Merges pushes from {@code sendAsync}, {@code sendAt}, {@code sendAfter} and {@code sendStream} to the same
+         * device and collapse key within a window into a single send. Pushes are only written to the outbox once
+         * their window closes.
+         */
+        public Builder withPushCoalescing(CoalescingOptions coalescingOptions) {
+            this.coalescingOptions = coalescingOptions;
+            return this;
+        }
+
+        /**
+         * Warms the client up before {@link #build()} returns: starts the core threads of the executor and calls
+         * {@link NotificationPort#warmUp()} on every provider, so the first sends do not pay for thread creation or
+         * connection handshakes. {@code build()} waits for the providers at most {@code timeout}.
+         */
+        public Builder withWarmUp(Duration timeout) {
+            if (timeout.isNegative()) {
+                throw new IllegalArgumentException("timeout must not be negative");
+            }
+            this.warmUpTimeout = timeout;
             return this;
         }
 
         public Builder registerProvider(NotificationPort<?> provider) {
-            this.providers.add(provider);
+            return registerProvider(provider, ProviderOptions.defaults());
+        }
+
+        public Builder registerProvider(NotificationPort<?> provider, ProviderOptions options) {
+            this.registrations.add(new Registration(provider, options));
+            return this;
+        }
+
+        /**
+         * Sends through lanes that outlive this client, so a client rebuilt in its place shares their limit.
+         */
+        Builder withPriorityLanes(PriorityLanes lanes) {
+            this.lanes = lanes;
+            return this;
+        }
+
+        Builder withTicker(Ticker ticker) {
+            this.ticker = ticker;
             return this;
         }
 
         public NotificationClient build() {
             if (executor == null) {
                 executor = Executors.newFixedThreadPool(10);
+                ownsExecutor = true;
+            }
+            if (metrics == null) {
+                metrics = new InMemoryMetrics();
+            }
+            List<ProviderSlot> providers = new ArrayList<>(registrations.size());
+            for (Registration registration : registrations) {
+                providers.add(new ProviderSlot(registration.provider(), registration.options(), ticker, metrics));
+            }
+            Outbox outbox = outboxOptions == null ? null : Outbox.open(outboxOptions);
+            DedupCache dedup = deduplicationOptions == null ? null : new DedupCache(deduplicationOptions, ticker);
+            PriorityLanes clientLanes = lanes != null || laneOptions == null
+                    ? lanes
+                    : new PriorityLanes(executor, laneOptions);
+            NotificationClient client = new NotificationClient(executor, ownsExecutor, providers, retryPolicy,
+                    queueOptions, outbox, dedup, metrics, clientLanes, coalescingOptions);
+            if (warmUpTimeout != null) {
+                client.warmUp(warmUpTimeout);
+            }
+            return client;
+        }
+
+        private record Registration(NotificationPort<?> provider, ProviderOptions options) {
+        }
+    }
+
+    private record Scheduled(Notification notification, Priority priority, CompletableFuture<Void> future) {
+    }
+
+    private static final class Chunk {
+        private final Route route;
+        private final int capacity;
+        private final List<Notification> notifications = new ArrayList<>();
+        private int[] indexes = new int[16];
+
+        private Chunk(Route route) {
+            this.route = route;
+            this.capacity = route.batchSize();
+        }
+
+        private void add(int index, Notification notification) {
+            int size = notifications.size();
+            if (size == indexes.length) {
+                indexes = Arrays.copyOf(indexes, Math.min(capacity, size * 2));
+            }
+            indexes[size] = index;
+            notifications.add(notification);
+        }
+
+        private boolean isFull() {
+            return notifications.size() == capacity;
+        }
+
+        private void collect(List<SendResult> batchResults, SendResult[] results) {
+            for (int j = 0; j < batchResults.size(); j++) {
+                results[indexes[j]] = batchResults.get(j);
+            }
+        }
+    }
+
+    private static final class BatchCompletion {
+        private final int total;
+        private final AtomicInteger remaining;
+        private final AtomicInteger failed = new AtomicInteger();
+        private final AtomicReference<Exception> firstError = new AtomicReference<>();
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+
+        private BatchCompletion(int total) {
+            this.total = total;
+            this.remaining = new AtomicInteger(total);
+            if (total == 0) {
+                future.complete(null);
+            }
+        }
+
+        private void record(SendResult result) {
+            if (!result.isSuccess()) {
+                failed.incrementAndGet();
+                firstError.compareAndSet(null, result.error());
+            }
+            if (remaining.decrementAndGet() == 0) {
+                if (failed.get() == 0) {
+                    future.complete(null);
+                } else {
+                    future.completeExceptionally(batchFailure(failed.get(), total, firstError.get()));
+                }
             }
-            return new NotificationClient(executor, providers);
         }
     }
 }
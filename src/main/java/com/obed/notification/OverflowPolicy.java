@@ -0,0 +1,13 @@
+package com.obed.notification;
+
+/**
+ * What the dispatch queue does when a notification arrives and the queue is already at capacity.
+ */
+public enum OverflowPolicy {
+    /** The caller waits until there is room. */
+    BLOCK,
+    /** The notification fails right away with a {@code QueueFullException}. */
+    REJECT,
+    /** The oldest notification still buffered for the same provider fails with a {@code QueueFullException}. */
+    DROP_OLDEST
+}
@@ -0,0 +1,14 @@
+package com.obed.notification;
+
+/**
+ * Priority class of an async send. With {@link NotificationClient.Builder#withPriorityLanes} each class waits in
+ * its own lane and the lanes share the executor by weight, so urgent sends are not stuck behind bulk ones.
+ */
+public enum Priority {
+    /** Time-critical sends such as one-time codes and password resets. */
+    HIGH,
+    /** The default for every send that does not name a priority. */
+    NORMAL,
+    /** Bulk traffic such as campaigns and digests. */
+    LOW
+}
@@ -0,0 +1,44 @@
+package com.obed.notification;
+
+/**
+ * Settings for the priority lanes enabled with {@link NotificationClient.Builder#withPriorityLanes}.
+ *
+ * @param workers      how many lane tasks may run on the executor at once; match it to the executor's thread count
+ * @param highWeight   share of the executor given to {@link Priority#HIGH} while several lanes have work waiting
+ * @param normalWeight share given to {@link Priority#NORMAL}
+ * @param lowWeight    share given to {@link Priority#LOW}
+ */
+public record PriorityLaneOptions(
+        int workers,
+        int highWeight,
+        int normalWeight,
+        int lowWeight
+) {
+    public PriorityLaneOptions {
+        if (workers < 1)
+            throw new IllegalArgumentException("workers must be at least 1");
+
+        if (highWeight < 1 || normalWeight < 1 || lowWeight < 1)
+            throw new IllegalArgumentException("lane weights must be at least 1");
+    }
+
+    public static PriorityLaneOptions defaults() {
+        return new PriorityLaneOptions(10, 16, 4, 1);
+    }
+
+    public PriorityLaneOptions withWorkers(int workers) {
+        return new PriorityLaneOptions(workers, highWeight, normalWeight, lowWeight);
+    }
+
+    public PriorityLaneOptions withWeights(int highWeight, int normalWeight, int lowWeight) {
+        return new PriorityLaneOptions(workers, highWeight, normalWeight, lowWeight);
+    }
+
+    public int weight(Priority priority) {
+        return switch (priority) {
+            case HIGH -> highWeight;
+            case NORMAL -> normalWeight;
+            case LOW -> lowWeight;
+        };
+    }
+}
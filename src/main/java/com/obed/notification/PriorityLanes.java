@@ -0,0 +1,161 @@
+package com.obed.notification;
+
+import com.obed.notification.metrics.LatencyHistogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * One queue per {@link Priority} in front of the executor. At most {@code workers} lane tasks run at once, so the
+ * executor's own FIFO queue stays empty and tasks only wait in their lane. A worker that finishes a task takes the
+ * next one by smooth weighted round-robin over the lanes with work waiting: every lane gets its share of the workers
+ * in proportion to its weight and none of them starves.
+ */
+final class PriorityLanes {
+    private static final Logger log = LoggerFactory.getLogger(PriorityLanes.class);
+
+    private final Executor executor;
+    private final int workers;
+    private final Lane[] lanes;
+    private final ReentrantLock lock = new ReentrantLock();
+    private int running;
+
+    PriorityLanes(Executor executor, PriorityLaneOptions options) {
+        this.executor = executor;
+        this.workers = options.workers();
+        Priority[] priorities = Priority.values();
+        this.lanes = new Lane[priorities.length];
+        for (Priority priority : priorities) {
+            lanes[priority.ordinal()] = new Lane(priority, options.weight(priority));
+        }
+    }
+
+    /**
+     * An executor that runs its tasks in the lane of the given priority.
+     */
+    Executor lane(Priority priority) {
+        return lanes[priority.ordinal()];
+    }
+
+    List<LaneStats> stats() {
+        List<LaneStats> stats = new ArrayList<>(lanes.length);
+        lock.lock();
+        try {
+            for (Lane lane : lanes) {
+                stats.add(new LaneStats(lane.priority, lane.tasks.size(), lane.started, lane.waitTime.snapshot()));
+            }
+        } finally {
+            lock.unlock();
+        }
+        return stats;
+    }
+
+    private void execute(Lane lane, Runnable task) {
+        lock.lock();
+        try {
+            if (running >= workers) {
+                lane.tasks.addLast(new Queued(task, System.nanoTime()));
+                return;
+            }
+            // A free worker means every lane is empty, so the task can start right away
+            running++;
+            lane.started++;
+        } finally {
+            lock.unlock();
+        }
+
+        try {
+            executor.execute(() -> work(task));
+            lane.waitTime.record(0);
+        } catch (RejectedExecutionException e) {
+            Runnable next;
+            lock.lock();
+            try {
+                lane.started--;
+                next = next();
+            } finally {
+                lock.unlock();
+            }
+            // Tasks queued meanwhile would have no worker left to pick them up, so this thread takes them over
+            work(next);
+            throw e;
+        }
+    }
+
+    private void work(Runnable task) {
+        while (task != null) {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                log.error("Lane task failed", e);
+            }
+            lock.lock();
+            try {
+                task = next();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Takes the next task for a worker that just finished one, or releases the worker when every lane is empty.
+     * Must be called with the lock held.
+     */
+    private Runnable next() {
+        Lane best = null;
+        int total = 0;
+        for (Lane lane : lanes) {
+            if (lane.tasks.isEmpty()) {
+                continue;
+            }
+            lane.current += lane.weight;
+            total += lane.weight;
+            if (best == null || lane.current > best.current) {
+                best = lane;
+            }
+        }
+        if (best == null) {
+            running--;
+            return null;
+        }
+        best.current -= total;
+
+        Queued queued = best.tasks.pollFirst();
+        if (best.tasks.isEmpty()) {
+            // An idle lane does not bank credit for later
+            best.current = 0;
+        }
+        best.started++;
+        best.waitTime.record(System.nanoTime() - queued.enqueuedAt);
+        return queued.task;
+    }
+
+    private final class Lane implements Executor {
+        private final Priority priority;
+        private final int weight;
+        private final ArrayDeque<Queued> tasks = new ArrayDeque<>();
+        private final LatencyHistogram waitTime = new LatencyHistogram();
+        private int current;
+        private long started;
+
+        private Lane(Priority priority, int weight) {
+            this.priority = priority;
+            this.weight = weight;
+        }
+
+        @Override
+        public void execute(Runnable task) {
+            PriorityLanes.this.execute(this, task);
+        }
+    }
+
+    private record Queued(Runnable task, long enqueuedAt) {
+    }
+}
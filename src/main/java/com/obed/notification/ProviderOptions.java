@@ -0,0 +1,72 @@
+package com.obed.notification;
+
+import com.obed.notification.resilience.AdaptiveConcurrency;
+import com.obed.notification.resilience.CircuitBreakerPolicy;
+import com.obed.notification.resilience.RateLimit;
+
+/**
+ * Per-provider dispatch settings used by {@link NotificationClient.Builder#registerProvider}.
+ *
+ * @param maxConcurrency      maximum number of sends in flight on the provider at once, or {@code 0} for no limit
+ * @param batchSize           maximum number of notifications handed to a single {@code sendBatch} call
+ * @param rateLimit           notifications per second allowed on the provider, or {@code null} for no limit
+ * @param adaptiveConcurrency when set, the in-flight limit adapts to observed latency and throttling instead of
+ *                            using the fixed {@code maxConcurrency}
+ * @param priority            providers of the same notification type are tried from the lowest priority value up;
+ *                            higher values only receive traffic when the lower ones are unavailable or failing
+ * @param weight              share of traffic among providers with the same priority; {@code 0} keeps the provider
+ *                            as a standby that is tried, in registration order, after the weighted ones
+ * @param circuitBreaker      stops calling the provider while it keeps failing, or {@code null} to always call it
+ */
+public record ProviderOptions(
+        int maxConcurrency,
+        int batchSize,
+        RateLimit rateLimit,
+        AdaptiveConcurrency adaptiveConcurrency,
+        int priority,
+        int weight,
+        CircuitBreakerPolicy circuitBreaker
+) {
+    public ProviderOptions {
+        if (maxConcurrency < 0)
+            throw new IllegalArgumentException("maxConcurrency cannot be negative");
+
+        if (batchSize < 1)
+            throw new IllegalArgumentException("batchSize must be at least 1");
+
+        if (weight < 0)
+            throw new IllegalArgumentException("weight cannot be negative");
+    }
+
+    public static ProviderOptions defaults() {
+        return new ProviderOptions(0, 100, null, null, 0, 0, null);
+    }
+
+    public ProviderOptions withMaxConcurrency(int maxConcurrency) {
+        return new ProviderOptions(maxConcurrency, batchSize, rateLimit, adaptiveConcurrency, priority, weight, circuitBreaker);
+    }
+
+    public ProviderOptions withBatchSize(int batchSize) {
+        return new ProviderOptions(maxConcurrency, batchSize, rateLimit, adaptiveConcurrency, priority, weight, circuitBreaker);
+    }
+
+    public ProviderOptions withRateLimit(RateLimit rateLimit) {
+        return new ProviderOptions(maxConcurrency, batchSize, rateLimit, adaptiveConcurrency, priority, weight, circuitBreaker);
+    }
+
+    public ProviderOptions withAdaptiveConcurrency(AdaptiveConcurrency adaptiveConcurrency) {
+        return new ProviderOptions(maxConcurrency, batchSize, rateLimit, adaptiveConcurrency, priority, weight, circuitBreaker);
+    }
+
+    public ProviderOptions withPriority(int priority) {
+        return new ProviderOptions(maxConcurrency, batchSize, rateLimit, adaptiveConcurrency, priority, weight, circuitBreaker);
+    }
+
+    public ProviderOptions withWeight(int weight) {
+        return new ProviderOptions(maxConcurrency, batchSize, rateLimit, adaptiveConcurrency, priority, weight, circuitBreaker);
+    }
+
+    public ProviderOptions withCircuitBreaker(CircuitBreakerPolicy circuitBreaker) {
+        return new ProviderOptions(maxConcurrency, batchSize, rateLimit, adaptiveConcurrency, priority, weight, circuitBreaker);
+    }
+}
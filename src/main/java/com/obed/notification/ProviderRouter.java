@@ -0,0 +1,62 @@
+package com.obed.notification;
+
+import com.obed.notification.domain.exception.ValidationException;
+import com.obed.notification.domain.model.Notification;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves the {@link Route} for each permitted {@link Notification} subtype once, at build time,
+ * so the hot path is a single map lookup instead of a scan over every registered provider.
+ */
+final class ProviderRouter {
+    private final ProviderSlot[] providers;
+    private final Map<Class<?>, Route> routes = new ConcurrentHashMap<>();
+
+    ProviderRouter(List<ProviderSlot> providers) {
+        this.providers = providers.toArray(new ProviderSlot[0]);
+
+        for (Class<?> type : Notification.class.getPermittedSubclasses()) {
+            Route route = scan(type);
+            if (route != null) {
+                routes.put(type, route);
+            }
+        }
+    }
+
+    List<ProviderSlot> providers() {
+        return List.of(providers);
+    }
+
+    Route route(Notification notification) {
+        Class<?> type = notification.getClass();
+        Route route = routes.get(type);
+
+        if (route == null) {
+            route = scan(type);
+            if (route == null) {
+                throw new ValidationException(
+                        "No provider registered for notification type: " + type.getSimpleName());
+            }
+            // callers group work by route, so every caller must end up with the same instance
+            Route existing = routes.putIfAbsent(type, route);
+            if (existing != null) {
+                route = existing;
+            }
+        }
+        return route;
+    }
+
+    private Route scan(Class<?> type) {
+        List<ProviderSlot> candidates = new ArrayList<>();
+        for (ProviderSlot provider : providers) {
+            if (provider.supports(type)) {
+                candidates.add(provider);
+            }
+        }
+        return candidates.isEmpty() ? null : new Route(type, candidates);
+    }
+}
@@ -0,0 +1,199 @@
+package com.obed.notification;
+
+import com.obed.notification.domain.exception.DeliveryException;
+import com.obed.notification.domain.model.Notification;
+import com.obed.notification.metrics.NotificationMetrics;
+import com.obed.notification.ports.out.NotificationPort;
+import com.obed.notification.resilience.AdaptiveConcurrencyLimiter;
+import com.obed.notification.resilience.CircuitBreaker;
+import com.obed.notification.resilience.Ticker;
+import com.obed.notification.resilience.TokenBucketRateLimiter;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongConsumer;
+
+/**
+ * A registered provider together with the state the client keeps for it.
+ */
+final class ProviderSlot {
+    private final NotificationPort<Notification> port;
+    private final ProviderOptions options;
+    private final Class<?> supportedType;
+    private final String name;
+    private final Ticker ticker;
+    private final Semaphore permits;
+    private final TokenBucketRateLimiter rateLimiter;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final CircuitBreaker circuitBreaker;
+    private final NotificationMetrics.Recorder metrics;
+    // async sends waiting for a concurrency slot; release() hands freed slots to them in arrival order
+    private final ArrayDeque<LongConsumer> waiters = new ArrayDeque<>();
+    private final ReentrantLock waitersLock = new ReentrantLock();
+
+    ProviderSlot(NotificationPort<?> port, ProviderOptions options, Ticker ticker) {
+        this(port, options, ticker, NotificationMetrics.noop());
+    }
+
+    @SuppressWarnings("unchecked")
+    ProviderSlot(NotificationPort<?> port, ProviderOptions options, Ticker ticker, NotificationMetrics metrics) {
+        this.port = (NotificationPort<Notification>) port;
+        this.options = options;
+        this.supportedType = port.supports();
+        this.name = port.getClass().getSimpleName();
+        this.ticker = ticker;
+        this.metrics = metrics.recorder(name, supportedType.getSimpleName());
+        this.concurrencyLimiter = options.adaptiveConcurrency() != null
+                ? new AdaptiveConcurrencyLimiter(options.adaptiveConcurrency())
+                : null;
+        this.permits = concurrencyLimiter == null && options.maxConcurrency() > 0
+                ? new Semaphore(options.maxConcurrency())
+                : null;
+        this.rateLimiter = options.rateLimit() != null
+                ? new TokenBucketRateLimiter(options.rateLimit(), ticker)
+                : null;
+        this.circuitBreaker = options.circuitBreaker() != null
+                ? new CircuitBreaker(options.circuitBreaker(), ticker)
+                : null;
+    }
+
+    NotificationPort<Notification> port() {
+        return port;
+    }
+
+    ProviderOptions options() {
+        return options;
+    }
+
+    String name() {
+        return name;
+    }
+
+    NotificationMetrics.Recorder metrics() {
+        return metrics;
+    }
+
+    boolean supports(Class<?> type) {
+        return supportedType.isAssignableFrom(type);
+    }
+
+    /**
+     * Asks the circuit breaker whether the provider may be called now. Every {@code true} must be followed by
+     * {@link #recordOutcome} or {@link #releasePermission}.
+     */
+    boolean tryAcquirePermission() {
+        return circuitBreaker == null || circuitBreaker.tryAcquirePermission();
+    }
+
+    void recordOutcome(boolean failed) {
+        if (circuitBreaker == null) {
+            return;
+        }
+        if (failed) {
+            circuitBreaker.onFailure();
+        } else {
+            circuitBreaker.onSuccess();
+        }
+    }
+
+    void releasePermission() {
+        if (circuitBreaker != null) {
+            circuitBreaker.releasePermission();
+        }
+    }
+
+    /**
+     * Takes rate-limit permits for {@code count} notifications and returns how long to wait before sending them.
+     */
+    long reserve(int count) {
+        return rateLimiter == null ? 0 : rateLimiter.reserve(count);
+    }
+
+    /**
+     * Blocks the calling thread until the rate limit allows {@code count} notifications; used by the sync API only.
+     */
+    void awaitRateLimit(int count) {
+        long delay = reserve(count);
+        if (delay <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DeliveryException("Interrupted while waiting for the rate limit of " + name, e);
+        }
+    }
+
+    /**
+     * Waits for a concurrency slot and returns the start time to hand back to {@link #release}; used by the sync API
+     * only, the async API queues with {@link #acquireAsync} instead.
+     */
+    long acquire() {
+        try {
+            if (concurrencyLimiter != null) {
+                concurrencyLimiter.acquire();
+            } else if (permits != null) {
+                permits.acquire();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DeliveryException("Interrupted while waiting for a free slot on " + name, e);
+        }
+        return ticker.read();
+    }
+
+    /**
+     * Calls {@code onAcquired} with the start time once a concurrency slot is free, without blocking: right away if
+     * one is free now, otherwise from the {@link #release} that frees it. The callback must not block either.
+     */
+    void acquireAsync(LongConsumer onAcquired) {
+        if (concurrencyLimiter == null && permits == null) {
+            onAcquired.accept(ticker.read());
+            return;
+        }
+        waitersLock.lock();
+        try {
+            // queued waiters go first, so a steady stream of new sends cannot starve them
+            if (!waiters.isEmpty() || !tryAcquireSlot()) {
+                waiters.add(onAcquired);
+                return;
+            }
+        } finally {
+            waitersLock.unlock();
+        }
+        onAcquired.accept(ticker.read());
+    }
+
+    void release(long startedAt, boolean throttled) {
+        if (concurrencyLimiter == null && permits == null) {
+            return;
+        }
+        List<LongConsumer> resumed = new ArrayList<>(1);
+        waitersLock.lock();
+        try {
+            if (concurrencyLimiter != null) {
+                concurrencyLimiter.release(ticker.read() - startedAt, throttled);
+            } else {
+                permits.release();
+            }
+            // an adaptive limit may just have grown, so keep handing slots out while there are any
+            while (!waiters.isEmpty() && tryAcquireSlot()) {
+                resumed.add(waiters.poll());
+            }
+        } finally {
+            waitersLock.unlock();
+        }
+        for (LongConsumer waiter : resumed) {
+            waiter.accept(ticker.read());
+        }
+    }
+
+    private boolean tryAcquireSlot() {
+        return concurrencyLimiter != null ? concurrencyLimiter.tryAcquire() : permits.tryAcquire();
+    }
+}
@@ -0,0 +1,193 @@
+package com.obed.notification;
+
+import com.obed.notification.domain.exception.DeliveryException;
+import com.obed.notification.domain.model.PushNotification;
+import com.obed.notification.ports.out.SendResult;
+import com.obed.notification.resilience.HashedWheelTimer;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Holds the first push to a device and collapse key for one window and folds every push to the same pair that
+ * arrives meanwhile into it, so a burst reaches the provider and the device once. Open windows live in a
+ * concurrent map capped at {@code maxPending}; once it is full, pushes go straight through. The window is closed by
+ * the timer wheel, which suits delays of a few seconds; the send itself is handed to the executor of the window's
+ * priority, since the sink may block and the timer thread must not. Every push merged into a send completes with
+ * its outcome.
+ */
+final class PushCoalescer {
+
+    @FunctionalInterface
+    interface Sink {
+        CompletableFuture<SendResult> send(PushNotification notification, Priority priority);
+    }
+
+    private final CoalescingOptions options;
+    private final HashedWheelTimer timer;
+    private final Function<Priority, Executor> executors;
+    private final Sink sink;
+    private final ConcurrentHashMap<Key, Window> windows = new ConcurrentHashMap<>();
+    private final AtomicInteger open = new AtomicInteger();
+    private final LongAdder received = new LongAdder();
+    private final LongAdder merged = new LongAdder();
+    private final LongAdder bypassed = new LongAdder();
+
+    PushCoalescer(CoalescingOptions options, HashedWheelTimer timer, Function<Priority, Executor> executors, Sink sink) {
+        this.options = options;
+        this.timer = timer;
+        this.executors = executors;
+        this.sink = sink;
+    }
+
+    CompletableFuture<SendResult> submit(PushNotification notification, Priority priority) {
+        received.increment();
+        Key key = new Key(notification.recipient(), options.collapseKey().apply(notification));
+        CompletableFuture<SendResult> future = new CompletableFuture<>();
+        Waiter waiter = new Waiter(notification, future);
+
+        Window[] opened = new Window[1];
+        Window window = windows.compute(key, (k, current) -> {
+            if (current != null) {
+                current.merge(waiter, priority, options.mode());
+                merged.increment();
+                return current;
+            }
+            if (open.get() >= options.maxPending()) {
+                return null;
+            }
+            open.incrementAndGet();
+            opened[0] = new Window(waiter, priority);
+            return opened[0];
+        });
+
+        if (window == null) {
+            bypassed.increment();
+            return sink.send(notification, priority);
+        }
+        if (opened[0] != null) {
+            timer.schedule(() -> expire(key, opened[0]), options.window().toNanos(), TimeUnit.NANOSECONDS);
+        }
+        return future;
+    }
+
+    /**
+     * Sends every open window right away.
+     */
+    void flush() {
+        windows.forEach(this::close);
+    }
+
+    CoalescingStats stats() {
+        return new CoalescingStats(received.sum(), merged.sum(), bypassed.sum(), open.get());
+    }
+
+    /**
+     * Runs on the timer thread, so only the removal happens here.
+     */
+    private void expire(Key key, Window window) {
+        if (!remove(key, window)) {
+            return;
+        }
+        try {
+            executors.apply(window.priority).execute(() -> send(window));
+        } catch (RejectedExecutionException e) {
+            window.complete(SendResult.failure(window.notification,
+                    new DeliveryException("Executor rejected a coalesced push", e)));
+        }
+    }
+
+    private void close(Key key, Window window) {
+        if (remove(key, window)) {
+            send(window);
+        }
+    }
+
+    private boolean remove(Key key, Window window) {
+        // Once removed, compute can no longer reach the window, so nothing is merged into it after this
+        if (!windows.remove(key, window)) {
+            return false;
+        }
+        open.decrementAndGet();
+        return true;
+    }
+
+    /**
+     * Every merged push must complete, so a sink that throws or fails its future fails them all.
+     */
+    private void send(Window window) {
+        CompletableFuture<SendResult> sent;
+        try {
+            sent = sink.send(window.notification, window.priority);
+        } catch (RuntimeException e) {
+            sent = CompletableFuture.failedFuture(e);
+        }
+        sent.whenComplete((result, error) -> window.complete(error == null ? result : SendResult.failure(
+                window.notification, new DeliveryException("Failed to send coalesced push", error))));
+    }
+
+    private record Key(String recipient, String collapseKey) {
+    }
+
+    private record Waiter(PushNotification notification, CompletableFuture<SendResult> future) {
+    }
+
+    /**
+     * The push a window will send and the callers waiting for it. Only touched inside {@code compute} for its key
+     * until it is removed from the map.
+     */
+    private static final class Window {
+        private final List<Waiter> waiters = new ArrayList<>(2);
+        private PushNotification notification;
+        private Priority priority;
+
+        private Window(Waiter first, Priority priority) {
+            this.waiters.add(first);
+            this.notification = first.notification();
+            this.priority = priority;
+        }
+
+        private void merge(Waiter waiter, Priority priority, CoalescingMode mode) {
+            waiters.add(waiter);
+            if (priority.compareTo(this.priority) < 0) {
+                this.priority = priority;
+            }
+            PushNotification latest = waiter.notification();
+            notification = switch (mode) {
+                case LAST_WRITE_WINS -> latest;
+                case DIGEST -> new PushNotification(latest.recipient(), latest.title(), latest.body(),
+                        digest(notification.data(), latest.data(), waiters.size()), latest.idempotencyKey());
+            };
+        }
+
+        private static Map<String, String> digest(Map<String, String> sofar, Map<String, String> latest, int count) {
+            Map<String, String> data = new LinkedHashMap<>();
+            if (sofar != null) {
+                data.putAll(sofar);
+            }
+            if (latest != null) {
+                data.putAll(latest);
+            }
+            data.put("coalesced_count", Integer.toString(count));
+            return data;
+        }
+
+        private void complete(SendResult result) {
+            for (Waiter waiter : waiters) {
+                waiter.future().complete(result.isSuccess()
+                        ? SendResult.success(waiter.notification())
+                        : SendResult.failure(waiter.notification(), result.error()));
+            }
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.obed.notification;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The providers that can deliver one notification type, in the order they are tried. Providers are grouped into
+ * tiers by priority; inside a tier the weighted ones share traffic in proportion to their weight and the standby
+ * ones (weight 0) follow in registration order. A provider whose circuit is open is skipped.
+ */
+final class Route {
+    // candidates are tracked in a long bitmask while failing over
+    private static final int MAX_PROVIDERS = Long.SIZE;
+
+    private final String typeName;
+    private final ProviderSlot[] providers;
+    private final int[] tierEnds;
+    private final int batchSize;
+
+    Route(Class<?> type, List<ProviderSlot> candidates) {
+        if (candidates.size() > MAX_PROVIDERS) {
+            throw new IllegalArgumentException("At most " + MAX_PROVIDERS + " providers can serve "
+                    + type.getSimpleName());
+        }
+        this.typeName = type.getSimpleName();
+        // sorted() is stable on a list stream, so registration order survives within a priority
+        this.providers = candidates.stream()
+                .sorted(Comparator.comparingInt(p -> p.options().priority()))
+                .toArray(ProviderSlot[]::new);
+
+        int tiers = 0;
+        int[] ends = new int[providers.length];
+        for (int i = 1; i <= providers.length; i++) {
+            if (i == providers.length || providers[i].options().priority() != providers[i - 1].options().priority()) {
+                ends[tiers++] = i;
+            }
+        }
+        this.tierEnds = Arrays.copyOf(ends, tiers);
+
+        int smallest = Integer.MAX_VALUE;
+        for (ProviderSlot provider : providers) {
+            smallest = Math.min(smallest, provider.options().batchSize());
+        }
+        // any candidate may end up taking a whole chunk, so chunks must fit the smallest batch
+        this.batchSize = smallest;
+    }
+
+    String typeName() {
+        return typeName;
+    }
+
+    int batchSize() {
+        return batchSize;
+    }
+
+    ProviderSlot provider(int index) {
+        return providers[index];
+    }
+
+    /**
+     * Picks the next provider to call, skipping those whose bit is set in {@code tried}, and takes its circuit
+     * breaker permission. Returns the provider index or {@code -1} when no candidate is left.
+     */
+    int acquire(long tried) {
+        int from = 0;
+        for (int to : tierEnds) {
+            long skipped = tried;
+            int total;
+            while ((total = weight(from, to, skipped)) > 0) {
+                int pick = ThreadLocalRandom.current().nextInt(total);
+                int index = from;
+                for (; ; index++) {
+                    int weight = (skipped & (1L << index)) == 0 ? providers[index].options().weight() : 0;
+                    if (pick < weight) {
+                        break;
+                    }
+                    pick -= weight;
+                }
+                if (providers[index].tryAcquirePermission()) {
+                    return index;
+                }
+                skipped |= 1L << index;
+            }
+            for (int index = from; index < to; index++) {
+                if ((skipped & (1L << index)) == 0 && providers[index].options().weight() == 0
+                        && providers[index].tryAcquirePermission()) {
+                    return index;
+                }
+            }
+            from = to;
+        }
+        return -1;
+    }
+
+    private int weight(int from, int to, long skipped) {
+        int total = 0;
+        for (int index = from; index < to; index++) {
+            if ((skipped & (1L << index)) == 0) {
+                total += providers[index].options().weight();
+            }
+        }
+        return total;
+    }
+}
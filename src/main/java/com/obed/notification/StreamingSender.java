@@ -0,0 +1,162 @@
+package com.obed.notification;
+
+import com.obed.notification.domain.model.Notification;
+import com.obed.notification.ports.out.SendResult;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Sends everything a source publishes and republishes one {@link SendResult} per notification, in completion order.
+ * A notification holds one of {@code maxInFlight} slots from the moment it is requested upstream until its result
+ * has been taken by the downstream subscriber, so memory stays bounded however long the source is.
+ */
+final class StreamingSender implements Flow.Publisher<SendResult> {
+    private final Flow.Publisher<? extends Notification> source;
+    private final Function<Notification, CompletableFuture<SendResult>> dispatcher;
+    private final int maxInFlight;
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+
+    StreamingSender(Flow.Publisher<? extends Notification> source,
+                    Function<Notification, CompletableFuture<SendResult>> dispatcher,
+                    int maxInFlight) {
+        if (maxInFlight < 1)
+            throw new IllegalArgumentException("maxInFlight must be at least 1");
+
+        this.source = source;
+        this.dispatcher = dispatcher;
+        this.maxInFlight = maxInFlight;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super SendResult> subscriber) {
+        if (!subscribed.compareAndSet(false, true)) {
+            subscriber.onSubscribe(IteratorPublisher.NoOpSubscription.INSTANCE);
+            subscriber.onError(new IllegalStateException("This publisher only supports a single subscriber"));
+            return;
+        }
+        source.subscribe(new Bridge(subscriber));
+    }
+
+    private final class Bridge implements Flow.Subscriber<Notification>, Flow.Subscription {
+        private final Flow.Subscriber<? super SendResult> downstream;
+        private final ConcurrentLinkedQueue<SendResult> ready = new ConcurrentLinkedQueue<>();
+        private final AtomicLong demand = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();
+        private final AtomicInteger active = new AtomicInteger();
+        private volatile Flow.Subscription upstream;
+        private volatile boolean upstreamDone;
+        private volatile Throwable upstreamError;
+        private volatile boolean cancelled;
+        private boolean terminated;
+
+        private Bridge(Flow.Subscriber<? super SendResult> downstream) {
+            this.downstream = downstream;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.upstream = subscription;
+            downstream.onSubscribe(this);
+            subscription.request(maxInFlight);
+        }
+
+        @Override
+        public void onNext(Notification notification) {
+            active.incrementAndGet();
+            CompletableFuture<SendResult> result;
+            try {
+                result = dispatcher.apply(notification);
+            } catch (RuntimeException e) {
+                result = CompletableFuture.completedFuture(SendResult.failure(notification, e));
+            }
+            result.whenComplete((sendResult, error) -> {
+                ready.offer(error == null
+                        ? sendResult
+                        : SendResult.failure(notification, error instanceof Exception e ? e : new RuntimeException(error)));
+                active.decrementAndGet();
+                drain();
+            });
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            upstreamError = throwable;
+            upstreamDone = true;
+            drain();
+        }
+
+        @Override
+        public void onComplete() {
+            upstreamDone = true;
+            drain();
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                cancel();
+                downstream.onError(new IllegalArgumentException("Requested amount must be positive, got " + n));
+                return;
+            }
+            demand.getAndAccumulate(n, (current, added) -> current + added < 0 ? Long.MAX_VALUE : current + added);
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            Flow.Subscription subscription = upstream;
+            if (subscription != null) {
+                subscription.cancel();
+            }
+        }
+
+        private void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            while (true) {
+                long emitted = 0;
+                long requested = demand.get();
+                while (emitted != requested && !cancelled) {
+                    SendResult result = ready.poll();
+                    if (result == null) {
+                        break;
+                    }
+                    downstream.onNext(result);
+                    emitted++;
+                }
+                if (emitted > 0) {
+                    demand.addAndGet(-emitted);
+                    upstream.request(emitted);
+                }
+
+                if (cancelled || terminated) {
+                    return;
+                }
+                if (upstreamDone && active.get() == 0 && ready.isEmpty()) {
+                    terminated = true;
+                    Throwable error = upstreamError;
+                    if (error != null) {
+                        downstream.onError(error);
+                    } else {
+                        downstream.onComplete();
+                    }
+                    return;
+                }
+
+                missed = wip.addAndGet(-missed);
+                if (missed == 0) {
+                    return;
+                }
+            }
+        }
+    }
+}
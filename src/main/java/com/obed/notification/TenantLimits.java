@@ -0,0 +1,32 @@
+package com.obed.notification;
+
+import com.obed.notification.resilience.RateLimit;
+
+/**
+ * Limits one tenant of a {@link TenantNotificationClient} gets, whatever the other tenants do.
+ *
+ * @param maxConcurrency how many of the shared executor's threads the tenant's sends may hold at once
+ * @param quota          notifications per second the tenant may send, {@code null} for no quota; sends over it fail
+ *                       with a {@code ThrottledException} right away
+ */
+public record TenantLimits(
+        int maxConcurrency,
+        RateLimit quota
+) {
+    public TenantLimits {
+        if (maxConcurrency < 1)
+            throw new IllegalArgumentException("maxConcurrency must be at least 1");
+    }
+
+    public static TenantLimits defaults() {
+        return new TenantLimits(2, null);
+    }
+
+    public TenantLimits withMaxConcurrency(int maxConcurrency) {
+        return new TenantLimits(maxConcurrency, quota);
+    }
+
+    public TenantLimits withQuota(RateLimit quota) {
+        return new TenantLimits(maxConcurrency, quota);
+    }
+}
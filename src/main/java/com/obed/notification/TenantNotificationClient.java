@@ -0,0 +1,396 @@
+package com.obed.notification;
+
+import com.obed.notification.domain.exception.DeliveryException;
+import com.obed.notification.domain.exception.ThrottledException;
+import com.obed.notification.domain.model.Notification;
+import com.obed.notification.metrics.NotificationMetrics;
+import com.obed.notification.ports.out.SendResult;
+import com.obed.notification.resilience.Ticker;
+import com.obed.notification.resilience.TokenBucketRateLimiter;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Sends on behalf of many tenants, each with its own providers and credentials, over one shared executor. A
+ * tenant's providers are set up by {@link TenantProviders} the first time it sends and kept in an LRU cache of
+ * {@code maxTenants} entries; the least recently used tenant is closed when the cache is full, once the sends
+ * already handed to it have been started, and {@link #close(Duration)} still waits for the sends it had in flight.
+ * Each tenant sends through its own lane in front of the shared executor,
+ * so it never holds more than its {@link TenantLimits#maxConcurrency()} threads, and sends over its quota fail
+ * instead of queueing. Lanes and quota are kept apart from the cache, so an evicted tenant comes back with the
+ * budget it left with.
+ */
+public class TenantNotificationClient implements AutoCloseable {
+    private final ExecutorService executor;
+    private final boolean ownsExecutor;
+    private final TenantProviders providers;
+    private final Function<String, TenantLimits> limits;
+    private final int maxTenants;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<String, Tenant> tenants = new LinkedHashMap<>(16, 0.75f, true);
+    // outlives the cache entries, so evicting a tenant's providers does not reset its quota or lanes
+    private final ConcurrentHashMap<String, TenantState> states = new ConcurrentHashMap<>();
+    // evicted tenants until their sends in flight have completed
+    private final Set<Tenant> draining = ConcurrentHashMap.newKeySet();
+    private boolean closed;
+
+    private TenantNotificationClient(ExecutorService executor, boolean ownsExecutor, TenantProviders providers,
+                                     Function<String, TenantLimits> limits, int maxTenants) {
+        this.executor = executor;
+        this.ownsExecutor = ownsExecutor;
+        this.providers = providers;
+        this.limits = limits;
+        this.maxTenants = maxTenants;
+    }
+
+    public void send(String tenantId, Notification notification) {
+        Tenant tenant = tenant(tenantId);
+        try {
+            tenant.checkQuota(1);
+            tenant.client.send(notification);
+        } finally {
+            tenant.release();
+        }
+    }
+
+    public CompletableFuture<Void> sendAsync(String tenantId, Notification notification) {
+        return sendAsync(tenantId, notification, Priority.NORMAL);
+    }
+
+    public CompletableFuture<Void> sendAsync(String tenantId, Notification notification, Priority priority) {
+        Tenant tenant = tenant(tenantId);
+        try {
+            tenant.checkQuota(1);
+            return tenant.client.sendAsync(notification, priority);
+        } catch (ThrottledException e) {
+            return CompletableFuture.failedFuture(e);
+        } finally {
+            tenant.release();
+        }
+    }
+
+    /**
+     * Sends the batch if the tenant's quota has room for all of it; otherwise every notification fails with a
+     * {@link ThrottledException}.
+     */
+    public List<SendResult> sendAll(String tenantId, List<Notification> notifications) {
+        Tenant tenant = tenant(tenantId);
+        try {
+            tenant.checkQuota(notifications.size());
+            return tenant.client.sendAll(notifications);
+        } catch (ThrottledException e) {
+            List<SendResult> results = new ArrayList<>(notifications.size());
+            for (Notification notification : notifications) {
+                results.add(SendResult.failure(notification, e));
+            }
+            return results;
+        } finally {
+            tenant.release();
+        }
+    }
+
+    public CompletableFuture<Void> sendAllAsync(String tenantId, List<Notification> notifications) {
+        return sendAllAsync(tenantId, notifications, Priority.NORMAL);
+    }
+
+    public CompletableFuture<Void> sendAllAsync(String tenantId, List<Notification> notifications, Priority priority) {
+        Tenant tenant = tenant(tenantId);
+        try {
+            tenant.checkQuota(notifications.size());
+            return tenant.client.sendAllAsync(notifications, priority);
+        } catch (ThrottledException e) {
+            return CompletableFuture.failedFuture(e);
+        } finally {
+            tenant.release();
+        }
+    }
+
+    /**
+     * Metrics of the tenant's providers. Sets the tenant up if it is not cached.
+     */
+    public NotificationMetrics metrics(String tenantId) {
+        Tenant tenant = tenant(tenantId);
+        try {
+            return tenant.client.metrics();
+        } finally {
+            tenant.release();
+        }
+    }
+
+    /**
+     * Lane depths and wait times of the tenant; a deep lane means the tenant is at its concurrency limit.
+     */
+    public List<LaneStats> laneStats(String tenantId) {
+        Tenant tenant = tenant(tenantId);
+        try {
+            return tenant.client.laneStats();
+        } finally {
+            tenant.release();
+        }
+    }
+
+    public int cachedTenants() {
+        lock.lock();
+        try {
+            return tenants.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Closes the tenant's providers so the next send sets them up again, e.g. after its credentials changed. Its
+     * quota and lanes are dropped too, so limits that changed with its plan apply from the next send.
+     */
+    public void evict(String tenantId) {
+        Tenant evicted;
+        lock.lock();
+        try {
+            evicted = tenants.remove(tenantId);
+            states.remove(tenantId);
+            if (evicted != null) {
+                draining.add(evicted);
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (evicted != null) {
+            evicted.release();
+        }
+    }
+
+    /**
+     * Closes the client, waiting up to 30 seconds for the sends in flight; see {@link #close(Duration)}.
+     */
+    @Override
+    public void close() {
+        close(Duration.ofSeconds(30));
+    }
+
+    /**
+     * Closes every cached tenant, giving their sends in flight and those of evicted tenants until {@code timeout} to
+     * complete, and shuts down the executor if this client created it. The report adds up the tenants' reports.
+     */
+    public DrainReport close(Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        List<Tenant> open;
+        lock.lock();
+        try {
+            closed = true;
+            open = new ArrayList<>(tenants.values());
+            open.addAll(draining);
+            tenants.clear();
+            states.clear();
+        } finally {
+            lock.unlock();
+        }
+        DrainReport report = DrainReport.empty();
+        try {
+            for (Tenant tenant : open) {
+                Duration remaining = Duration.ofNanos(Math.max(0, deadline - System.nanoTime()));
+                report = report.plus(tenant.client.close(remaining));
+            }
+        } finally {
+            if (ownsExecutor) {
+                shutdownExecutor(report.isComplete(), deadline);
+            }
+        }
+        return report;
+    }
+
+    private void shutdownExecutor(boolean drained, long deadline) {
+        if (!drained) {
+            executor.shutdownNow();
+            return;
+        }
+        executor.shutdown();
+        try {
+            executor.awaitTermination(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Returns the cached tenant, setting it up if needed, with a reference the caller must {@link Tenant#release}.
+     * The reference is taken under the lock, so an eviction cannot close the client before the caller has used it.
+     */
+    private Tenant tenant(String tenantId) {
+        lock.lock();
+        try {
+            ensureOpen();
+            Tenant tenant = tenants.get(tenantId);
+            if (tenant != null) {
+                return tenant.retain();
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        // Setting a tenant up may be slow (loading credentials, building adapters), so it happens outside the lock
+        Tenant created = create(tenantId);
+        Tenant winner;
+        List<Tenant> evicted = new ArrayList<>(1);
+        lock.lock();
+        try {
+            ensureOpen();
+            winner = tenants.putIfAbsent(tenantId, created);
+            if (winner == null) {
+                winner = created.retain();
+                Iterator<Map.Entry<String, Tenant>> eldest = tenants.entrySet().iterator();
+                while (tenants.size() > maxTenants) {
+                    Tenant tenant = eldest.next().getValue();
+                    eldest.remove();
+                    draining.add(tenant);
+                    evicted.add(tenant);
+                }
+            } else {
+                winner.retain();
+                evicted.add(created);
+            }
+        } finally {
+            lock.unlock();
+        }
+        // Drops the cache's reference; the client closes once the last sender has handed its send over
+        evicted.forEach(Tenant::release);
+        return winner;
+    }
+
+    private Tenant create(String tenantId) {
+        TenantState state = states.computeIfAbsent(tenantId, this::state);
+        NotificationClient.Builder builder = NotificationClient.builder()
+                .withExecutor(executor)
+                .withPriorityLanes(state.lanes());
+        providers.register(tenantId, builder);
+        return new Tenant(tenantId, builder.build(), state.quota());
+    }
+
+    private TenantState state(String tenantId) {
+        TenantLimits tenantLimits = limits.apply(tenantId);
+        PriorityLanes lanes = new PriorityLanes(executor,
+                PriorityLaneOptions.defaults().withWorkers(tenantLimits.maxConcurrency()));
+        TokenBucketRateLimiter quota = tenantLimits.quota() == null
+                ? null
+                : new TokenBucketRateLimiter(tenantLimits.quota(), Ticker.system());
+        return new TenantState(lanes, quota);
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new DeliveryException("Tenant client is closed");
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private ExecutorService executor;
+        private boolean ownsExecutor;
+        private TenantProviders providers;
+        private Function<String, TenantLimits> limits = tenantId -> TenantLimits.defaults();
+        private int maxTenants = 1_000;
+
+        public Builder withExecutor(ExecutorService executor) {
+            this.executor = executor;
+            this.ownsExecutor = false;
+            return this;
+        }
+
+        public Builder useVirtualThreads() {
+            this.executor = Executors.newThreadPerTaskExecutor(
+                    Thread.ofVirtual().name("notification-", 0).factory());
+            this.ownsExecutor = true;
+            return this;
+        }
+
+        public Builder withTenantProviders(TenantProviders providers) {
+            this.providers = providers;
+            return this;
+        }
+
+        public Builder withTenantLimits(TenantLimits limits) {
+            return withTenantLimits(tenantId -> limits);
+        }
+
+        /**
+         * Looks up the limits of each tenant when it is set up, e.g. from its plan.
+         */
+        public Builder withTenantLimits(Function<String, TenantLimits> limits) {
+            this.limits = limits;
+            return this;
+        }
+
+        public Builder withMaxTenants(int maxTenants) {
+            if (maxTenants < 1) {
+                throw new IllegalArgumentException("maxTenants must be at least 1");
+            }
+            this.maxTenants = maxTenants;
+            return this;
+        }
+
+        public TenantNotificationClient build() {
+            if (providers == null) {
+                throw new IllegalStateException("withTenantProviders is required");
+            }
+            if (executor == null) {
+                executor = Executors.newFixedThreadPool(10);
+                ownsExecutor = true;
+            }
+            return new TenantNotificationClient(executor, ownsExecutor, providers, limits, maxTenants);
+        }
+    }
+
+    private record TenantState(PriorityLanes lanes, TokenBucketRateLimiter quota) {
+    }
+
+    /**
+     * A cached tenant. The cache holds one reference and every sender using it another; the client is closed when
+     * the last one is released. Sends it already accepted still finish on the shared executor, and it leaves
+     * {@code draining} once they have.
+     */
+    private final class Tenant {
+        private final String id;
+        private final NotificationClient client;
+        private final TokenBucketRateLimiter quota;
+        private final AtomicInteger references = new AtomicInteger(1);
+
+        private Tenant(String id, NotificationClient client, TokenBucketRateLimiter quota) {
+            this.id = id;
+            this.client = client;
+            this.quota = quota;
+        }
+
+        private Tenant retain() {
+            references.incrementAndGet();
+            return this;
+        }
+
+        private void release() {
+            if (references.decrementAndGet() == 0) {
+                client.closeWithoutDraining().whenComplete((ignored, error) -> draining.remove(this));
+            }
+        }
+
+        private void checkQuota(int count) {
+            if (quota != null && !quota.tryAcquire(count)) {
+                throw new ThrottledException("Tenant " + id + " is over its quota");
+            }
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.obed.notification;
+
+/**
+ * Sets up the providers of one tenant, typically adapters built from that tenant's credentials.
+ */
+@FunctionalInterface
+public interface TenantProviders {
+
+    /**
+     * Registers the tenant's providers on a builder that already has the shared executor and the tenant's limits.
+     * Adapters built with their default transport all share {@code HttpTransport.shared()}. Called again whenever a
+     * tenant evicted from the cache comes back.
+     */
+    void register(String tenantId, NotificationClient.Builder builder);
+}
@@ -1,19 +1,65 @@
 package com.obed.notification.adapters.out.fcm;
 
+import com.obed.notification.adapters.out.http.BufferPool;
+import com.obed.notification.adapters.out.http.DeliveryLog;
+import com.obed.notification.adapters.out.http.HttpTransport;
 import com.obed.notification.domain.model.PushNotification;
-import com.obed.notification.ports.out.NotificationPort;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import com.obed.notification.ports.out.AsyncNotificationPort;
 
-public class FCMAdapter implements NotificationPort<PushNotification> {
-    private static final Logger log = LoggerFactory.getLogger(FCMAdapter.class);
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Sends pushes through the FCM HTTP v1 API. v1 takes one message per request, so batches rely on the default
+ * {@code sendBatchAsync}: every request of the batch is in flight at once and the shared HTTP/2 client multiplexes
+ * them over a single connection.
+ */
+public class FCMAdapter implements AsyncNotificationPort<PushNotification> {
+    private final FcmConfig config;
+    private final HttpTransport transport;
+    private final DeliveryLog deliveryLog;
+    private final URI endpoint;
+
+    public FCMAdapter(FcmConfig config) {
+        this(config, HttpTransport.shared());
+    }
+
+    public FCMAdapter(FcmConfig config, HttpTransport transport) {
+        this(config, transport, DeliveryLog.of("FCM"));
+    }
+
+    public FCMAdapter(FcmConfig config, HttpTransport transport, DeliveryLog deliveryLog) {
+        this.config = config;
+        this.transport = transport;
+        this.deliveryLog = deliveryLog;
+        this.endpoint = HttpTransport.endpoint(config.baseUrl(), "/v1/projects/" + config.projectId() + "/messages:send");
+    }
 
     @Override
-    public void send(PushNotification notification) {
-        log.info("[FCM Provider] Sending message to device token: {}", notification.recipient());
-        log.info("Notification: Title='{}', Body='{}'", notification.title(), notification.body());
+    public CompletableFuture<Void> sendAsync(PushNotification notification) {
+        long startedAt = System.nanoTime();
+        BufferPool.Buffer payload = transport.buffer();
+        try {
+            FcmPayloadWriter.write(notification, payload);
+        } catch (RuntimeException e) {
+            payload.release();
+            return CompletableFuture.failedFuture(e);
+        }
+
+        int bytes = payload.size();
+
+        HttpRequest.Builder request = transport.request(endpoint)
+                .header("Authorization", "Bearer " + config.accessToken())
+                .header("Content-Type", "application/json");
 
-        log.info("[FCM] Successfully sent message: projects/my-app/messages/0:123456789");
+        return transport.post(request, payload, "FCM")
+                .thenAccept(body -> deliveryLog.delivered(notification.recipient(), 1, bytes, startedAt));
+    }
+
+    @Override
+    public void warmUp() {
+        transport.prime(endpoint, "FCM").join();
     }
 
     @Override
@@ -0,0 +1,28 @@
+package com.obed.notification.adapters.out.fcm;
+
+import java.net.URI;
+
+/**
+ * @param projectId   Firebase project the messages are sent from
+ * @param accessToken OAuth 2.0 access token with the {@code firebase.messaging} scope
+ * @param baseUrl     FCM endpoint, overridable for tests and proxies
+ */
+public record FcmConfig(
+        String projectId,
+        String accessToken,
+        URI baseUrl
+) {
+    public static final URI DEFAULT_BASE_URL = URI.create("https://fcm.googleapis.com");
+
+    public FcmConfig {
+        if (projectId == null || accessToken == null)
+            throw new IllegalArgumentException("FCM project id and access token cannot be null");
+
+        if (baseUrl == null)
+            throw new IllegalArgumentException("FCM base URL cannot be null");
+    }
+
+    public FcmConfig(String projectId, String accessToken) {
+        this(projectId, accessToken, DEFAULT_BASE_URL);
+    }
+}
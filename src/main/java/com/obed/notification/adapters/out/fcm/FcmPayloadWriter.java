@@ -0,0 +1,63 @@
+package com.obed.notification.adapters.out.fcm;
+
+import com.obed.notification.domain.model.PushNotification;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.ObjectWriteContext;
+import tools.jackson.core.SerializableString;
+import tools.jackson.core.io.SerializedString;
+import tools.jackson.core.json.JsonFactory;
+
+import java.io.OutputStream;
+import java.util.Map;
+
+/**
+ * Streams an FCM v1 {@code messages:send} request body straight into the output.
+ */
+public final class FcmPayloadWriter {
+    private static final JsonFactory FACTORY = JsonFactory.builder().build();
+    private static final SerializableString MESSAGE = new SerializedString("message");
+    private static final SerializableString TOKEN = new SerializedString("token");
+    private static final SerializableString NOTIFICATION = new SerializedString("notification");
+    private static final SerializableString TITLE = new SerializedString("title");
+    private static final SerializableString BODY = new SerializedString("body");
+    private static final SerializableString DATA = new SerializedString("data");
+
+    private FcmPayloadWriter() {
+    }
+
+    public static void write(PushNotification notification, OutputStream out) {
+        try (JsonGenerator json = FACTORY.createGenerator(ObjectWriteContext.empty(), out)) {
+            json.writeStartObject();
+            json.writeName(MESSAGE);
+            json.writeStartObject();
+
+            json.writeName(TOKEN);
+            json.writeString(notification.recipient());
+
+            json.writeName(NOTIFICATION);
+            json.writeStartObject();
+            if (notification.title() != null) {
+                json.writeName(TITLE);
+                json.writeString(notification.title());
+            }
+            if (notification.body() != null) {
+                json.writeName(BODY);
+                json.writeString(notification.body());
+            }
+            json.writeEndObject();
+
+            json.writeName(DATA);
+            json.writeStartObject();
+            if (notification.data() != null) {
+                for (Map.Entry<String, String> entry : notification.data().entrySet()) {
+                    json.writeName(entry.getKey());
+                    json.writeString(entry.getValue());
+                }
+            }
+            json.writeEndObject();
+
+            json.writeEndObject();
+            json.writeEndObject();
+        }
+    }
+}
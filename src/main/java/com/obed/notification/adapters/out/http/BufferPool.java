@@ -0,0 +1,110 @@
+package com.obed.notification.adapters.out.http;
+
+import java.io.OutputStream;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pool of growable byte buffers that request bodies are serialized into, so steady-state sends reuse the same
+ * arrays instead of allocating a fresh body per request. The pool is a lock-free queue rather than a
+ * {@code ThreadLocal}, which would hand every virtual thread its own buffer.
+ */
+public final class BufferPool {
+    private static final BufferPool SHARED = new BufferPool(256, 4 * 1024, 1024 * 1024);
+
+    private final Queue<Buffer> free = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pooled = new AtomicInteger();
+    private final int maxPooled;
+    private final int initialCapacity;
+    private final int maxRetainedCapacity;
+
+    /**
+     * @param maxPooled           idle buffers kept for reuse
+     * @param initialCapacity     size of a newly allocated buffer
+     * @param maxRetainedCapacity buffers that grew beyond this are dropped instead of pooled
+     */
+    public BufferPool(int maxPooled, int initialCapacity, int maxRetainedCapacity) {
+        if (maxPooled < 0 || initialCapacity < 1 || maxRetainedCapacity < initialCapacity)
+            throw new IllegalArgumentException("Pool sizes must satisfy 0 <= maxPooled, 1 <= initialCapacity <= maxRetainedCapacity");
+
+        this.maxPooled = maxPooled;
+        this.initialCapacity = initialCapacity;
+        this.maxRetainedCapacity = maxRetainedCapacity;
+    }
+
+    public static BufferPool shared() {
+        return SHARED;
+    }
+
+    public Buffer acquire() {
+        Buffer buffer = free.poll();
+        if (buffer == null) {
+            return new Buffer(this, initialCapacity);
+        }
+        pooled.decrementAndGet();
+        return buffer;
+    }
+
+    private void release(Buffer buffer) {
+        buffer.size = 0;
+        if (buffer.bytes.length <= maxRetainedCapacity && pooled.incrementAndGet() <= maxPooled) {
+            free.offer(buffer);
+        } else if (buffer.bytes.length <= maxRetainedCapacity) {
+            pooled.decrementAndGet();
+        }
+    }
+
+    /**
+     * An {@link OutputStream} over a growable array. The array is handed to the HTTP client as is, so the buffer
+     * must only be released once the request that carries it has completed.
+     */
+    public static final class Buffer extends OutputStream {
+        private final BufferPool pool;
+        private byte[] bytes;
+        private int size;
+
+        private Buffer(BufferPool pool, int capacity) {
+            this.pool = pool;
+            this.bytes = new byte[capacity];
+        }
+
+        @Override
+        public void write(int b) {
+            ensureCapacity(size + 1);
+            bytes[size++] = (byte) b;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            ensureCapacity(size + len);
+            System.arraycopy(b, off, bytes, size, len);
+            size += len;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public HttpRequest.BodyPublisher publisher() {
+            return HttpRequest.BodyPublishers.ofByteArray(bytes, 0, size);
+        }
+
+        public String asString() {
+            return new String(bytes, 0, size, StandardCharsets.UTF_8);
+        }
+
+        public void release() {
+            pool.release(this);
+        }
+
+        private void ensureCapacity(int capacity) {
+            if (capacity > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(capacity, bytes.length * 2));
+            }
+        }
+    }
+}
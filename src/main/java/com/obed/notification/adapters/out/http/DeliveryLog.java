@@ -0,0 +1,74 @@
+package com.obed.notification.adapters.out.http;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * One structured DEBUG event per delivered request, logged to {@code com.obed.notification.delivery.<provider>} so
+ * each provider's level can be set on its own. The level is checked before anything else, so with DEBUG off a
+ * delivery costs a single branch; with it on, only {@code sampleRate} of the deliveries are logged and recipients
+ * go through the configured {@link Redaction}. Message bodies are never logged.
+ */
+public final class DeliveryLog {
+    private static final String LOGGER_PREFIX = "com.obed.notification.delivery.";
+
+    private final Logger log;
+    private final String provider;
+    private final double sampleRate;
+    private final Redaction redaction;
+
+    /**
+     * @param sampleRate fraction of deliveries logged when DEBUG is enabled, between 0 and 1
+     */
+    public DeliveryLog(String provider, double sampleRate, Redaction redaction) {
+        if (provider == null || provider.isBlank())
+            throw new IllegalArgumentException("provider cannot be null or blank");
+
+        if (!(sampleRate >= 0 && sampleRate <= 1))
+            throw new IllegalArgumentException("sampleRate must be between 0 and 1");
+
+        if (redaction == null)
+            throw new IllegalArgumentException("redaction cannot be null");
+
+        this.log = LoggerFactory.getLogger(LOGGER_PREFIX + provider);
+        this.provider = provider;
+        this.sampleRate = sampleRate;
+        this.redaction = redaction;
+    }
+
+    /**
+     * Logs every delivery of the provider, with recipients partially redacted.
+     */
+    public static DeliveryLog of(String provider) {
+        return new DeliveryLog(provider, 1.0, Redaction.PARTIAL);
+    }
+
+    public DeliveryLog withSampleRate(double sampleRate) {
+        return new DeliveryLog(provider, sampleRate, redaction);
+    }
+
+    public DeliveryLog withRedaction(Redaction redaction) {
+        return new DeliveryLog(provider, sampleRate, redaction);
+    }
+
+    /**
+     * @param recipient  the recipient, or the first one of a multi-recipient request
+     * @param recipients how many recipients the request carried
+     * @param bytes      size of the request body
+     * @param startedAt  {@link System#nanoTime()} when the request was built
+     */
+    public void delivered(String recipient, int recipients, int bytes, long startedAt) {
+        if (!log.isDebugEnabled() || (sampleRate < 1 && ThreadLocalRandom.current().nextDouble() >= sampleRate)) {
+            return;
+        }
+        log.atDebug()
+                .addKeyValue("provider", provider)
+                .addKeyValue("recipient", redaction.apply(recipient))
+                .addKeyValue("recipients", recipients)
+                .addKeyValue("bytes", bytes)
+                .addKeyValue("micros", (System.nanoTime() - startedAt) / 1_000)
+                .log("delivered");
+    }
+}
@@ -0,0 +1,128 @@
+package com.obed.notification.adapters.out.http;
+
+import com.obed.notification.domain.exception.DeliveryException;
+import com.obed.notification.domain.exception.ThrottledException;
+import com.obed.notification.domain.exception.ValidationException;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Non-blocking HTTP transport shared by the provider adapters. A single {@link HttpClient} keeps the connection
+ * pool, so every adapter reuses warm TLS connections and HTTPS endpoints that speak HTTP/2 multiplex all requests
+ * over one connection. Provider responses are mapped to the library's exceptions: 429 becomes a
+ * {@link ThrottledException}, 400 and 422 a {@link ValidationException} and anything else non-2xx a
+ * {@link DeliveryException}.
+ */
+public final class HttpTransport {
+    private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(5);
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final HttpTransport SHARED = new HttpTransport(HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_2)
+            .connectTimeout(CONNECT_TIMEOUT)
+            .build(), REQUEST_TIMEOUT);
+
+    private final HttpClient client;
+    private final Duration requestTimeout;
+    private final BufferPool buffers;
+
+    public HttpTransport(HttpClient client, Duration requestTimeout) {
+        this(client, requestTimeout, BufferPool.shared());
+    }
+
+    public HttpTransport(HttpClient client, Duration requestTimeout, BufferPool buffers) {
+        this.client = client;
+        this.requestTimeout = requestTimeout;
+        this.buffers = buffers;
+    }
+
+    public static HttpTransport shared() {
+        return SHARED;
+    }
+
+    /**
+     * Appends {@code path} to {@code baseUrl}, keeping any path prefix of the base URL (e.g. behind a proxy).
+     */
+    public static URI endpoint(URI baseUrl, String path) {
+        String base = baseUrl.toString();
+        return URI.create(base.endsWith("/") ? base.substring(0, base.length() - 1) + path : base + path);
+    }
+
+    /**
+     * Unwraps the {@link CompletionException} a future hands to its dependants.
+     */
+    public static Exception cause(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        return cause instanceof Exception e ? e : new CompletionException(cause);
+    }
+
+    public HttpRequest.Builder request(URI uri) {
+        return HttpRequest.newBuilder(uri).timeout(requestTimeout);
+    }
+
+    /**
+     * A pooled buffer to serialize a request body into; hand it to {@link #post}, which releases it.
+     */
+    public BufferPool.Buffer buffer() {
+        return buffers.acquire();
+    }
+
+    /**
+     * POSTs {@code body} and gives the buffer back to the pool once the exchange is over.
+     */
+    public CompletableFuture<String> post(HttpRequest.Builder request, BufferPool.Buffer body, String provider) {
+        HttpRequest built;
+        try {
+            built = request.POST(body.publisher()).build();
+        } catch (RuntimeException e) {
+            body.release();
+            return CompletableFuture.failedFuture(e);
+        }
+        return send(built, provider).whenComplete((response, error) -> body.release());
+    }
+
+    /**
+     * Opens a connection to the host of {@code uri} ahead of the first send, so that send does not pay for the TCP
+     * and TLS handshakes. Any response counts, whatever its status; only a failure to connect completes exceptionally.
+     */
+    public CompletableFuture<Void> prime(URI uri, String provider) {
+        HttpRequest request = request(uri).method("HEAD", HttpRequest.BodyPublishers.noBody()).build();
+        return client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).handle((response, error) -> {
+            if (error != null) {
+                Exception cause = cause(error);
+                throw new DeliveryException(provider + " warm-up failed: " + cause, cause);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Sends the request and completes with the response body on a 2xx status, or exceptionally with the mapped
+     * exception otherwise.
+     */
+    public CompletableFuture<String> send(HttpRequest request, String provider) {
+        return client.sendAsync(request, HttpResponse.BodyHandlers.ofString()).handle((response, error) -> {
+            if (error != null) {
+                Exception cause = cause(error);
+                throw new DeliveryException(provider + " request failed: " + cause, cause);
+            }
+            int status = response.statusCode();
+            if (status >= 200 && status < 300) {
+                return response.body();
+            }
+            String detail = provider + " responded " + status + ": " + response.body();
+            if (status == 429) {
+                throw new ThrottledException(detail);
+            }
+            if (status == 400 || status == 422) {
+                throw new ValidationException(detail);
+            }
+            throw new DeliveryException(detail);
+        });
+    }
+}
@@ -0,0 +1,44 @@
+package com.obed.notification.adapters.out.http;
+
+/**
+ * How recipients appear in delivery logs.
+ */
+public enum Redaction {
+    /**
+     * Recipients are logged as they are.
+     */
+    NONE {
+        @Override
+        public String apply(String recipient) {
+            return recipient;
+        }
+    },
+    /**
+     * Enough is kept to tell recipients apart: the first character and domain of an email, the last four
+     * characters of a phone number or device token.
+     */
+    PARTIAL {
+        @Override
+        public String apply(String recipient) {
+            if (recipient == null) {
+                return null;
+            }
+            int at = recipient.indexOf('@');
+            if (at > 0) {
+                return recipient.charAt(0) + "***" + recipient.substring(at);
+            }
+            return recipient.length() <= 4 ? "***" : "***" + recipient.substring(recipient.length() - 4);
+        }
+    },
+    /**
+     * Recipients are never logged.
+     */
+    FULL {
+        @Override
+        public String apply(String recipient) {
+            return "***";
+        }
+    };
+
+    public abstract String apply(String recipient);
+}
@@ -0,0 +1,76 @@
+package com.obed.notification.adapters.out.sendgrid;
+
+import com.obed.notification.domain.exception.ValidationException;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+
+/**
+ * Base64 encodings of attachments, shared by the requests of one batch. Files are memory-mapped rather than read
+ * onto the heap, and encodings are stored by SHA-256 of their content, so the same report attached under different
+ * paths is still encoded and held only once. Not thread-safe: a cache lives for a single batch.
+ */
+public final class AttachmentCache {
+    private final Map<FileKey, byte[]> byFile = new HashMap<>();
+    private final Map<String, byte[]> byContent = new HashMap<>();
+
+    /**
+     * Returns the base64 encoding of the file, encoding it only if neither this file nor one with the same content
+     * was seen before.
+     */
+    public byte[] encoded(File file) {
+        Path path = file.toPath();
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            FileKey key = new FileKey(path.toAbsolutePath(), attributes.size(), attributes.lastModifiedTime().toMillis());
+            byte[] encoded = byFile.get(key);
+            if (encoded == null) {
+                encoded = encode(path);
+                byFile.put(key, encoded);
+            }
+            return encoded;
+        } catch (IOException e) {
+            throw new ValidationException("Cannot read attachment '" + file + "': " + e.getMessage());
+        }
+    }
+
+    private byte[] encode(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer content = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            String digest = digest(content.duplicate());
+            byte[] encoded = byContent.get(digest);
+            if (encoded == null) {
+                ByteBuffer base64 = Base64.getEncoder().encode(content);
+                encoded = base64.array();
+                byContent.put(digest, encoded);
+            }
+            return encoded;
+        }
+    }
+
+    private static String digest(ByteBuffer content) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            sha256.update(content);
+            return HexFormat.of().formatHex(sha256.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private record FileKey(Path path, long size, long lastModified) {
+    }
+}
@@ -0,0 +1,83 @@
+package com.obed.notification.adapters.out.sendgrid;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * Reads a file as base64, encoding one chunk at a time as the reader asks for more. The file is only opened on the
+ * first read, so a request body can list every attachment up front and hold one open file at a time.
+ */
+final class Base64FileStream extends InputStream {
+    // a multiple of 3, so only the last chunk is padded
+    private static final int CHUNK = 3 * 1024;
+
+    private final Path file;
+    private final byte[] raw = new byte[CHUNK];
+    private final byte[] encoded = new byte[CHUNK / 3 * 4];
+    private InputStream source;
+    private int position;
+    private int limit;
+    private boolean exhausted;
+
+    Base64FileStream(Path file) {
+        this.file = file;
+    }
+
+    static long encodedLength(long size) {
+        return (size + 2) / 3 * 4;
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!fill()) {
+            return -1;
+        }
+        return encoded[position++] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        if (!fill()) {
+            return -1;
+        }
+        int n = Math.min(len, limit - position);
+        System.arraycopy(encoded, position, b, off, n);
+        position += n;
+        return n;
+    }
+
+    @Override
+    public void close() throws IOException {
+        exhausted = true;
+        if (source != null) {
+            source.close();
+        }
+    }
+
+    private boolean fill() throws IOException {
+        if (position < limit) {
+            return true;
+        }
+        if (exhausted) {
+            return false;
+        }
+        if (source == null) {
+            source = Files.newInputStream(file);
+        }
+        int n = source.readNBytes(raw, 0, CHUNK);
+        if (n == 0) {
+            close();
+            return false;
+        }
+        limit = Base64.getEncoder().encode(n == CHUNK ? raw : Arrays.copyOf(raw, n), encoded);
+        position = 0;
+        return true;
+    }
+}
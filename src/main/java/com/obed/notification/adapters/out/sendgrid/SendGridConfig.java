@@ -1,7 +1,20 @@
 package com.obed.notification.adapters.out.sendgrid;
 
+import java.net.URI;
+
 public record SendGridConfig(
         String apiKey,
-        String senderEmail
+        String senderEmail,
+        URI baseUrl
 ) {
-}
\ No newline at end of file
+    public static final URI DEFAULT_BASE_URL = URI.create("https://api.sendgrid.com");
+
+    public SendGridConfig {
+        if (baseUrl == null)
+            throw new IllegalArgumentException("SendGrid base URL cannot be null");
+    }
+
+    public SendGridConfig(String apiKey, String senderEmail) {
+        this(apiKey, senderEmail, DEFAULT_BASE_URL);
+    }
+}
@@ -1,32 +1,150 @@
 package com.obed.notification.adapters.out.sendgrid;
 
-import com.obed.notification.domain.exception.ValidationException;
+import com.obed.notification.adapters.out.http.BufferPool;
+import com.obed.notification.adapters.out.http.DeliveryLog;
+import com.obed.notification.adapters.out.http.HttpTransport;
 import com.obed.notification.domain.model.EmailNotification;
-import com.obed.notification.ports.out.NotificationPort;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import com.obed.notification.ports.out.AsyncNotificationPort;
+import com.obed.notification.ports.out.SendResult;
 
-public class SendGridEmailAdapter implements NotificationPort<EmailNotification> {
+import java.io.File;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+public class SendGridEmailAdapter implements AsyncNotificationPort<EmailNotification> {
+
+    // SendGrid rejects requests with more than 1000 personalizations
+    private static final int MAX_PERSONALIZATIONS = 1000;
 
-    private static final Logger log = LoggerFactory.getLogger(SendGridEmailAdapter.class);
     private final SendGridConfig config;
+    private final HttpTransport transport;
+    private final DeliveryLog deliveryLog;
+    private final URI endpoint;
 
     public SendGridEmailAdapter(SendGridConfig config) {
+        this(config, HttpTransport.shared());
+    }
+
+    public SendGridEmailAdapter(SendGridConfig config, HttpTransport transport) {
+        this(config, transport, DeliveryLog.of("SendGrid"));
+    }
+
+    public SendGridEmailAdapter(SendGridConfig config, HttpTransport transport, DeliveryLog deliveryLog) {
         this.config = config;
+        this.transport = transport;
+        this.deliveryLog = deliveryLog;
+        this.endpoint = HttpTransport.endpoint(config.baseUrl(), "/v3/mail/send");
+    }
+
+    @Override
+    public CompletableFuture<Void> sendAsync(EmailNotification notification) {
+        return post(List.of(notification), null).thenAccept(body -> { });
     }
 
     @Override
-    public void send(EmailNotification notification) {
-        if (notification.recipient().contains("invalid")) {
-            log.error("[SendGrid] Failed to send email: Invalid recipient address '{}'", notification.recipient());
-            throw new ValidationException("Invalid recipient address '"+notification.recipient()+"'");
+    public CompletableFuture<List<SendResult>> sendBatchAsync(List<EmailNotification> notifications) {
+        SendResult[] results = new SendResult[notifications.size()];
+
+        // Body and attachments are message-level in SendGrid, so only emails sharing them fit in one request
+        Map<MessageKey, List<Integer>> messages = new LinkedHashMap<>();
+        for (int i = 0; i < notifications.size(); i++) {
+            EmailNotification notification = notifications.get(i);
+            messages.computeIfAbsent(new MessageKey(notification.body(), notification.attachments()), k -> new ArrayList<>())
+                    .add(i);
         }
 
-        log.info("[SendGrid Provider] Preparing HTTP POST to https://api.sendgrid.com/v3/mail/send");
-        log.info("Auth: Bearer {}", maskKey(config.apiKey()));
-        log.info("JSON Payload: { \"personalizations\": [{ \"to\": [{ \"email\": \"{}\" }] }], \"subject\": \"{}\" }",
-                notification.recipient(), notification.subject());
-        log.info("[SendGrid] Response: 202 Accepted");
+        // Requests are serialized right here, so the cache is only used by this thread and dropped with the batch
+        AttachmentCache attachments = new AttachmentCache();
+        List<CompletableFuture<Void>> requests = new ArrayList<>();
+        messages.forEach((message, indexes) -> {
+            for (int from = 0; from < indexes.size(); from += MAX_PERSONALIZATIONS) {
+                List<Integer> request = indexes.subList(from, Math.min(from + MAX_PERSONALIZATIONS, indexes.size()));
+                List<EmailNotification> recipients = new ArrayList<>(request.size());
+                for (int i : request) {
+                    recipients.add(notifications.get(i));
+                }
+                requests.add(post(recipients, attachments).handle((body, error) -> {
+                    for (int i : request) {
+                        results[i] = error == null
+                                ? SendResult.success(notifications.get(i))
+                                : SendResult.failure(notifications.get(i), HttpTransport.cause(error));
+                    }
+                    return null;
+                }));
+            }
+        });
+        return CompletableFuture.allOf(requests.toArray(new CompletableFuture[0]))
+                .thenApply(ignored -> Arrays.asList(results));
+    }
+
+    /**
+     * Sends one request for recipients that share the same body and attachments. Without a cache the attachments
+     * are streamed from disk while the request is sent.
+     */
+    private CompletableFuture<String> post(List<EmailNotification> recipients, AttachmentCache attachments) {
+        if (attachments == null && hasAttachments(recipients.get(0))) {
+            return postStreamed(recipients);
+        }
+        long startedAt = System.nanoTime();
+        BufferPool.Buffer payload = transport.buffer();
+        try {
+            SendGridPayloadWriter.write(recipients, config.senderEmail(), attachments, payload);
+        } catch (RuntimeException e) {
+            payload.release();
+            return CompletableFuture.failedFuture(e);
+        }
+
+        int bytes = payload.size();
+
+        return transport.post(request(), payload, "SendGrid")
+                .whenComplete((body, error) -> {
+                    if (error == null) {
+                        deliveryLog.delivered(recipients.get(0).recipient(), recipients.size(), bytes, startedAt);
+                    }
+                });
+    }
+
+    private CompletableFuture<String> postStreamed(List<EmailNotification> recipients) {
+        long startedAt = System.nanoTime();
+        SendGridPayloadWriter.Body payload;
+        try {
+            payload = SendGridPayloadWriter.streamed(recipients, config.senderEmail());
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        HttpRequest request = request()
+                .POST(HttpRequest.BodyPublishers.fromPublisher(
+                        HttpRequest.BodyPublishers.ofInputStream(payload.content()), payload.length()))
+                .build();
+        return transport.send(request, "SendGrid")
+                .whenComplete((body, error) -> {
+                    if (error == null) {
+                        deliveryLog.delivered(recipients.get(0).recipient(), recipients.size(),
+                                (int) Math.min(Integer.MAX_VALUE, payload.length()), startedAt);
+                    }
+                });
+    }
+
+    private HttpRequest.Builder request() {
+        return transport.request(endpoint)
+                .header("Authorization", "Bearer " + config.apiKey())
+                .header("Content-Type", "application/json");
+    }
+
+    private static boolean hasAttachments(EmailNotification notification) {
+        return notification.attachments() != null && !notification.attachments().isEmpty();
+    }
+
+    @Override
+    public void warmUp() {
+        transport.prime(endpoint, "SendGrid").join();
     }
 
     @Override
@@ -34,7 +152,6 @@ public class SendGridEmailAdapter implements NotificationPort<EmailNotification>
         return EmailNotification.class;
     }
 
-    private String maskKey(String key) {
-        return (key != null && key.length() > 4) ? key.substring(0, 4) + "****" : "****";
+    private record MessageKey(String body, List<File> attachments) {
     }
-}
\ No newline at end of file
+}
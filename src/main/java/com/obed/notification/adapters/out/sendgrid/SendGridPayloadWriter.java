@@ -0,0 +1,183 @@
+package com.obed.notification.adapters.out.sendgrid;
+
+import com.obed.notification.domain.exception.ValidationException;
+import com.obed.notification.domain.model.EmailNotification;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.ObjectWriteContext;
+import tools.jackson.core.SerializableString;
+import tools.jackson.core.io.SerializedString;
+import tools.jackson.core.json.JsonFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Streams a {@code /v3/mail/send} request body straight into the output, without building maps or a tree first.
+ * All recipients must share the body and attachments of the first one. Attachments are base64-encoded while they
+ * are copied from their {@link FileChannel} into the body, or taken from an {@link AttachmentCache} when one is given.
+ * {@link #streamed} goes one step further and leaves the attachments out of memory altogether.
+ */
+public final class SendGridPayloadWriter {
+    private static final JsonFactory FACTORY = JsonFactory.builder().build();
+    private static final SerializableString PERSONALIZATIONS = new SerializedString("personalizations");
+    private static final SerializableString TO = new SerializedString("to");
+    private static final SerializableString EMAIL = new SerializedString("email");
+    private static final SerializableString SUBJECT = new SerializedString("subject");
+    private static final SerializableString FROM = new SerializedString("from");
+    private static final SerializableString CONTENT = new SerializedString("content");
+    private static final SerializableString TYPE = new SerializedString("type");
+    private static final SerializableString TEXT_PLAIN = new SerializedString("text/plain");
+    private static final SerializableString VALUE = new SerializedString("value");
+    private static final SerializableString ATTACHMENTS = new SerializedString("attachments");
+    private static final SerializableString FILENAME = new SerializedString("filename");
+
+    private SendGridPayloadWriter() {
+    }
+
+    public static void write(List<EmailNotification> recipients, String senderEmail, OutputStream out) {
+        write(recipients, senderEmail, null, out);
+    }
+
+    public static void write(List<EmailNotification> recipients, String senderEmail, AttachmentCache attachments,
+                             OutputStream out) {
+        write(recipients, senderEmail, out, (file, json) -> {
+            if (attachments == null) {
+                stream(file, json);
+            } else {
+                byte[] encoded = attachments.encoded(file);
+                json.writeRawUTF8String(encoded, 0, encoded.length);
+            }
+        });
+    }
+
+    /**
+     * A body whose attachments are base64-encoded from their files while the HTTP client reads it, so an in-flight
+     * request holds only the JSON around them and one chunk of an attachment. The files are checked here, so an
+     * unreadable attachment still fails before anything is sent.
+     */
+    public static Body streamed(List<EmailNotification> recipients, String senderEmail) {
+        ByteArrayOutputStream skeleton = new ByteArrayOutputStream();
+        List<Path> files = new ArrayList<>();
+        List<Integer> offsets = new ArrayList<>();
+        long[] length = {0};
+        write(recipients, senderEmail, skeleton, (file, json) -> {
+            Path path = file.toPath();
+            try {
+                length[0] += Base64FileStream.encodedLength(Files.size(path));
+            } catch (IOException e) {
+                throw new ValidationException("Cannot read attachment '" + file + "': " + e.getMessage());
+            }
+            if (!Files.isReadable(path)) {
+                throw new ValidationException("Cannot read attachment '" + file + "': not readable");
+            }
+            // an empty string marks the spot; the attachment is spliced in between its quotes
+            json.writeString("");
+            json.flush();
+            files.add(path);
+            offsets.add(skeleton.size() - 1);
+        });
+        byte[] json = skeleton.toByteArray();
+        return new Body(json.length + length[0], () -> {
+            List<InputStream> parts = new ArrayList<>(files.size() * 2 + 1);
+            int from = 0;
+            for (int i = 0; i < files.size(); i++) {
+                parts.add(new ByteArrayInputStream(json, from, offsets.get(i) - from));
+                parts.add(new Base64FileStream(files.get(i)));
+                from = offsets.get(i);
+            }
+            parts.add(new ByteArrayInputStream(json, from, json.length - from));
+            return new SequenceInputStream(Collections.enumeration(parts));
+        });
+    }
+
+    /**
+     * A request body of a known length, opened anew each time the HTTP client reads it.
+     */
+    public record Body(long length, Supplier<InputStream> content) {
+    }
+
+    @FunctionalInterface
+    private interface AttachmentWriter {
+        void write(File file, JsonGenerator json);
+    }
+
+    private static void write(List<EmailNotification> recipients, String senderEmail, OutputStream out,
+                              AttachmentWriter attachmentWriter) {
+        EmailNotification first = recipients.get(0);
+        try (JsonGenerator json = FACTORY.createGenerator(ObjectWriteContext.empty(), out)) {
+            json.writeStartObject();
+
+            json.writeName(PERSONALIZATIONS);
+            json.writeStartArray();
+            for (EmailNotification notification : recipients) {
+                json.writeStartObject();
+                json.writeName(TO);
+                json.writeStartArray();
+                json.writeStartObject();
+                json.writeName(EMAIL);
+                json.writeString(notification.recipient());
+                json.writeEndObject();
+                json.writeEndArray();
+                json.writeName(SUBJECT);
+                json.writeString(notification.subject());
+                json.writeEndObject();
+            }
+            json.writeEndArray();
+
+            json.writeName(FROM);
+            json.writeStartObject();
+            json.writeName(EMAIL);
+            json.writeString(senderEmail);
+            json.writeEndObject();
+
+            json.writeName(CONTENT);
+            json.writeStartArray();
+            json.writeStartObject();
+            json.writeName(TYPE);
+            json.writeString(TEXT_PLAIN);
+            json.writeName(VALUE);
+            json.writeString(first.body() == null ? "" : first.body());
+            json.writeEndObject();
+            json.writeEndArray();
+
+            if (first.attachments() != null && !first.attachments().isEmpty()) {
+                json.writeName(ATTACHMENTS);
+                json.writeStartArray();
+                for (File file : first.attachments()) {
+                    json.writeStartObject();
+                    json.writeName(CONTENT);
+                    attachmentWriter.write(file, json);
+                    json.writeName(FILENAME);
+                    json.writeString(file.getName());
+                    json.writeEndObject();
+                }
+                json.writeEndArray();
+            }
+
+            json.writeEndObject();
+        }
+    }
+
+    private static void stream(File file, JsonGenerator json) {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+             InputStream content = Channels.newInputStream(channel)) {
+            json.writeBinary(content, Math.toIntExact(channel.size()));
+        } catch (IOException | ArithmeticException e) {
+            throw new ValidationException("Cannot read attachment '" + file + "': " + e.getMessage());
+        }
+    }
+}
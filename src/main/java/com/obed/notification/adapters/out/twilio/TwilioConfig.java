@@ -1,12 +1,24 @@
 package com.obed.notification.adapters.out.twilio;
 
+import java.net.URI;
+
 public record TwilioConfig(
         String accountSid,
         String authToken,
-        String fromPhoneNumber
+        String fromPhoneNumber,
+        URI baseUrl
 ) {
+    public static final URI DEFAULT_BASE_URL = URI.create("https://api.twilio.com");
+
     public TwilioConfig {
         if (accountSid == null || authToken == null)
             throw new IllegalArgumentException("Twilio credentials cannot be null");
+
+        if (baseUrl == null)
+            throw new IllegalArgumentException("Twilio base URL cannot be null");
+    }
+
+    public TwilioConfig(String accountSid, String authToken, String fromPhoneNumber) {
+        this(accountSid, authToken, fromPhoneNumber, DEFAULT_BASE_URL);
     }
 }
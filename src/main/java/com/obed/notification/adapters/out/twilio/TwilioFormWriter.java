@@ -0,0 +1,72 @@
+package com.obed.notification.adapters.out.twilio;
+
+import com.obed.notification.domain.model.SmsNotification;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Writes the {@code application/x-www-form-urlencoded} body of a Twilio Messages request straight into the output,
+ * percent-encoding UTF-8 byte by byte instead of building intermediate strings. The result matches
+ * {@link java.net.URLEncoder}.
+ */
+public final class TwilioFormWriter {
+    private static final byte[] HEX = "0123456789ABCDEF".getBytes();
+
+    private TwilioFormWriter() {
+    }
+
+    public static void write(SmsNotification notification, String from, OutputStream out) {
+        try {
+            field(out, "To=", notification.recipient());
+            field(out, "&From=", from);
+            field(out, "&Body=", notification.message());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void field(OutputStream out, String prefix, String value) throws IOException {
+        for (int i = 0; i < prefix.length(); i++) {
+            out.write(prefix.charAt(i));
+        }
+        if (value == null) {
+            return;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                    || c == '-' || c == '_' || c == '.' || c == '*') {
+                out.write(c);
+            } else if (c == ' ') {
+                out.write('+');
+            } else if (c < 0x80) {
+                escape(out, c);
+            } else if (c < 0x800) {
+                escape(out, 0xC0 | (c >> 6));
+                escape(out, 0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                escape(out, 0xF0 | (codePoint >> 18));
+                escape(out, 0x80 | ((codePoint >> 12) & 0x3F));
+                escape(out, 0x80 | ((codePoint >> 6) & 0x3F));
+                escape(out, 0x80 | (codePoint & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                // Unpaired surrogate: URLEncoder replaces it with '?'
+                escape(out, '?');
+            } else {
+                escape(out, 0xE0 | (c >> 12));
+                escape(out, 0x80 | ((c >> 6) & 0x3F));
+                escape(out, 0x80 | (c & 0x3F));
+            }
+        }
+    }
+
+    private static void escape(OutputStream out, int b) throws IOException {
+        out.write('%');
+        out.write(HEX[(b >> 4) & 0xF]);
+        out.write(HEX[b & 0xF]);
+    }
+}
@@ -1,31 +1,72 @@
 package com.obed.notification.adapters.out.twilio;
 
+import com.obed.notification.adapters.out.http.BufferPool;
+import com.obed.notification.adapters.out.http.DeliveryLog;
+import com.obed.notification.adapters.out.http.HttpTransport;
 import com.obed.notification.domain.model.SmsNotification;
-import com.obed.notification.ports.out.NotificationPort;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import com.obed.notification.ports.out.AsyncNotificationPort;
 
-public class TwilioSmsAdapter implements NotificationPort<SmsNotification> {
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.concurrent.CompletableFuture;
+
+public class TwilioSmsAdapter implements AsyncNotificationPort<SmsNotification> {
 
-    private static final Logger log = LoggerFactory.getLogger(TwilioSmsAdapter.class);
     private final TwilioConfig config;
+    private final HttpTransport transport;
+    private final DeliveryLog deliveryLog;
+    private final URI endpoint;
+    private final String authorization;
 
     public TwilioSmsAdapter(TwilioConfig config) {
+        this(config, HttpTransport.shared());
+    }
+
+    public TwilioSmsAdapter(TwilioConfig config, HttpTransport transport) {
+        this(config, transport, DeliveryLog.of("Twilio"));
+    }
+
+    public TwilioSmsAdapter(TwilioConfig config, HttpTransport transport, DeliveryLog deliveryLog) {
         this.config = config;
+        this.transport = transport;
+        this.deliveryLog = deliveryLog;
+        this.endpoint = HttpTransport.endpoint(config.baseUrl(),
+                "/2010-04-01/Accounts/" + config.accountSid() + "/Messages.json");
+        this.authorization = "Basic " + Base64.getEncoder().encodeToString(
+                (config.accountSid() + ":" + config.authToken()).getBytes(StandardCharsets.UTF_8));
     }
 
+    // Twilio has no bulk endpoint; the default sendBatchAsync keeps every message of a batch in flight at once
     @Override
-    public void send(SmsNotification notification) {
-        log.info("[Twilio Provider] POST to /2010-04-01/Accounts/{}/Messages.json", config.accountSid());
-        log.info("From: {}", config.fromPhoneNumber());
-        log.info("To:   {}", notification.recipient());
-        log.info("Body: {}", notification.message());
+    public CompletableFuture<Void> sendAsync(SmsNotification notification) {
+        long startedAt = System.nanoTime();
+        BufferPool.Buffer form = transport.buffer();
+        try {
+            TwilioFormWriter.write(notification, config.fromPhoneNumber(), form);
+        } catch (RuntimeException e) {
+            form.release();
+            return CompletableFuture.failedFuture(e);
+        }
 
-        log.info("[Twilio] Response: SID SMxxxxxxxxxxxxxxxx (Queued)");
+        int bytes = form.size();
+
+        HttpRequest.Builder request = transport.request(endpoint)
+                .header("Authorization", authorization)
+                .header("Content-Type", "application/x-www-form-urlencoded");
+
+        return transport.post(request, form, "Twilio")
+                .thenAccept(body -> deliveryLog.delivered(notification.recipient(), 1, bytes, startedAt));
+    }
+
+    @Override
+    public void warmUp() {
+        transport.prime(endpoint, "Twilio").join();
     }
 
     @Override
     public Class<SmsNotification> supports() {
         return SmsNotification.class;
     }
-}
\ No newline at end of file
+}
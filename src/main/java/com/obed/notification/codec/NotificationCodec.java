@@ -0,0 +1,416 @@
+package com.obed.notification.codec;
+
+import com.obed.notification.domain.exception.ValidationException;
+import com.obed.notification.domain.model.EmailNotification;
+import com.obed.notification.domain.model.Notification;
+import com.obed.notification.domain.model.PushNotification;
+import com.obed.notification.domain.model.SmsNotification;
+
+import java.io.File;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact binary format for notifications, read and written straight through a {@link ByteBuffer}.
+ *
+ * <p>A record starts with a header byte holding the format version with the high bit set, then the type tag and
+ * the recipient, so {@link #peekType} and {@link #peekRecipient} can route a record without decoding the rest.
+ * Lengths and counts are unsigned varints; strings are UTF-8 prefixed with their length plus one, zero meaning null.
+ * SMS recipients are always E.164, so they are stored as their digit count followed by the digits packed two per
+ * byte. Data map keys that appear in most pushes are written as a one-byte reference into a fixed dictionary. The
+ * layout of version 1 is:
+ * <pre>
+ * email: header 1 recipient subject body count+1 path... idempotencyKey
+ * sms:   header 2 phone message idempotencyKey
+ * push:  header 3 recipient title body count+1 (key value)... idempotencyKey
+ * </pre>
+ * Encoding allocates nothing; decoding allocates only the strings and collections of the result.
+ */
+public final class NotificationCodec {
+    public static final int VERSION = 1;
+
+    private static final byte HEADER = (byte) (0x80 | VERSION);
+    private static final byte EMAIL = 1;
+    private static final byte SMS = 2;
+    private static final byte PUSH = 3;
+
+    // Part of the version 1 format: entries may only ever be appended
+    private static final String[] DATA_KEYS = {
+            "collapse_key", "type", "id", "url", "click_action", "title", "body", "image", "deeplink", "coalesced_count"
+    };
+
+    private NotificationCodec() {
+    }
+
+    /**
+     * Writes the notification at the buffer's position and advances it. If the buffer is too small, its position is
+     * left where it was and {@link BufferOverflowException} is thrown.
+     */
+    public static void encode(Notification notification, ByteBuffer out) {
+        int start = out.position();
+        try {
+            out.put(HEADER);
+            switch (notification) {
+                case EmailNotification email -> {
+                    out.put(EMAIL);
+                    writeString(out, email.recipient());
+                    writeString(out, email.subject());
+                    writeString(out, email.body());
+                    List<File> attachments = email.attachments();
+                    writeVarint(out, attachments == null ? 0 : attachments.size() + 1);
+                    if (attachments != null) {
+                        for (File file : attachments) {
+                            writeString(out, file.getPath());
+                        }
+                    }
+                    writeString(out, email.idempotencyKey());
+                }
+                case SmsNotification sms -> {
+                    out.put(SMS);
+                    writePhone(out, sms.recipient());
+                    writeString(out, sms.message());
+                    writeString(out, sms.idempotencyKey());
+                }
+                case PushNotification push -> {
+                    out.put(PUSH);
+                    writeString(out, push.recipient());
+                    writeString(out, push.title());
+                    writeString(out, push.body());
+                    Map<String, String> data = push.data();
+                    writeVarint(out, data == null ? 0 : data.size() + 1);
+                    if (data != null) {
+                        for (Map.Entry<String, String> entry : data.entrySet()) {
+                            writeKey(out, entry.getKey());
+                            writeString(out, entry.getValue());
+                        }
+                    }
+                    writeString(out, push.idempotencyKey());
+                }
+            }
+        } catch (BufferOverflowException e) {
+            out.position(start);
+            throw e;
+        }
+    }
+
+    /**
+     * Exact number of bytes {@link #encode} writes for the notification.
+     */
+    public static int encodedSize(Notification notification) {
+        int size = 2;
+        switch (notification) {
+            case EmailNotification email -> {
+                size += stringSize(email.recipient()) + stringSize(email.subject()) + stringSize(email.body());
+                List<File> attachments = email.attachments();
+                size += varintSize(attachments == null ? 0 : attachments.size() + 1);
+                if (attachments != null) {
+                    for (File file : attachments) {
+                        size += stringSize(file.getPath());
+                    }
+                }
+                size += stringSize(email.idempotencyKey());
+            }
+            case SmsNotification sms ->
+                    size += phoneSize(sms.recipient()) + stringSize(sms.message()) + stringSize(sms.idempotencyKey());
+            case PushNotification push -> {
+                size += stringSize(push.recipient()) + stringSize(push.title()) + stringSize(push.body());
+                Map<String, String> data = push.data();
+                size += varintSize(data == null ? 0 : data.size() + 1);
+                if (data != null) {
+                    for (Map.Entry<String, String> entry : data.entrySet()) {
+                        int index = dataKeyIndex(entry.getKey());
+                        size += index >= 0 ? varintSize(index << 1 | 1) : stringSize(entry.getKey());
+                        size += stringSize(entry.getValue());
+                    }
+                }
+                size += stringSize(push.idempotencyKey());
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Reads the notification at the buffer's position and advances past it.
+     *
+     * @throws IllegalArgumentException if the record is malformed, holds fields the notification rejects, or is from an
+     *                                  unsupported version
+     */
+    public static Notification decode(ByteBuffer in) {
+        try {
+            byte type = readHeader(in, in.position());
+            in.position(in.position() + 2);
+            return switch (type) {
+                case EMAIL -> {
+                    String recipient = readString(in);
+                    String subject = readString(in);
+                    String body = readString(in);
+                    int count = readCount(in);
+                    List<File> attachments = null;
+                    if (count >= 0) {
+                        attachments = new ArrayList<>(count);
+                        for (int i = 0; i < count; i++) {
+                            attachments.add(new File(readString(in)));
+                        }
+                    }
+                    yield new EmailNotification(recipient, subject, body, attachments, readString(in));
+                }
+                case SMS -> new SmsNotification(readPhone(in), readString(in), readString(in));
+                case PUSH -> {
+                    String recipient = readString(in);
+                    String title = readString(in);
+                    String body = readString(in);
+                    int count = readCount(in);
+                    Map<String, String> data = null;
+                    if (count >= 0) {
+                        data = new LinkedHashMap<>(Math.max(4, count * 4 / 3 + 1));
+                        for (int i = 0; i < count; i++) {
+                            data.put(readKey(in), readString(in));
+                        }
+                    }
+                    yield new PushNotification(recipient, title, body, data, readString(in));
+                }
+                default -> throw new IllegalArgumentException("Unknown notification type tag " + type);
+            };
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Truncated notification record", e);
+        } catch (ValidationException e) {
+            throw new IllegalArgumentException("Malformed notification record", e);
+        }
+    }
+
+    /**
+     * Type of the record at the buffer's position, read without decoding it or moving the position.
+     */
+    public static Class<? extends Notification> peekType(ByteBuffer in) {
+        return switch (readHeader(in, in.position())) {
+            case EMAIL -> EmailNotification.class;
+            case SMS -> SmsNotification.class;
+            case PUSH -> PushNotification.class;
+            default -> throw new IllegalArgumentException("Unknown notification type tag " + in.get(in.position() + 1));
+        };
+    }
+
+    /**
+     * Recipient of the record at the buffer's position, read without decoding the rest or moving the position.
+     */
+    public static String peekRecipient(ByteBuffer in) {
+        byte type = readHeader(in, in.position());
+        ByteBuffer view = in.duplicate();
+        view.position(in.position() + 2);
+        return type == SMS ? readPhone(view) : readString(view);
+    }
+
+    private static byte readHeader(ByteBuffer in, int at) {
+        byte header = in.get(at);
+        if (header != HEADER) {
+            throw new IllegalArgumentException((header & 0x80) == 0
+                    ? "Not a notification record"
+                    : "Unsupported notification format version " + (header & 0x7f));
+        }
+        return in.get(at + 1);
+    }
+
+    private static int dataKeyIndex(String key) {
+        for (int i = 0; i < DATA_KEYS.length; i++) {
+            if (DATA_KEYS[i].equals(key)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Dictionary keys are written as {@code index << 1 | 1}; other keys as a plain string, whose prefix is even
+     * because it is shifted the same way.
+     */
+    private static void writeKey(ByteBuffer out, String key) {
+        int index = dataKeyIndex(key);
+        if (index >= 0) {
+            writeVarint(out, index << 1 | 1);
+        } else {
+            writeVarint(out, utf8Length(key) << 1);
+            writeUtf8(out, key);
+        }
+    }
+
+    private static String readKey(ByteBuffer in) {
+        int prefix = readVarint(in);
+        if ((prefix & 1) != 0) {
+            int index = prefix >>> 1;
+            if (index >= DATA_KEYS.length) {
+                throw new IllegalArgumentException("Unknown data key reference " + index);
+            }
+            return DATA_KEYS[index];
+        }
+        return readUtf8(in, prefix >>> 1);
+    }
+
+    private static int phoneSize(String phone) {
+        int digits = phone.length() - 1;
+        return 1 + (digits + 1) / 2;
+    }
+
+    /**
+     * Writes an E.164 number, which the SMS record has already validated as '+' followed by at most 15 digits.
+     */
+    private static void writePhone(ByteBuffer out, String phone) {
+        int digits = phone.length() - 1;
+        out.put((byte) digits);
+        for (int i = 1; i <= digits; i += 2) {
+            int high = phone.charAt(i) - '0';
+            int low = i + 1 <= digits ? phone.charAt(i + 1) - '0' : 0;
+            out.put((byte) (high << 4 | low));
+        }
+    }
+
+    private static String readPhone(ByteBuffer in) {
+        int digits = in.get();
+        if (digits < 0 || digits > 15) {
+            throw new IllegalArgumentException("Malformed phone number");
+        }
+        char[] phone = new char[digits + 1];
+        phone[0] = '+';
+        for (int i = 1; i <= digits; i += 2) {
+            int packed = in.get() & 0xff;
+            phone[i] = (char) ('0' + (packed >>> 4));
+            if (i + 1 <= digits) {
+                phone[i + 1] = (char) ('0' + (packed & 0x0f));
+            }
+        }
+        return new String(phone);
+    }
+
+    private static int stringSize(String value) {
+        if (value == null) {
+            return 1;
+        }
+        int length = utf8Length(value);
+        return varintSize(length + 1) + length;
+    }
+
+    private static void writeString(ByteBuffer out, String value) {
+        if (value == null) {
+            out.put((byte) 0);
+            return;
+        }
+        writeVarint(out, utf8Length(value) + 1);
+        writeUtf8(out, value);
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = readVarint(in) - 1;
+        return length < 0 ? null : readUtf8(in, length);
+    }
+
+    /**
+     * UTF-8 length as {@link String#getBytes} would produce it, with unpaired surrogates counted as one {@code ?}.
+     */
+    private static int utf8Length(String value) {
+        int length = value.length();
+        int bytes = length;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                continue;
+            }
+            if (c < 0x800) {
+                bytes += 1;
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                bytes += 2;
+                i++;
+            } else if (!Character.isSurrogate(c)) {
+                bytes += 2;
+            }
+        }
+        return bytes;
+    }
+
+    private static void writeUtf8(ByteBuffer out, String value) {
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                out.put((byte) c);
+            } else if (c < 0x800) {
+                out.put((byte) (0xc0 | c >> 6));
+                out.put((byte) (0x80 | c & 0x3f));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                out.put((byte) (0xf0 | codePoint >> 18));
+                out.put((byte) (0x80 | codePoint >> 12 & 0x3f));
+                out.put((byte) (0x80 | codePoint >> 6 & 0x3f));
+                out.put((byte) (0x80 | codePoint & 0x3f));
+            } else if (Character.isSurrogate(c)) {
+                out.put((byte) '?');
+            } else {
+                out.put((byte) (0xe0 | c >> 12));
+                out.put((byte) (0x80 | c >> 6 & 0x3f));
+                out.put((byte) (0x80 | c & 0x3f));
+            }
+        }
+    }
+
+    private static String readUtf8(ByteBuffer in, int length) {
+        if (length > in.remaining()) {
+            throw new IllegalArgumentException("Truncated notification record");
+        }
+        String value;
+        if (in.hasArray()) {
+            value = new String(in.array(), in.arrayOffset() + in.position(), length, StandardCharsets.UTF_8);
+            in.position(in.position() + length);
+        } else {
+            byte[] bytes = new byte[length];
+            in.get(bytes);
+            value = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return value;
+    }
+
+    private static int varintSize(int value) {
+        return value < 0 ? 5 : (38 - Integer.numberOfLeadingZeros(value | 1)) / 7;
+    }
+
+    private static void writeVarint(ByteBuffer out, int value) {
+        while ((value & ~0x7f) != 0) {
+            out.put((byte) (value & 0x7f | 0x80));
+            value >>>= 7;
+        }
+        out.put((byte) value);
+    }
+
+    /**
+     * Reads a non-negative varint; nothing this codec writes needs more than 31 bits.
+     */
+    private static int readVarint(ByteBuffer in) {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            byte b = in.get();
+            if (shift == 28 && (b & 0x7f) > 0x07) {
+                break;
+            }
+            value |= (b & 0x7f) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint");
+    }
+
+    /**
+     * Reads the size of a list or map written with {@code size + 1}, or -1 for null. Every element takes at least a
+     * byte, so a count beyond what is left of the record is corrupt and rejected before anything is allocated for it.
+     */
+    private static int readCount(ByteBuffer in) {
+        int count = readVarint(in) - 1;
+        if (count > in.remaining()) {
+            throw new IllegalArgumentException("Malformed element count " + count);
+        }
+        return count;
+    }
+}
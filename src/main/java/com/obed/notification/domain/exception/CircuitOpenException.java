@@ -0,0 +1,7 @@
+package com.obed.notification.domain.exception;
+
+public class CircuitOpenException extends DeliveryException {
+    public CircuitOpenException(String message) {
+        super(message);
+    }
+}
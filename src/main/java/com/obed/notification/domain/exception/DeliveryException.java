@@ -4,4 +4,8 @@ public class DeliveryException extends NotificationException {
     public DeliveryException(String message) {
         super(message);
     }
-}
\ No newline at end of file
+
+    public DeliveryException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,7 @@
+package com.obed.notification.domain.exception;
+
+public class QueueFullException extends DeliveryException {
+    public QueueFullException(String message) {
+        super(message);
+    }
+}
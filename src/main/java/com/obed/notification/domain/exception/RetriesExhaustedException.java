@@ -0,0 +1,14 @@
+package com.obed.notification.domain.exception;
+
+public class RetriesExhaustedException extends DeliveryException {
+    private final int attempts;
+
+    public RetriesExhaustedException(int attempts, Throwable lastError) {
+        super("Gave up after " + attempts + " attempts: " + lastError.getMessage(), lastError);
+        this.attempts = attempts;
+    }
+
+    public int attempts() {
+        return attempts;
+    }
+}
@@ -0,0 +1,11 @@
+package com.obed.notification.domain.exception;
+
+public class ThrottledException extends DeliveryException {
+    public ThrottledException(String message) {
+        super(message);
+    }
+
+    public ThrottledException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
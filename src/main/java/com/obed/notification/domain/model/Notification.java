@@ -2,4 +2,9 @@ package com.obed.notification.domain.model;
 
 public sealed interface Notification permits EmailNotification, SmsNotification, PushNotification {
     String recipient();
+
+    /**
+     * Key under which duplicate sends are suppressed, or null to let the client derive one from the content.
+     */
+    String idempotencyKey();
 }
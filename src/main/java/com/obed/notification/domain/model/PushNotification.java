@@ -6,9 +6,18 @@ public record PushNotification(
         String recipient, // Device Token
         String title,
         String body,
-        Map<String, String> data // Metadata extra para la app móvil
+        Map<String, String> data, // Metadata extra para la app móvil
+        String idempotencyKey
 ) implements Notification {
     public PushNotification {
         if (recipient == null || recipient.isBlank()) throw new IllegalArgumentException("Device token cannot be null");
     }
+
+    public PushNotification(String recipient, String title, String body, Map<String, String> data) {
+        this(recipient, title, body, data, null);
+    }
+
+    public PushNotification withIdempotencyKey(String idempotencyKey) {
+        return new PushNotification(recipient, title, body, data, idempotencyKey);
+    }
 }
@@ -1,20 +1,26 @@
 package com.obed.notification.domain.model;
 
 import com.obed.notification.domain.exception.ValidationException;
-
-import java.util.regex.Pattern;
+import com.obed.notification.domain.validation.RecipientValidator;
 
 public record SmsNotification(
         String recipient,
-        String message
+        String message,
+        String idempotencyKey
 ) implements Notification {
-    private static final Pattern PHONE_PATTERN = Pattern.compile("^\\+[1-9]\\d{1,14}$");
-
     public SmsNotification {
-        if (recipient == null || !PHONE_PATTERN.matcher(recipient).matches())
+        if (!RecipientValidator.isE164(recipient))
             throw new ValidationException("Invalid phone number format. Expected E.164 format (e.g., +1234567890)");
 
         if (message == null || message.isBlank())
             throw new ValidationException("Message cannot be null or blank");
     }
+
+    public SmsNotification(String recipient, String message) {
+        this(recipient, message, null);
+    }
+
+    public SmsNotification withIdempotencyKey(String idempotencyKey) {
+        return new SmsNotification(recipient, message, idempotencyKey);
+    }
 }
@@ -0,0 +1,26 @@
+package com.obed.notification.domain.template;
+
+import java.util.Iterator;
+import java.util.function.Function;
+
+final class Bindings {
+    private Bindings() {
+    }
+
+    /**
+     * Binds each recipient only when the consumer pulls it.
+     */
+    static <R, N> Iterator<N> lazily(Iterator<R> recipients, Function<R, N> binder) {
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return recipients.hasNext();
+            }
+
+            @Override
+            public N next() {
+                return binder.apply(recipients.next());
+            }
+        };
+    }
+}
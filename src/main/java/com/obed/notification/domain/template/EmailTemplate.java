@@ -0,0 +1,37 @@
+package com.obed.notification.domain.template;
+
+import com.obed.notification.domain.model.EmailNotification;
+
+import java.io.File;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Subject and body templates plus attachments shared by every recipient.
+ */
+public record EmailTemplate(Template subject, Template body, List<File> attachments) {
+
+    public static EmailTemplate of(String subject, String body) {
+        return new EmailTemplate(Template.compile(subject), Template.compile(body), List.of());
+    }
+
+    public EmailNotification bind(String recipient, Map<String, ?> values) {
+        return new EmailNotification(recipient, subject.render(values), body.render(values), attachments);
+    }
+
+    /**
+     * Binds recipients as the returned iterator is consumed. Not thread-safe: builders are reused across recipients.
+     */
+    public <R> Iterator<EmailNotification> bindAll(Iterator<R> recipients, Function<R, String> address,
+                                                   Function<R, ? extends Map<String, ?>> values) {
+        StringBuilder subjectScratch = new StringBuilder(subject.estimatedLength());
+        StringBuilder bodyScratch = new StringBuilder(body.estimatedLength());
+        return Bindings.lazily(recipients, r -> {
+            Map<String, ?> bound = values.apply(r);
+            return new EmailNotification(address.apply(r), subject.render(bound, subjectScratch),
+                    body.render(bound, bodyScratch), attachments);
+        });
+    }
+}
@@ -0,0 +1,35 @@
+package com.obed.notification.domain.template;
+
+import com.obed.notification.domain.model.PushNotification;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Title and body templates plus the data payload shared by every device.
+ */
+public record PushTemplate(Template title, Template body, Map<String, String> data) {
+
+    public static PushTemplate of(String title, String body) {
+        return new PushTemplate(Template.compile(title), Template.compile(body), Map.of());
+    }
+
+    public PushNotification bind(String deviceToken, Map<String, ?> values) {
+        return new PushNotification(deviceToken, title.render(values), body.render(values), data);
+    }
+
+    /**
+     * Binds devices as the returned iterator is consumed. Not thread-safe: builders are reused across devices.
+     */
+    public <R> Iterator<PushNotification> bindAll(Iterator<R> devices, Function<R, String> deviceToken,
+                                                  Function<R, ? extends Map<String, ?>> values) {
+        StringBuilder titleScratch = new StringBuilder(title.estimatedLength());
+        StringBuilder bodyScratch = new StringBuilder(body.estimatedLength());
+        return Bindings.lazily(devices, r -> {
+            Map<String, ?> bound = values.apply(r);
+            return new PushNotification(deviceToken.apply(r), title.render(bound, titleScratch),
+                    body.render(bound, bodyScratch), data);
+        });
+    }
+}
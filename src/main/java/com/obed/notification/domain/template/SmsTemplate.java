@@ -0,0 +1,30 @@
+package com.obed.notification.domain.template;
+
+import com.obed.notification.domain.model.SmsNotification;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.function.Function;
+
+public record SmsTemplate(Template message) {
+
+    public static SmsTemplate of(String message) {
+        return new SmsTemplate(Template.compile(message));
+    }
+
+    public SmsNotification bind(String recipient, Map<String, ?> values) {
+        return new SmsNotification(recipient, message.render(values));
+    }
+
+    /**
+     * Binds recipients as the returned iterator is consumed, e.g. by {@code NotificationClient.sendStream}, so a
+     * campaign never holds more rendered messages than are in flight. Not thread-safe: one builder is reused for
+     * every recipient.
+     */
+    public <R> Iterator<SmsNotification> bindAll(Iterator<R> recipients, Function<R, String> address,
+                                                 Function<R, ? extends Map<String, ?>> values) {
+        StringBuilder scratch = new StringBuilder(message.estimatedLength());
+        return Bindings.lazily(recipients,
+                r -> new SmsNotification(address.apply(r), message.render(values.apply(r), scratch)));
+    }
+}
@@ -0,0 +1,107 @@
+package com.obed.notification.domain.template;
+
+import com.obed.notification.domain.exception.ValidationException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A text with {@code {{placeholder}}} markers, parsed once into an array of literal and placeholder segments.
+ * Rendering walks that array and appends into a caller-supplied {@link StringBuilder}, so the same builder can be
+ * reused for every recipient. Whitespace inside the braces is ignored; a missing value is a validation error.
+ */
+public final class Template {
+    private final String source;
+    // Even slots hold literals, odd slots placeholder names: literal, name, literal, name, ..., literal
+    private final String[] segments;
+    private final int literalLength;
+
+    private Template(String source, String[] segments, int literalLength) {
+        this.source = source;
+        this.segments = segments;
+        this.literalLength = literalLength;
+    }
+
+    public static Template compile(String source) {
+        if (source == null)
+            throw new ValidationException("Template source cannot be null");
+
+        List<String> segments = new ArrayList<>();
+        int literalLength = 0;
+        int from = 0;
+        while (true) {
+            int open = source.indexOf("{{", from);
+            if (open < 0) {
+                break;
+            }
+            int close = source.indexOf("}}", open + 2);
+            if (close < 0)
+                throw new ValidationException("Unclosed placeholder at offset " + open + " in template: " + source);
+
+            String name = source.substring(open + 2, close).strip();
+            if (name.isEmpty())
+                throw new ValidationException("Empty placeholder at offset " + open + " in template: " + source);
+
+            segments.add(source.substring(from, open));
+            segments.add(name);
+            literalLength += open - from;
+            from = close + 2;
+        }
+        segments.add(source.substring(from));
+        literalLength += source.length() - from;
+        return new Template(source, segments.toArray(String[]::new), literalLength);
+    }
+
+    /**
+     * Clears {@code scratch}, renders into it and returns the result.
+     */
+    public String render(Map<String, ?> values, StringBuilder scratch) {
+        scratch.setLength(0);
+        renderTo(values, scratch);
+        return scratch.toString();
+    }
+
+    public String render(Map<String, ?> values) {
+        return render(values, new StringBuilder(estimatedLength()));
+    }
+
+    public void renderTo(Map<String, ?> values, StringBuilder out) {
+        String[] segments = this.segments;
+        out.append(segments[0]);
+        for (int i = 1; i < segments.length; i += 2) {
+            Object value = values.get(segments[i]);
+            if (value == null)
+                throw new ValidationException("Missing value for placeholder '" + segments[i] + "'");
+
+            out.append(value).append(segments[i + 1]);
+        }
+    }
+
+    public Set<String> placeholders() {
+        Set<String> names = new LinkedHashSet<>();
+        for (int i = 1; i < segments.length; i += 2) {
+            names.add(segments[i]);
+        }
+        return Collections.unmodifiableSet(names);
+    }
+
+    /**
+     * Literal length plus a guess of 16 characters per placeholder, used to size builders.
+     */
+    public int estimatedLength() {
+        return literalLength + 16 * (segments.length / 2);
+    }
+
+    public String source() {
+        return source;
+    }
+
+    @Override
+    public String toString() {
+        return source;
+    }
+}
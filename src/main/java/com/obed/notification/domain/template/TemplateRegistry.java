@@ -0,0 +1,80 @@
+package com.obed.notification.domain.template;
+
+import com.obed.notification.domain.exception.ValidationException;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Compiles templates on first use and keeps at most {@code maxSize} of them, keyed by id and locale. A lookup for
+ * {@code es_NI} falls back to {@code es} and then to {@link Locale#ROOT}; the result is cached under the requested
+ * locale, so the fallback is only resolved once. Lookups are a single concurrent map read; once full, the oldest
+ * entry is evicted first.
+ */
+public final class TemplateRegistry {
+    private final TemplateSource source;
+    private final int maxSize;
+    private final Map<Key, Template> templates = new ConcurrentHashMap<>();
+    private final Queue<Key> insertionOrder = new ConcurrentLinkedQueue<>();
+
+    public TemplateRegistry(TemplateSource source, int maxSize) {
+        if (source == null)
+            throw new IllegalArgumentException("source cannot be null");
+
+        if (maxSize < 1)
+            throw new IllegalArgumentException("maxSize must be at least 1");
+
+        this.source = source;
+        this.maxSize = maxSize;
+    }
+
+    public Template get(String id, Locale locale) {
+        Key key = new Key(id, locale);
+        Template template = templates.get(key);
+        if (template != null) {
+            return template;
+        }
+
+        boolean[] loaded = {false};
+        template = templates.computeIfAbsent(key, k -> {
+            loaded[0] = true;
+            return Template.compile(load(id, locale));
+        });
+        if (!loaded[0]) {
+            return template;
+        }
+        insertionOrder.add(key);
+        while (templates.size() > maxSize) {
+            Key eldest = insertionOrder.poll();
+            if (eldest == null) {
+                break;
+            }
+            templates.remove(eldest);
+        }
+        return template;
+    }
+
+    public int size() {
+        return templates.size();
+    }
+
+    private String load(String id, Locale locale) {
+        String text = source.find(id, locale);
+        if (text == null && !locale.getCountry().isEmpty()) {
+            text = source.find(id, Locale.of(locale.getLanguage()));
+        }
+        if (text == null && !locale.equals(Locale.ROOT)) {
+            text = source.find(id, Locale.ROOT);
+        }
+        if (text == null)
+            throw new ValidationException("No template '" + id + "' for locale " + locale);
+
+        return text;
+    }
+
+    private record Key(String id, Locale locale) {
+    }
+}
@@ -0,0 +1,15 @@
+package com.obed.notification.domain.template;
+
+import java.util.Locale;
+
+/**
+ * Where a {@link TemplateRegistry} loads template text from: a database, files, a CMS.
+ */
+@FunctionalInterface
+public interface TemplateSource {
+
+    /**
+     * Returns the text of the template for exactly this locale, or null if there is none.
+     */
+    String find(String id, Locale locale);
+}
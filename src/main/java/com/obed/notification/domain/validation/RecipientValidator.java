@@ -0,0 +1,91 @@
+package com.obed.notification.domain.validation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Single-pass recipient checks used by the notification records. They accept exactly the inputs of the patterns
+ * they replace, {@code ^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+$} for emails and {@code ^\+[1-9]\d{1,14}$} for E.164 phone
+ * numbers, without allocating a {@link java.util.regex.Matcher} per call.
+ */
+public final class RecipientValidator {
+    private static final int E164_MAX_LENGTH = 16;
+
+    private RecipientValidator() {
+    }
+
+    public static boolean isEmail(CharSequence value) {
+        if (value == null) {
+            return false;
+        }
+        int length = value.length();
+        int at = -1;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c == '@') {
+                if (at >= 0 || i == 0) {
+                    return false;
+                }
+                at = i;
+            } else if (!isAsciiAlphanumeric(c) && c != '.' && c != '-' && (at >= 0 || (c != '+' && c != '_'))) {
+                return false;
+            }
+        }
+        return at > 0 && at < length - 1;
+    }
+
+    public static boolean isE164(CharSequence value) {
+        if (value == null) {
+            return false;
+        }
+        int length = value.length();
+        if (length < 3 || length > E164_MAX_LENGTH || value.charAt(0) != '+') {
+            return false;
+        }
+        char first = value.charAt(1);
+        if (first < '1' || first > '9') {
+            return false;
+        }
+        for (int i = 2; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks every address of a list and reports all the invalid ones by index, instead of failing on the first.
+     */
+    public static ValidationReport validateEmails(List<? extends CharSequence> recipients) {
+        List<ValidationReport.Failure> failures = new ArrayList<>();
+        for (int i = 0; i < recipients.size(); i++) {
+            CharSequence recipient = recipients.get(i);
+            if (!isEmail(recipient)) {
+                failures.add(new ValidationReport.Failure(i, recipient == null ? null : recipient.toString(),
+                        "Invalid email format"));
+            }
+        }
+        return new ValidationReport(recipients.size(), failures);
+    }
+
+    /**
+     * Checks every phone number of a list and reports all the invalid ones by index.
+     */
+    public static ValidationReport validatePhones(List<? extends CharSequence> recipients) {
+        List<ValidationReport.Failure> failures = new ArrayList<>();
+        for (int i = 0; i < recipients.size(); i++) {
+            CharSequence recipient = recipients.get(i);
+            if (!isE164(recipient)) {
+                failures.add(new ValidationReport.Failure(i, recipient == null ? null : recipient.toString(),
+                        "Invalid phone number format. Expected E.164 format (e.g., +1234567890)"));
+            }
+        }
+        return new ValidationReport(recipients.size(), failures);
+    }
+
+    private static boolean isAsciiAlphanumeric(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9');
+    }
+}
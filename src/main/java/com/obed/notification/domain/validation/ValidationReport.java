@@ -0,0 +1,28 @@
+package com.obed.notification.domain.validation;
+
+import java.util.List;
+
+/**
+ * Outcome of validating a whole recipient list.
+ *
+ * @param checked  how many recipients were checked
+ * @param failures the invalid ones, in list order
+ */
+public record ValidationReport(
+        int checked,
+        List<Failure> failures
+) {
+    public ValidationReport {
+        failures = List.copyOf(failures);
+    }
+
+    public boolean isValid() {
+        return failures.isEmpty();
+    }
+
+    /**
+     * @param index position of the recipient in the validated list
+     */
+    public record Failure(int index, String value, String reason) {
+    }
+}
@@ -0,0 +1,18 @@
+package com.obed.notification.metrics;
+
+/**
+ * Distribution of the values recorded by a {@link LatencyHistogram}; latencies are in nanoseconds.
+ */
+public record HistogramSnapshot(
+        long count,
+        long max,
+        double mean,
+        long p50,
+        long p90,
+        long p99,
+        long p999
+) {
+    public static HistogramSnapshot empty() {
+        return new HistogramSnapshot(0, 0, 0, 0, 0, 0, 0);
+    }
+}
@@ -0,0 +1,70 @@
+package com.obed.notification.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Default {@link NotificationMetrics}: {@link LongAdder} counters and {@link LatencyHistogram}s kept in memory, read
+ * through {@link #snapshot()}. Nothing is allocated or locked per send.
+ */
+public final class InMemoryMetrics implements NotificationMetrics {
+    private final Map<Key, ProviderRecorder> recorders = new ConcurrentHashMap<>();
+
+    @Override
+    public Recorder recorder(String provider, String notificationType) {
+        return recorders.computeIfAbsent(new Key(provider, notificationType), k -> new ProviderRecorder());
+    }
+
+    @Override
+    public MetricsSnapshot snapshot() {
+        List<ProviderMetrics> providers = new ArrayList<>(recorders.size());
+        recorders.forEach((key, recorder) -> providers.add(recorder.snapshot(key)));
+        return new MetricsSnapshot(providers);
+    }
+
+    private record Key(String provider, String notificationType) {
+    }
+
+    private static final class ProviderRecorder implements Recorder {
+        private final LongAdder successes = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder validationFailures = new LongAdder();
+        private final LongAdder inFlight = new LongAdder();
+        private final LatencyHistogram sendLatency = new LatencyHistogram();
+        private final LatencyHistogram queueWait = new LatencyHistogram();
+        private final LatencyHistogram batchSize = new LatencyHistogram();
+
+        @Override
+        public void started() {
+            inFlight.increment();
+        }
+
+        @Override
+        public void completed(long latencyNanos, int successes, int failures, int validationFailures) {
+            inFlight.decrement();
+            sendLatency.record(latencyNanos);
+            this.successes.add(successes);
+            this.failures.add(failures);
+            this.validationFailures.add(validationFailures);
+        }
+
+        @Override
+        public void queued(long waitNanos) {
+            queueWait.record(waitNanos);
+        }
+
+        @Override
+        public void batch(int size) {
+            batchSize.record(size);
+        }
+
+        private ProviderMetrics snapshot(Key key) {
+            return new ProviderMetrics(key.provider(), key.notificationType(), successes.sum(), failures.sum(),
+                    validationFailures.sum(), inFlight.sum(), sendLatency.snapshot(), queueWait.snapshot(),
+                    batchSize.snapshot());
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.obed.notification.metrics;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Point-in-time view of a {@link NotificationMetrics}, one entry per provider and notification type.
+ */
+public record MetricsSnapshot(List<ProviderMetrics> providers) {
+
+    public static MetricsSnapshot empty() {
+        return new MetricsSnapshot(List.of());
+    }
+
+    public Optional<ProviderMetrics> provider(String provider, String notificationType) {
+        return providers.stream()
+                .filter(p -> p.provider().equals(provider) && p.notificationType().equals(notificationType))
+                .findFirst();
+    }
+}
@@ -0,0 +1,26 @@
+package com.obed.notification.metrics;
+
+enum NoopMetrics implements NotificationMetrics, NotificationMetrics.Recorder {
+    INSTANCE;
+
+    @Override
+    public Recorder recorder(String provider, String notificationType) {
+        return this;
+    }
+
+    @Override
+    public void started() {
+    }
+
+    @Override
+    public void completed(long latencyNanos, int successes, int failures, int validationFailures) {
+    }
+
+    @Override
+    public void queued(long waitNanos) {
+    }
+
+    @Override
+    public void batch(int size) {
+    }
+}
@@ -0,0 +1,49 @@
+package com.obed.notification.metrics;
+
+/**
+ * Metrics SPI of the dispatch path. The client asks for one {@link Recorder} per registered provider when it is
+ * built and then only talks to that recorder, so implementations can resolve tags and meters up front and keep the
+ * per-send calls to plain counter updates.
+ */
+public interface NotificationMetrics {
+
+    Recorder recorder(String provider, String notificationType);
+
+    /**
+     * Current values of everything recorded so far. Implementations that export elsewhere may return an empty
+     * snapshot.
+     */
+    default MetricsSnapshot snapshot() {
+        return MetricsSnapshot.empty();
+    }
+
+    static NotificationMetrics noop() {
+        return NoopMetrics.INSTANCE;
+    }
+
+    /**
+     * Receives the events of one provider. Called concurrently from the executor threads; must not block.
+     */
+    interface Recorder {
+
+        /**
+         * A send to the provider is about to start; every call is followed by exactly one {@link #completed}.
+         */
+        void started();
+
+        /**
+         * A provider call finished after {@code latencyNanos}, with the given outcome per notification.
+         */
+        void completed(long latencyNanos, int successes, int failures, int validationFailures);
+
+        /**
+         * A provider call waited {@code waitNanos} in the executor queue before it started running.
+         */
+        void queued(long waitNanos);
+
+        /**
+         * A batch of {@code size} notifications was handed to the provider in one call.
+         */
+        void batch(int size);
+    }
+}
@@ -0,0 +1,25 @@
+package com.obed.notification.metrics;
+
+/**
+ * Everything recorded for one provider and notification type.
+ *
+ * @param successes          notifications the provider accepted
+ * @param failures           notifications that failed for any reason other than validation
+ * @param validationFailures notifications rejected as invalid
+ * @param inFlight           provider calls currently running
+ * @param sendLatency        duration of each provider call, in nanoseconds
+ * @param queueWait          time each provider call waited for an executor thread, in nanoseconds
+ * @param batchSize          notifications per batch call
+ */
+public record ProviderMetrics(
+        String provider,
+        String notificationType,
+        long successes,
+        long failures,
+        long validationFailures,
+        long inFlight,
+        HistogramSnapshot sendLatency,
+        HistogramSnapshot queueWait,
+        HistogramSnapshot batchSize
+) {
+}
@@ -0,0 +1,359 @@
+package com.obed.notification.outbox;
+
+import com.obed.notification.codec.NotificationCodec;
+import com.obed.notification.domain.model.Notification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Append-only log of notifications that have been accepted but not yet delivered, split into memory-mapped
+ * segments. Appends complete once their record is on disk; a single committer thread forces everything appended
+ * since its previous pass, so all appends that arrive while an fsync is running share the next one. Acknowledgements
+ * are appended without waiting and become durable with the next commit, which at worst means a delivered
+ * notification is sent again after a crash. Segments are deleted from the oldest one forward once every record in
+ * them has been acknowledged.
+ */
+public final class Outbox implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(Outbox.class);
+    private static final byte RECORD = 1;
+    private static final byte ACK = 2;
+    private static final byte[] NO_PAYLOAD = new byte[0];
+
+    /**
+     * A notification found unacknowledged in the log when the outbox was opened.
+     */
+    public record Entry(long id, Notification notification) {
+    }
+
+    private final Path directory;
+    private final int segmentSize;
+    private final List<Segment> segments;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition commitRequested = lock.newCondition();
+    private final Thread committer;
+    private List<Commit<?>> waiting = new ArrayList<>();
+    private List<Entry> recovered;
+    private Segment active;
+    private long nextId;
+    private boolean closed;
+
+    private Outbox(Path directory, int segmentSize, List<Segment> segments, List<Entry> recovered, long nextId)
+            throws IOException {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.segments = segments;
+        this.recovered = recovered;
+        this.nextId = nextId;
+        if (segments.isEmpty()) {
+            segments.add(Segment.create(directory, 0, nextId, segmentSize));
+        }
+        this.active = segments.getLast();
+        compact();
+
+        this.committer = new Thread(this::commitLoop, "notification-outbox");
+        committer.setDaemon(true);
+        committer.start();
+    }
+
+    /**
+     * Opens the outbox in the configured directory and reads back every record that was never acknowledged.
+     */
+    public static Outbox open(OutboxOptions options) {
+        try {
+            Files.createDirectories(options.directory());
+            List<Path> files;
+            try (Stream<Path> listing = Files.list(options.directory())) {
+                files = listing.filter(p -> p.getFileName().toString().endsWith(".log")).sorted().toList();
+            }
+
+            List<Segment> segments = new ArrayList<>(files.size());
+            Map<Long, Segment> owners = new LinkedHashMap<>();
+            Map<Long, Entry> pending = new LinkedHashMap<>();
+            long[] lastId = {0};
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                Segment segment = Segment.open(file, Long.parseLong(name.substring(0, name.length() - 4)));
+                segments.add(segment);
+                // compaction may have left only segments of acknowledgements, or an empty one, so ids handed out
+                // before are also read off acknowledgements and segment headers; reusing one would break owner()
+                lastId[0] = Math.max(lastId[0], segment.firstId - 1);
+                segment.recover((kind, id, payload) -> {
+                    lastId[0] = Math.max(lastId[0], id);
+                    if (kind == RECORD) {
+                        Notification notification = decode(id, payload);
+                        if (notification != null) {
+                            segment.live++;
+                            owners.put(id, segment);
+                            pending.put(id, new Entry(id, notification));
+                        }
+                    } else if (kind == ACK && pending.remove(id) != null) {
+                        owners.remove(id).live--;
+                    }
+                });
+            }
+            if (!pending.isEmpty()) {
+                log.info("[Outbox] Recovered {} unacknowledged notifications from {}", pending.size(), options.directory());
+            }
+            return new Outbox(options.directory(), options.segmentSize(), segments,
+                    new ArrayList<>(pending.values()), lastId[0] + 1);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open outbox in " + options.directory(), e);
+        }
+    }
+
+    /**
+     * Returns the entries recovered on open, oldest first. They are handed out only once.
+     */
+    public List<Entry> recovered() {
+        lock.lock();
+        try {
+            List<Entry> entries = recovered;
+            recovered = List.of();
+            return entries;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Appends the notification and completes with its id once the record is durable. A notification that cannot be
+     * encoded fails the future too.
+     */
+    public CompletableFuture<Long> append(Notification notification) {
+        CompletableFuture<Long> future = new CompletableFuture<>();
+        try {
+            // encoded before taking the lock, so appends only contend on the copy into the segment
+            byte[] payload = encode(notification);
+            lock.lock();
+            try {
+                ensureOpen();
+                long id = appendRecord(RECORD, nextId, payload);
+                nextId++;
+                active.live++;
+                waitForCommit(new Commit<>(future, id));
+            } finally {
+                lock.unlock();
+            }
+        } catch (IOException | RuntimeException e) {
+            future.completeExceptionally(e instanceof IOException io ? new UncheckedIOException(io) : e);
+        }
+        return future;
+    }
+
+    /**
+     * Appends all notifications under one commit and completes with their ids, in order. If any of them cannot be
+     * encoded, none is appended.
+     */
+    public CompletableFuture<long[]> appendAll(List<? extends Notification> notifications) {
+        CompletableFuture<long[]> future = new CompletableFuture<>();
+        try {
+            byte[][] payloads = new byte[notifications.size()][];
+            for (int i = 0; i < payloads.length; i++) {
+                payloads[i] = encode(notifications.get(i));
+            }
+            lock.lock();
+            try {
+                ensureOpen();
+                long[] ids = new long[payloads.length];
+                for (int i = 0; i < payloads.length; i++) {
+                    ids[i] = appendRecord(RECORD, nextId, payloads[i]);
+                    nextId++;
+                    active.live++;
+                }
+                waitForCommit(new Commit<>(future, ids));
+            } finally {
+                lock.unlock();
+            }
+        } catch (IOException | RuntimeException e) {
+            future.completeExceptionally(e instanceof IOException io ? new UncheckedIOException(io) : e);
+        }
+        return future;
+    }
+
+    /**
+     * Marks the record as delivered. Acknowledgements after {@link #close()} are ignored, so the record is
+     * replayed on the next start.
+     */
+    public void acknowledge(long id) {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            Segment owner = owner(id);
+            appendRecord(ACK, id, NO_PAYLOAD);
+            if (owner != null) {
+                owner.live--;
+                compact();
+            }
+        } catch (IOException e) {
+            log.warn("[Outbox] Could not acknowledge record {}: {}", id, e.getMessage());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Number of segment files currently on disk.
+     */
+    public int segmentCount() {
+        lock.lock();
+        try {
+            return segments.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Commits everything appended so far and closes the segment files.
+     */
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            commitRequested.signal();
+        } finally {
+            lock.unlock();
+        }
+
+        try {
+            committer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (Segment segment : segments) {
+            try {
+                segment.close();
+            } catch (IOException e) {
+                log.warn("[Outbox] Could not close segment {}: {}", segment.sequence, e.getMessage());
+            }
+        }
+    }
+
+    private long appendRecord(byte kind, long id, byte[] payload) throws IOException {
+        if (!active.fits(payload.length)) {
+            active = Segment.create(directory, active.sequence + 1, nextId,
+                    Math.max(segmentSize, Segment.recordSize(payload.length)));
+            segments.add(active);
+        }
+        active.append(kind, id, payload);
+        return id;
+    }
+
+    private void waitForCommit(Commit<?> commit) {
+        waiting.add(commit);
+        if (waiting.size() == 1) {
+            commitRequested.signal();
+        }
+    }
+
+    /**
+     * Records are always in the newest segment created before them.
+     */
+    private Segment owner(long id) {
+        for (int i = segments.size() - 1; i >= 0; i--) {
+            Segment segment = segments.get(i);
+            if (segment.firstId <= id) {
+                return segment.live > 0 ? segment : null;
+            }
+        }
+        return null;
+    }
+
+    private void compact() throws IOException {
+        while (segments.size() > 1 && segments.getFirst() != active && segments.getFirst().live == 0) {
+            segments.removeFirst().delete();
+        }
+    }
+
+    private void commitLoop() {
+        while (true) {
+            List<Commit<?>> batch;
+            List<Segment> dirty = new ArrayList<>();
+            List<int[]> ranges = new ArrayList<>();
+            boolean last;
+            lock.lock();
+            try {
+                while (waiting.isEmpty() && !closed) {
+                    commitRequested.awaitUninterruptibly();
+                }
+                last = closed;
+                batch = waiting;
+                waiting = new ArrayList<>();
+                for (Segment segment : segments) {
+                    if (segment.forced < segment.position) {
+                        dirty.add(segment);
+                        ranges.add(new int[]{segment.forced, segment.position});
+                        segment.forced = segment.position;
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+
+            RuntimeException failure = null;
+            for (int i = 0; i < dirty.size(); i++) {
+                try {
+                    dirty.get(i).force(ranges.get(i)[0], ranges.get(i)[1]);
+                } catch (RuntimeException e) {
+                    failure = e;
+                }
+            }
+            for (Commit<?> commit : batch) {
+                commit.complete(failure);
+            }
+            if (last) {
+                return;
+            }
+        }
+    }
+
+    private void ensureOpen() {
+        if (closed)
+            throw new IllegalStateException("Outbox is closed");
+    }
+
+    private static byte[] encode(Notification notification) {
+        byte[] payload = new byte[NotificationCodec.encodedSize(notification)];
+        NotificationCodec.encode(notification, ByteBuffer.wrap(payload));
+        return payload;
+    }
+
+    private static Notification decode(long id, ByteBuffer payload) {
+        try {
+            return NotificationCodec.decode(payload);
+        } catch (RuntimeException e) {
+            log.warn("[Outbox] Dropping unreadable record {}: {}", id, e.getMessage());
+            return null;
+        }
+    }
+
+    private record Commit<T>(CompletableFuture<T> future, T value) {
+        void complete(RuntimeException failure) {
+            if (failure == null) {
+                future.complete(value);
+            } else {
+                future.completeExceptionally(failure);
+            }
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.obed.notification.outbox;
+
+import java.nio.file.Path;
+
+/**
+ * Settings for the durable outbox enabled with {@code NotificationClient.Builder#withOutbox}.
+ *
+ * @param directory   where the log segments are kept; created if missing
+ * @param segmentSize size in bytes of each memory-mapped segment file
+ */
+public record OutboxOptions(
+        Path directory,
+        int segmentSize
+) {
+    public OutboxOptions {
+        if (directory == null)
+            throw new IllegalArgumentException("directory cannot be null");
+
+        if (segmentSize < 4096)
+            throw new IllegalArgumentException("segmentSize must be at least 4096 bytes");
+    }
+
+    public static OutboxOptions in(Path directory) {
+        return new OutboxOptions(directory, 64 * 1024 * 1024);
+    }
+
+    public OutboxOptions withSegmentSize(int segmentSize) {
+        return new OutboxOptions(directory, segmentSize);
+    }
+}
@@ -0,0 +1,118 @@
+package com.obed.notification.outbox;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+/**
+ * One memory-mapped file of the outbox log. The file starts with the id of the first record it may hold, followed
+ * by records laid out as {@code [length][crc32c][kind][id][payload]}, where length and crc cover everything after
+ * the crc. Unwritten space is zero-filled, so a zero length marks the end; a record whose crc does not match was
+ * torn by a crash and ends the segment as well. Guarded by the outbox lock.
+ */
+final class Segment {
+    private static final int FILE_HEADER = Long.BYTES;
+    private static final int RECORD_HEADER = Integer.BYTES * 2;
+    private static final int BODY_HEADER = 1 + Long.BYTES;
+
+    @FunctionalInterface
+    interface RecordVisitor {
+        void visit(byte kind, long id, ByteBuffer payload);
+    }
+
+    final long sequence;
+    final long firstId;
+    private final Path path;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final CRC32C crc = new CRC32C();
+    int position = FILE_HEADER;
+    int forced = FILE_HEADER;
+    int live;
+
+    private Segment(long sequence, long firstId, Path path, FileChannel channel, MappedByteBuffer buffer) {
+        this.sequence = sequence;
+        this.firstId = firstId;
+        this.path = path;
+        this.channel = channel;
+        this.buffer = buffer;
+    }
+
+    static Segment create(Path directory, long sequence, long firstId, int size) throws IOException {
+        Path path = directory.resolve(String.format("%020d.log", sequence));
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        buffer.putLong(0, firstId);
+        buffer.force(0, FILE_HEADER);
+        return new Segment(sequence, firstId, path, channel, buffer);
+    }
+
+    static Segment open(Path path, long sequence) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+        return new Segment(sequence, buffer.getLong(0), path, channel, buffer);
+    }
+
+    static int recordSize(int payloadLength) {
+        return FILE_HEADER + RECORD_HEADER + BODY_HEADER + payloadLength;
+    }
+
+    /**
+     * Visits every intact record and leaves the segment positioned after the last one.
+     */
+    void recover(RecordVisitor visitor) {
+        int limit = buffer.capacity();
+        while (position + RECORD_HEADER + BODY_HEADER <= limit) {
+            int length = buffer.getInt(position);
+            if (length < BODY_HEADER || position + RECORD_HEADER + length > limit) {
+                break;
+            }
+            int body = position + RECORD_HEADER;
+            crc.reset();
+            crc.update(buffer.slice(body, length));
+            if ((int) crc.getValue() != buffer.getInt(position + Integer.BYTES)) {
+                break;
+            }
+            visitor.visit(buffer.get(body), buffer.getLong(body + 1),
+                    buffer.slice(body + BODY_HEADER, length - BODY_HEADER));
+            position = body + length;
+        }
+        forced = position;
+    }
+
+    boolean fits(int payloadLength) {
+        return position + RECORD_HEADER + BODY_HEADER + payloadLength <= buffer.capacity();
+    }
+
+    void append(byte kind, long id, byte[] payload) {
+        int body = position + RECORD_HEADER;
+        int length = BODY_HEADER + payload.length;
+        buffer.put(body, kind);
+        buffer.putLong(body + 1, id);
+        buffer.put(body + BODY_HEADER, payload);
+        crc.reset();
+        crc.update(buffer.slice(body, length));
+        buffer.putInt(position + Integer.BYTES, (int) crc.getValue());
+        buffer.putInt(position, length);
+        position = body + length;
+    }
+
+    void force(int from, int to) {
+        buffer.force(from, to - from);
+    }
+
+    void close() throws IOException {
+        channel.close();
+    }
+
+    void delete() throws IOException {
+        channel.close();
+        Files.deleteIfExists(path);
+    }
+}
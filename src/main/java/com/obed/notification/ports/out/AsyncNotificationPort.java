@@ -0,0 +1,66 @@
+package com.obed.notification.ports.out;
+
+import com.obed.notification.domain.exception.DeliveryException;
+import com.obed.notification.domain.model.Notification;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * A provider whose calls complete asynchronously, typically on a non-blocking HTTP client, so an in-flight request
+ * does not hold a thread. The returned futures complete exceptionally with the same exceptions {@link #send}
+ * would throw.
+ */
+public interface AsyncNotificationPort<T extends Notification> extends NotificationPort<T> {
+    CompletableFuture<Void> sendAsync(T notification);
+
+    /**
+     * Sends several notifications and completes with exactly one result per input, in input order. The default
+     * starts every {@link #sendAsync} at once and never completes exceptionally.
+     */
+    default CompletableFuture<List<SendResult>> sendBatchAsync(List<T> notifications) {
+        SendResult[] results = new SendResult[notifications.size()];
+        List<CompletableFuture<Void>> calls = new ArrayList<>(notifications.size());
+        for (int i = 0; i < notifications.size(); i++) {
+            T notification = notifications.get(i);
+            int index = i;
+            CompletableFuture<Void> call;
+            try {
+                call = sendAsync(notification);
+            } catch (RuntimeException e) {
+                call = CompletableFuture.failedFuture(e);
+            }
+            calls.add(call.handle((ignored, error) -> {
+                results[index] = error == null
+                        ? SendResult.success(notification)
+                        : SendResult.failure(notification, unwrap(error));
+                return null;
+            }));
+        }
+        return CompletableFuture.allOf(calls.toArray(new CompletableFuture[0]))
+                .thenApply(ignored -> Arrays.asList(results));
+    }
+
+    @Override
+    default void send(T notification) {
+        try {
+            sendAsync(notification).join();
+        } catch (CompletionException e) {
+            Exception cause = unwrap(e);
+            throw cause instanceof RuntimeException runtime ? runtime : new DeliveryException(cause.getMessage(), cause);
+        }
+    }
+
+    @Override
+    default List<SendResult> sendBatch(List<T> notifications) {
+        return sendBatchAsync(notifications).join();
+    }
+
+    private static Exception unwrap(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        return cause instanceof Exception e ? e : new CompletionException(cause);
+    }
+}
@@ -2,8 +2,35 @@ package com.obed.notification.ports.out;
 
 import com.obed.notification.domain.model.Notification;
 
+import java.util.ArrayList;
+import java.util.List;
+
 public interface NotificationPort<T extends Notification> {
     void send(T notification);
 
     Class<T> supports();
+
+    /**
+     * Prepares the provider for its first send, e.g. by opening a connection to its API. Called once when the
+     * client is built with warm-up enabled; a failure is logged and does not fail the build. Does nothing by default.
+     */
+    default void warmUp() {
+    }
+
+    /**
+     * Sends several notifications, ideally in a single provider call. Implementations must return
+     * exactly one result per input, in input order. The default simply loops over {@link #send}.
+     */
+    default List<SendResult> sendBatch(List<T> notifications) {
+        List<SendResult> results = new ArrayList<>(notifications.size());
+        for (T notification : notifications) {
+            try {
+                send(notification);
+                results.add(SendResult.success(notification));
+            } catch (Exception e) {
+                results.add(SendResult.failure(notification, e));
+            }
+        }
+        return results;
+    }
 }
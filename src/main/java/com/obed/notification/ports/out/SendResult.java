@@ -0,0 +1,20 @@
+package com.obed.notification.ports.out;
+
+import com.obed.notification.domain.model.Notification;
+
+public record SendResult(
+        Notification notification,
+        Exception error
+) {
+    public static SendResult success(Notification notification) {
+        return new SendResult(notification, null);
+    }
+
+    public static SendResult failure(Notification notification, Exception error) {
+        return new SendResult(notification, error);
+    }
+
+    public boolean isSuccess() {
+        return error == null;
+    }
+}
@@ -0,0 +1,35 @@
+package com.obed.notification.resilience;
+
+import java.time.Duration;
+
+/**
+ * Settings for {@link AdaptiveConcurrencyLimiter}.
+ *
+ * @param initialLimit     concurrency limit to start from
+ * @param minLimit         the limit never drops below this
+ * @param maxLimit         the limit never grows above this
+ * @param latencyThreshold sends slower than this count as congestion
+ * @param backoffRatio     factor applied to the limit on congestion or throttling, between 0 and 1
+ */
+public record AdaptiveConcurrency(
+        int initialLimit,
+        int minLimit,
+        int maxLimit,
+        Duration latencyThreshold,
+        double backoffRatio
+) {
+    public AdaptiveConcurrency {
+        if (minLimit < 1 || maxLimit < minLimit || initialLimit < minLimit || initialLimit > maxLimit)
+            throw new IllegalArgumentException("Limits must satisfy 1 <= minLimit <= initialLimit <= maxLimit");
+
+        if (latencyThreshold == null || latencyThreshold.isNegative() || latencyThreshold.isZero())
+            throw new IllegalArgumentException("latencyThreshold must be positive");
+
+        if (!(backoffRatio > 0 && backoffRatio < 1))
+            throw new IllegalArgumentException("backoffRatio must be between 0 and 1");
+    }
+
+    public static AdaptiveConcurrency defaults() {
+        return new AdaptiveConcurrency(10, 1, 200, Duration.ofSeconds(2), 0.5);
+    }
+}
@@ -0,0 +1,83 @@
+package com.obed.notification.resilience;
+
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * AIMD concurrency limit: every send that completes under the latency threshold grows the limit by
+ * {@code 1 / limit} (about one per round trip), and every slow or throttled send multiplies it by the backoff ratio.
+ * {@link #acquire} parks the caller until a slot is free; callers that must not block use {@link #tryAcquire} and
+ * retry once another send has released its slot.
+ */
+public final class AdaptiveConcurrencyLimiter {
+    private final AdaptiveConcurrency settings;
+    private final long latencyThresholdNanos;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition slotFreed = lock.newCondition();
+    private double limit;
+    private int inFlight;
+
+    public AdaptiveConcurrencyLimiter(AdaptiveConcurrency settings) {
+        this.settings = settings;
+        this.latencyThresholdNanos = settings.latencyThreshold().toNanos();
+        this.limit = settings.initialLimit();
+    }
+
+    public void acquire() throws InterruptedException {
+        lock.lock();
+        try {
+            while (inFlight >= (int) limit) {
+                slotFreed.await();
+            }
+            inFlight++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean tryAcquire() {
+        lock.lock();
+        try {
+            if (inFlight >= (int) limit) {
+                return false;
+            }
+            inFlight++;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void release(long latencyNanos, boolean throttled) {
+        lock.lock();
+        try {
+            inFlight--;
+            if (throttled || latencyNanos > latencyThresholdNanos) {
+                limit = Math.max(settings.minLimit(), limit * settings.backoffRatio());
+            } else {
+                limit = Math.min(settings.maxLimit(), limit + 1.0 / limit);
+            }
+            slotFreed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int limit() {
+        lock.lock();
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int inFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
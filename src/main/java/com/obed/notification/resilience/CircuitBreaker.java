@@ -0,0 +1,145 @@
+package com.obed.notification.resilience;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Closed / open / half-open breaker over a count-based sliding window of call outcomes. Every path is a handful of
+ * atomic operations, so checking the breaker costs nothing next to the provider call it guards.
+ * Callers must report every permitted call through {@link #onSuccess}, {@link #onFailure} or
+ * {@link #releasePermission}, otherwise a half-open circuit runs out of probes.
+ */
+public final class CircuitBreaker {
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final CircuitBreakerPolicy policy;
+    private final Ticker ticker;
+    private final long openNanos;
+    private final AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
+    private final AtomicInteger probes = new AtomicInteger();
+    private final AtomicInteger probeSuccesses = new AtomicInteger();
+    private volatile long openedAt;
+    private volatile Window window;
+
+    public CircuitBreaker(CircuitBreakerPolicy policy, Ticker ticker) {
+        this.policy = policy;
+        this.ticker = ticker;
+        this.openNanos = policy.openDuration().toNanos();
+        this.window = new Window(policy.slidingWindowSize());
+    }
+
+    public boolean tryAcquirePermission() {
+        return switch (state.get()) {
+            case CLOSED -> true;
+            case OPEN -> {
+                if (ticker.read() - openedAt < openNanos) {
+                    yield false;
+                }
+                if (state.compareAndSet(State.OPEN, State.HALF_OPEN)) {
+                    probeSuccesses.set(0);
+                    probes.set(policy.halfOpenCalls());
+                }
+                yield tryAcquireProbe();
+            }
+            case HALF_OPEN -> tryAcquireProbe();
+        };
+    }
+
+    public void onSuccess() {
+        switch (state.get()) {
+            case CLOSED -> window.record(0);
+            case HALF_OPEN -> {
+                if (probeSuccesses.incrementAndGet() >= policy.halfOpenCalls()
+                        && state.compareAndSet(State.HALF_OPEN, State.CLOSED)) {
+                    window = new Window(policy.slidingWindowSize());
+                }
+            }
+            case OPEN -> { }
+        }
+    }
+
+    public void onFailure() {
+        switch (state.get()) {
+            case CLOSED -> {
+                Window current = window;
+                current.record(1);
+                int calls = current.calls.get();
+                if (calls >= policy.minimumCalls() && current.failures.get() >= policy.failureRateThreshold() * calls) {
+                    trip(State.CLOSED);
+                }
+            }
+            case HALF_OPEN -> trip(State.HALF_OPEN);
+            case OPEN -> { }
+        }
+    }
+
+    /**
+     * Gives back a permission for a call that never reached the provider.
+     */
+    public void releasePermission() {
+        if (state.get() == State.HALF_OPEN) {
+            probes.incrementAndGet();
+        }
+    }
+
+    public State state() {
+        return state.get();
+    }
+
+    public double failureRate() {
+        Window current = window;
+        int calls = current.calls.get();
+        return calls == 0 ? 0 : (double) current.failures.get() / calls;
+    }
+
+    private boolean tryAcquireProbe() {
+        while (true) {
+            int available = probes.get();
+            if (available <= 0) {
+                return false;
+            }
+            if (probes.compareAndSet(available, available - 1)) {
+                return true;
+            }
+        }
+    }
+
+    private void trip(State from) {
+        // Publish the timestamp first so nobody sees OPEN together with a stale openedAt
+        openedAt = ticker.read();
+        state.compareAndSet(from, State.OPEN);
+    }
+
+    /**
+     * Ring of the last outcomes (1 = failure, 0 = success) with running totals. Closing the circuit swaps in a fresh
+     * window instead of clearing this one, so late writers can never corrupt the counts of the new one.
+     */
+    private static final class Window {
+        private static final int EMPTY = -1;
+
+        private final AtomicIntegerArray outcomes;
+        private final AtomicLong cursor = new AtomicLong();
+        private final AtomicInteger calls = new AtomicInteger();
+        private final AtomicInteger failures = new AtomicInteger();
+
+        private Window(int size) {
+            this.outcomes = new AtomicIntegerArray(size);
+            for (int i = 0; i < size; i++) {
+                outcomes.set(i, EMPTY);
+            }
+        }
+
+        private void record(int outcome) {
+            int slot = (int) (cursor.getAndIncrement() % outcomes.length());
+            int previous = outcomes.getAndSet(slot, outcome);
+            if (previous == EMPTY) {
+                calls.incrementAndGet();
+            } else {
+                failures.addAndGet(-previous);
+            }
+            failures.addAndGet(outcome);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.obed.notification.resilience;
+
+import java.time.Duration;
+
+/**
+ * Settings for {@link CircuitBreaker}.
+ *
+ * @param failureRateThreshold fraction of failed calls in the window that opens the circuit, between 0 and 1
+ * @param slidingWindowSize    number of most recent calls the failure rate is computed over
+ * @param minimumCalls         the circuit never opens before this many calls have been recorded
+ * @param openDuration         how long the circuit rejects calls before letting probes through
+ * @param halfOpenCalls        probe calls allowed while half-open; all of them must succeed to close the circuit
+ */
+public record CircuitBreakerPolicy(
+        double failureRateThreshold,
+        int slidingWindowSize,
+        int minimumCalls,
+        Duration openDuration,
+        int halfOpenCalls
+) {
+    public CircuitBreakerPolicy {
+        if (!(failureRateThreshold > 0 && failureRateThreshold <= 1))
+            throw new IllegalArgumentException("failureRateThreshold must be greater than 0 and at most 1");
+
+        if (slidingWindowSize < 1 || minimumCalls < 1 || minimumCalls > slidingWindowSize)
+            throw new IllegalArgumentException("Window must satisfy 1 <= minimumCalls <= slidingWindowSize");
+
+        if (openDuration == null || openDuration.isNegative() || openDuration.isZero())
+            throw new IllegalArgumentException("openDuration must be positive");
+
+        if (halfOpenCalls < 1)
+            throw new IllegalArgumentException("halfOpenCalls must be at least 1");
+    }
+
+    public static CircuitBreakerPolicy defaults() {
+        return new CircuitBreakerPolicy(0.5, 100, 20, Duration.ofSeconds(30), 5);
+    }
+}
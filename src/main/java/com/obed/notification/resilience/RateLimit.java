@@ -0,0 +1,22 @@
+package com.obed.notification.resilience;
+
+/**
+ * @param permitsPerSecond sustained number of notifications per second
+ * @param burst            notifications that may go out back to back after the provider has been idle
+ */
+public record RateLimit(
+        double permitsPerSecond,
+        int burst
+) {
+    public RateLimit {
+        if (!(permitsPerSecond > 0))
+            throw new IllegalArgumentException("permitsPerSecond must be positive");
+
+        if (burst < 1)
+            throw new IllegalArgumentException("burst must be at least 1");
+    }
+
+    public static RateLimit perSecond(double permitsPerSecond) {
+        return new RateLimit(permitsPerSecond, Math.max(1, (int) permitsPerSecond));
+    }
+}
@@ -0,0 +1,81 @@
+package com.obed.notification.resilience;
+
+import com.obed.notification.domain.exception.CircuitOpenException;
+import com.obed.notification.domain.exception.DeliveryException;
+import com.obed.notification.domain.exception.QueueFullException;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Predicate;
+
+/**
+ * How failed sends are retried.
+ *
+ * @param maxAttempts    total attempts including the first one; {@code 1} disables retries
+ * @param initialBackoff delay before the second attempt
+ * @param maxBackoff     upper bound for any single delay
+ * @param multiplier     growth factor of the delay between consecutive attempts
+ * @param jitter         fraction of each delay that is randomised, between 0 (none) and 1 (full jitter)
+ * @param retryOn        decides which failures are worth another attempt
+ */
+public record RetryPolicy(
+        int maxAttempts,
+        Duration initialBackoff,
+        Duration maxBackoff,
+        double multiplier,
+        double jitter,
+        Predicate<Throwable> retryOn
+) {
+    public RetryPolicy {
+        if (maxAttempts < 1)
+            throw new IllegalArgumentException("maxAttempts must be at least 1");
+
+        if (initialBackoff == null || initialBackoff.isNegative() || maxBackoff == null || maxBackoff.compareTo(initialBackoff) < 0)
+            throw new IllegalArgumentException("Backoffs must satisfy 0 <= initialBackoff <= maxBackoff");
+
+        if (multiplier < 1)
+            throw new IllegalArgumentException("multiplier must be at least 1");
+
+        if (jitter < 0 || jitter > 1)
+            throw new IllegalArgumentException("jitter must be between 0 and 1");
+
+        if (retryOn == null)
+            throw new IllegalArgumentException("retryOn cannot be null");
+    }
+
+    public static RetryPolicy none() {
+        return new RetryPolicy(1, Duration.ZERO, Duration.ZERO, 1, 0, RetryPolicy::isTransient);
+    }
+
+    public static RetryPolicy exponential(int maxAttempts, Duration initialBackoff, Duration maxBackoff) {
+        return new RetryPolicy(maxAttempts, initialBackoff, maxBackoff, 2, 0.5, RetryPolicy::isTransient);
+    }
+
+    public RetryPolicy withJitter(double jitter) {
+        return new RetryPolicy(maxAttempts, initialBackoff, maxBackoff, multiplier, jitter, retryOn);
+    }
+
+    public RetryPolicy withRetryOn(Predicate<Throwable> retryOn) {
+        return new RetryPolicy(maxAttempts, initialBackoff, maxBackoff, multiplier, jitter, retryOn);
+    }
+
+    /**
+     * Delivery failures are transient unless the notification was refused locally, by a full dispatch queue or
+     * because every provider's circuit is open. Validation failures are never retried since the same input would
+     * fail again.
+     */
+    public static boolean isTransient(Throwable error) {
+        return error instanceof DeliveryException
+                && !(error instanceof QueueFullException)
+                && !(error instanceof CircuitOpenException);
+    }
+
+    public boolean shouldRetry(Throwable error, int attempt) {
+        return attempt < maxAttempts && retryOn.test(error);
+    }
+
+    public long backoffNanos(int attempt) {
+        double base = Math.min(maxBackoff.toNanos(), initialBackoff.toNanos() * Math.pow(multiplier, attempt - 1));
+        return (long) (base * (1 - jitter * ThreadLocalRandom.current().nextDouble()));
+    }
+}
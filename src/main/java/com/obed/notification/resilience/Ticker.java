@@ -0,0 +1,13 @@
+package com.obed.notification.resilience;
+
+/**
+ * Monotonic time source in nanoseconds, replaceable in tests.
+ */
+@FunctionalInterface
+public interface Ticker {
+    long read();
+
+    static Ticker system() {
+        return System::nanoTime;
+    }
+}
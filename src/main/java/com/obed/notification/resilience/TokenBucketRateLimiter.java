@@ -0,0 +1,56 @@
+package com.obed.notification.resilience;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket, implemented as a generic cell rate algorithm: the only state is the time at which the
+ * bucket will next be full, so taking permits is a single CAS. Callers never sleep here; {@link #reserve} tells
+ * them how long to wait and the caller decides how to wait without holding a thread.
+ */
+public final class TokenBucketRateLimiter {
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final Ticker ticker;
+    private final AtomicLong nextFreeAt;
+
+    public TokenBucketRateLimiter(RateLimit rateLimit, Ticker ticker) {
+        this.intervalNanos = Math.max(1, (long) (1_000_000_000L / rateLimit.permitsPerSecond()));
+        this.burstNanos = intervalNanos * rateLimit.burst();
+        this.ticker = ticker;
+        this.nextFreeAt = new AtomicLong(ticker.read());
+    }
+
+    /**
+     * Takes {@code permits} permits, possibly from the future, and returns how many nanoseconds the caller must
+     * wait before using them ({@code 0} when they are available right away).
+     */
+    public long reserve(int permits) {
+        long cost = intervalNanos * permits;
+        while (true) {
+            long now = ticker.read();
+            long current = nextFreeAt.get();
+            long next = Math.max(current, now) + cost;
+            if (nextFreeAt.compareAndSet(current, next)) {
+                return Math.max(0, next - now - burstNanos);
+            }
+        }
+    }
+
+    /**
+     * Takes {@code permits} permits only if they are available right now.
+     */
+    public boolean tryAcquire(int permits) {
+        long cost = intervalNanos * permits;
+        while (true) {
+            long now = ticker.read();
+            long current = nextFreeAt.get();
+            long next = Math.max(current, now) + cost;
+            if (next - now > burstNanos) {
+                return false;
+            }
+            if (nextFreeAt.compareAndSet(current, next)) {
+                return true;
+            }
+        }
+    }
+}
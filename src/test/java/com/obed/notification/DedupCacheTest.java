@@ -0,0 +1,72 @@
+package com.obed.notification;
+
+import com.obed.notification.domain.model.PushNotification;
+import com.obed.notification.domain.model.SmsNotification;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DedupCacheTest {
+    private final AtomicLong now = new AtomicLong();
+
+    @Test
+    @DisplayName("A key must be a duplicate within its ttl and new again once it expires")
+    void shouldExpireKeysAfterTtl() {
+        var cache = new DedupCache(DeduplicationOptions.defaults().withTtl(Duration.ofSeconds(10)), now::get);
+
+        assertTrue(cache.claim("otp-1"));
+        now.addAndGet(Duration.ofSeconds(9).toNanos());
+        assertFalse(cache.claim("otp-1"));
+        now.addAndGet(Duration.ofSeconds(2).toNanos());
+        assertTrue(cache.claim("otp-1"));
+
+        DeduplicationStats stats = cache.stats();
+        assertEquals(1, stats.hits());
+        assertEquals(2, stats.misses());
+    }
+
+    @Test
+    @DisplayName("The cache must never hold more than maxEntries keys, evicting the oldest first")
+    void shouldBoundSize() {
+        var cache = new DedupCache(DeduplicationOptions.defaults().withMaxEntries(64), now::get);
+
+        for (int i = 0; i < 10_000; i++) {
+            cache.claim("key-" + i);
+        }
+
+        assertTrue(cache.stats().size() <= 64);
+        assertTrue(cache.stats().evictions() >= 10_000 - 64);
+        assertTrue(cache.claim("key-0"));
+    }
+
+    @Test
+    @DisplayName("Derived keys must depend on recipient and content only, not on map ordering")
+    void shouldDeriveKeysFromContent() {
+        var cache = new DedupCache(DeduplicationOptions.defaults(), now::get);
+        Map<String, String> data = new LinkedHashMap<>();
+        data.put("a", "1");
+        data.put("b", "2");
+        Map<String, String> reversed = new LinkedHashMap<>();
+        reversed.put("b", "2");
+        reversed.put("a", "1");
+
+        assertEquals(cache.keyOf(new PushNotification("device", "T", "B", data)),
+                cache.keyOf(new PushNotification("device", "T", "B", reversed)));
+        assertNotEquals(cache.keyOf(new SmsNotification("+50588888881", "Hi")),
+                cache.keyOf(new SmsNotification("+50588888882", "Hi")));
+        assertEquals("SmsNotification:otp-1",
+                cache.keyOf(new SmsNotification("+50588888881", "Hi").withIdempotencyKey("otp-1")));
+        assertNull(new DedupCache(DeduplicationOptions.defaults().withDeriveKeys(false), now::get)
+                .keyOf(new SmsNotification("+50588888881", "Hi")));
+    }
+}
@@ -0,0 +1,59 @@
+package com.obed.notification;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DelaySchedulerTest {
+
+    @Test
+    @DisplayName("Items must be handed on once due, earliest deadline first")
+    void shouldReleaseInDeadlineOrder() throws InterruptedException {
+        List<String> released = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(3);
+        var scheduler = new DelayScheduler<String>(item -> {
+            released.add(item);
+            done.countDown();
+        }, "test-scheduler");
+
+        long start = System.nanoTime();
+        scheduler.schedule("late", TimeUnit.MILLISECONDS.toNanos(60));
+        scheduler.schedule("early", TimeUnit.MILLISECONDS.toNanos(20));
+        scheduler.schedule("middle", TimeUnit.MILLISECONDS.toNanos(40));
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(60));
+        assertEquals(List.of("early", "middle", "late"), released);
+        assertEquals(0, scheduler.size());
+        scheduler.close();
+    }
+
+    @Test
+    @DisplayName("Closing must return every pending item in deadline order and refuse new ones")
+    void shouldReturnPendingOnClose() {
+        var scheduler = new DelayScheduler<Integer>(item -> { }, "test-scheduler");
+        List<Integer> seconds = new ArrayList<>(IntStream.range(0, 10_000).boxed().toList());
+        Collections.shuffle(seconds, new Random(42));
+
+        for (int second : seconds) {
+            scheduler.schedule(second, TimeUnit.SECONDS.toNanos(3600 + second));
+        }
+        assertEquals(10_000, scheduler.size());
+
+        List<Integer> pending = scheduler.close();
+        assertEquals(IntStream.range(0, 10_000).boxed().toList(), pending);
+        assertFalse(scheduler.schedule(1, 0));
+    }
+}
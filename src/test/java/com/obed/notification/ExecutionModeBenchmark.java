@@ -0,0 +1,82 @@
+package com.obed.notification;
+
+import com.obed.notification.domain.model.Notification;
+import com.obed.notification.domain.model.SmsNotification;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Messages per second through {@code sendAllAsync} when every provider call blocks for {@code latencyMillis},
+ * comparing the default fixed pool with the virtual-thread mode. The stub has no native batch call, so batches are
+ * kept at one message to measure how many blocking sends each mode keeps in flight.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+public class ExecutionModeBenchmark {
+    private static final int BATCH_SIZE = 1_000;
+
+    public enum ExecutionMode { FIXED_POOL, VIRTUAL_THREADS }
+
+    @Param({"FIXED_POOL", "VIRTUAL_THREADS"})
+    public ExecutionMode mode;
+
+    @Param({"5", "50"})
+    public int latencyMillis;
+
+    @Param({"0", "200"})
+    public int maxConcurrency;
+
+    private ExecutorService executor;
+    private NotificationClient client;
+    private List<Notification> batch;
+
+    @Setup
+    public void setUp() {
+        executor = mode == ExecutionMode.FIXED_POOL
+                ? Executors.newFixedThreadPool(10)
+                : Executors.newVirtualThreadPerTaskExecutor();
+
+        client = NotificationClient.builder()
+                .withExecutor(executor)
+                .registerProvider(new SimulatedLatencyPort<>(SmsNotification.class, latencyMillis, TimeUnit.MILLISECONDS),
+                        ProviderOptions.defaults().withMaxConcurrency(maxConcurrency).withBatchSize(1))
+                .build();
+
+        batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            batch.add(new SmsNotification("+5058888" + String.format("%04d", i), "Benchmark"));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void sendAllAsync() {
+        client.sendAllAsync(batch).join();
+    }
+}
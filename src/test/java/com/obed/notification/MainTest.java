@@ -1,6 +1,8 @@
 package com.obed.notification;
 
+import com.obed.notification.adapters.out.HttpStub;
 import com.obed.notification.adapters.out.fcm.FCMAdapter;
+import com.obed.notification.adapters.out.fcm.FcmConfig;
 import com.obed.notification.adapters.out.sendgrid.SendGridConfig;
 import com.obed.notification.adapters.out.sendgrid.SendGridEmailAdapter;
 import com.obed.notification.adapters.out.twilio.TwilioConfig;
@@ -18,14 +20,16 @@ import java.util.concurrent.Executors;
 class MainTest {
     @Test
     void manualIntegrationTest() {
-        SendGridConfig sendGridConfig = new SendGridConfig("SG.xxxxx", "sender_email@emil.com");
-        TwilioConfig twilioConfig = new TwilioConfig("ACxxxxxxxxxxxxxxxx", "uth_token", "+1234567890");
+        HttpStub providers = new HttpStub().respondWith(202, "{}");
+        SendGridConfig sendGridConfig = new SendGridConfig("SG.xxxxx", "sender_email@emil.com", providers.baseUrl());
+        TwilioConfig twilioConfig = new TwilioConfig("ACxxxxxxxxxxxxxxxx", "uth_token", "+1234567890", providers.baseUrl());
+        FcmConfig fcmConfig = new FcmConfig("my-app", "ya29.xxxxx", providers.baseUrl());
 
         NotificationClient client = NotificationClient.builder()
                 .withExecutor(Executors.newVirtualThreadPerTaskExecutor())
                 .registerProvider(new SendGridEmailAdapter(sendGridConfig))
                 .registerProvider(new TwilioSmsAdapter(twilioConfig))
-                .registerProvider(new FCMAdapter())
+                .registerProvider(new FCMAdapter(fcmConfig))
                 .build();
 
         var email = new EmailNotification("obed@example.com", "Hello World", "This is a test", List.of());
@@ -40,6 +44,17 @@ class MainTest {
         System.out.println("--- Sync Test Completed ---");
 
 
+        System.out.println("\n--- Batch Test ---");
+        client.sendAll(List.of(
+                email,
+                new EmailNotification("ana@example.com", "Hello World", "This is a test", List.of()),
+                sms,
+                push,
+                new PushNotification(UUID.randomUUID().toString(), "Title", "Body",
+                        Map.of("key1", "value1", "key2", "value2"))));
+        System.out.println("--- Batch Test Completed ---");
+
+
         System.out.println("\n--- Async Test ---");
         var errorEmail = new EmailNotification("aasd@gmail.com", "Hello World", "This is a test", List.of());
         client.sendAsync(errorEmail).thenRun(() -> System.out.println("Async Test ---"))
@@ -1,32 +1,61 @@
 package com.obed.notification;
 
+import com.obed.notification.domain.exception.CircuitOpenException;
 import com.obed.notification.domain.exception.DeliveryException;
+import com.obed.notification.domain.exception.QueueFullException;
+import com.obed.notification.domain.exception.RetriesExhaustedException;
+import com.obed.notification.domain.exception.ThrottledException;
 import com.obed.notification.domain.exception.ValidationException;
 import com.obed.notification.domain.model.EmailNotification;
 import com.obed.notification.domain.model.Notification;
 import com.obed.notification.domain.model.PushNotification;
 import com.obed.notification.domain.model.SmsNotification;
+import com.obed.notification.metrics.ProviderMetrics;
+import com.obed.notification.outbox.OutboxOptions;
+import com.obed.notification.ports.out.AsyncNotificationPort;
 import com.obed.notification.ports.out.NotificationPort;
+import com.obed.notification.ports.out.SendResult;
+import com.obed.notification.resilience.CircuitBreakerPolicy;
+import com.obed.notification.resilience.RateLimit;
+import com.obed.notification.resilience.RetryPolicy;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.never;
@@ -49,6 +78,9 @@ class NotificationClientTest {
         lenient().when(emailProvider.supports()).thenReturn(EmailNotification.class);
         lenient().when(smsProvider.supports()).thenReturn(SmsNotification.class);
         lenient().when(pushProvider.supports()).thenReturn(PushNotification.class);
+        lenient().when(emailProvider.sendBatch(any())).thenCallRealMethod();
+        lenient().when(smsProvider.sendBatch(any())).thenCallRealMethod();
+        lenient().when(pushProvider.sendBatch(any())).thenCallRealMethod();
 
         client = NotificationClient.builder()
                 .registerProvider(emailProvider)
@@ -115,6 +147,22 @@ class NotificationClientTest {
             verify(smsProvider, times(1)).send(sms);
             verify(emailProvider, never()).send(any());
         }
+
+        @Test
+        @DisplayName("The first registered provider must win when several support the same type")
+        void shouldRouteToFirstMatchingProvider(@Mock NotificationPort<EmailNotification> backupEmailProvider) {
+            lenient().when(backupEmailProvider.supports()).thenReturn(EmailNotification.class);
+            var routedClient = NotificationClient.builder()
+                    .registerProvider(emailProvider)
+                    .registerProvider(backupEmailProvider)
+                    .build();
+            var email = new EmailNotification("test@test.com", "Sub", "Body", List.of());
+
+            routedClient.send(email);
+
+            verify(emailProvider, times(1)).send(email);
+            verify(backupEmailProvider, never()).send(any());
+        }
     }
 
     @Nested
@@ -170,6 +218,468 @@ class NotificationClientTest {
         }
     }
 
+    @Nested
+    @DisplayName("Execution Mode Tests")
+    class ExecutionModeTests {
+
+        @Test
+        @DisplayName("useVirtualThreads must run each sendAsync on a virtual thread")
+        void shouldSendAsyncOnVirtualThread() {
+            var virtualClient = NotificationClient.builder()
+                    .registerProvider(pushProvider)
+                    .useVirtualThreads()
+                    .build();
+            var push = new PushNotification("token123", "Title", "Body", Collections.emptyMap());
+            var ranOnVirtualThread = new AtomicBoolean();
+            doAnswer(invocation -> {
+                ranOnVirtualThread.set(Thread.currentThread().isVirtual());
+                return null;
+            }).when(pushProvider).send(push);
+
+            virtualClient.sendAsync(push).join();
+
+            assertTrue(ranOnVirtualThread.get());
+        }
+
+        @Test
+        @DisplayName("maxConcurrency must cap the number of sends in flight on a provider")
+        void shouldCapConcurrentSendsPerProvider() {
+            var slowSms = new SimulatedLatencyPort<>(SmsNotification.class, 20, TimeUnit.MILLISECONDS);
+            var cappedClient = NotificationClient.builder()
+                    .registerProvider(slowSms, ProviderOptions.defaults().withMaxConcurrency(2))
+                    .useVirtualThreads()
+                    .build();
+            List<CompletableFuture<Void>> futures = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                futures.add(cappedClient.sendAsync(new SmsNotification("+5058888888" + (i % 10), "Capped")));
+            }
+
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+
+            assertEquals(2, slowSms.maxInFlight());
+        }
+
+        @Test
+        @DisplayName("Sends waiting for a concurrency slot of an async provider must not hold an executor thread")
+        void shouldQueueAsyncSendsWaitingForASlot() throws Exception {
+            List<CompletableFuture<Void>> calls = new CopyOnWriteArrayList<>();
+            AsyncNotificationPort<SmsNotification> asyncSms = new AsyncNotificationPort<>() {
+                @Override
+                public CompletableFuture<Void> sendAsync(SmsNotification notification) {
+                    CompletableFuture<Void> call = new CompletableFuture<>();
+                    calls.add(call);
+                    return call;
+                }
+
+                @Override
+                public Class<SmsNotification> supports() {
+                    return SmsNotification.class;
+                }
+            };
+            var executor = Executors.newSingleThreadExecutor();
+            var cappedClient = NotificationClient.builder()
+                    .registerProvider(asyncSms, ProviderOptions.defaults().withMaxConcurrency(1))
+                    .withExecutor(executor)
+                    .build();
+
+            var first = cappedClient.sendAsync(new SmsNotification("+50588888881", "First"));
+            var second = cappedClient.sendAsync(new SmsNotification("+50588888882", "Second"));
+
+            // the second send waits for the slot, yet the only executor thread is still free
+            assertEquals("free", executor.submit(() -> "free").get(1, TimeUnit.SECONDS));
+            assertEquals(1, calls.size());
+            calls.get(0).complete(null);
+            first.join();
+            while (calls.size() < 2) {
+                Thread.onSpinWait();
+            }
+            calls.get(1).complete(null);
+            assertDoesNotThrow(second::join);
+            executor.shutdown();
+        }
+    }
+
+    @Nested
+    @DisplayName("Rate Limiting Tests")
+    class RateLimitingTests {
+
+        @Test
+        @DisplayName("sendAsync must hold notifications beyond the burst back until the rate limit allows them")
+        void shouldDelayAsyncSendsBeyondBurst() {
+            var limitedClient = NotificationClient.builder()
+                    .registerProvider(smsProvider, ProviderOptions.defaults().withRateLimit(new RateLimit(5, 1)))
+                    .withExecutor(Executors.newSingleThreadExecutor())
+                    .build();
+
+            CompletableFuture<Void> first = limitedClient.sendAsync(new SmsNotification("+50588888881", "Now"));
+            CompletableFuture<Void> second = limitedClient.sendAsync(new SmsNotification("+50588888882", "Later"));
+
+            assertDoesNotThrow(() -> first.get(1, TimeUnit.SECONDS));
+            assertFalse(second.isDone());
+            assertDoesNotThrow(() -> second.get(1, TimeUnit.SECONDS));
+        }
+
+        @Test
+        @DisplayName("Provider throttling must surface as a ThrottledException instead of a generic DeliveryException")
+        void shouldSurfaceThrottling() {
+            var sms = new SmsNotification("+50588888888", "Throttled");
+            doThrow(new ThrottledException("429 Too Many Requests")).when(smsProvider).send(sms);
+
+            assertThrows(ThrottledException.class, () -> client.send(sms));
+        }
+    }
+
+    @Nested
+    @DisplayName("Retry Tests")
+    class RetryTests {
+
+        private NotificationClient retryingClient(int maxAttempts) {
+            return NotificationClient.builder()
+                    .registerProvider(emailProvider)
+                    .registerProvider(smsProvider)
+                    .withExecutor(Executors.newSingleThreadExecutor())
+                    .withRetryPolicy(RetryPolicy.exponential(maxAttempts, Duration.ofMillis(1), Duration.ofMillis(10)))
+                    .build();
+        }
+
+        @Test
+        @DisplayName("sendAsync must retry transient failures and complete once the provider recovers")
+        void shouldRetryUntilSuccess() {
+            var sms = new SmsNotification("+50588888888", "Flaky");
+            doThrow(new RuntimeException("503")).doThrow(new RuntimeException("503")).doNothing()
+                    .when(smsProvider).send(sms);
+
+            assertDoesNotThrow(retryingClient(3).sendAsync(sms)::join);
+            verify(smsProvider, times(3)).send(sms);
+        }
+
+        @Test
+        @DisplayName("send must not retry validation failures since the same input would fail again")
+        void shouldNotRetryValidationFailures() {
+            var email = new EmailNotification("user@test.com", "Sub", "Body", Collections.emptyList());
+            doThrow(new ValidationException("Invalid recipient")).when(emailProvider).send(email);
+
+            assertThrows(ValidationException.class, () -> retryingClient(3).send(email));
+            verify(emailProvider, times(1)).send(email);
+        }
+
+        @Test
+        @DisplayName("A notification that fails every attempt must end with RetriesExhaustedException")
+        void shouldGiveUpAfterMaxAttempts() {
+            var sms = new SmsNotification("+50588888888", "Down");
+            doThrow(new RuntimeException("503")).when(smsProvider).send(sms);
+
+            ExecutionException ex = assertThrows(ExecutionException.class, retryingClient(3).sendAsync(sms)::get);
+
+            RetriesExhaustedException exhausted = assertInstanceOf(RetriesExhaustedException.class, ex.getCause());
+            assertEquals(3, exhausted.attempts());
+            assertInstanceOf(DeliveryException.class, exhausted.getCause());
+            verify(smsProvider, times(3)).send(sms);
+        }
+
+        @Test
+        @DisplayName("sendAll must only resend the items of a batch that failed")
+        void shouldRetryOnlyFailedBatchItems() {
+            var ok = new SmsNotification("+50588888881", "Ok");
+            var flaky = new SmsNotification("+50588888882", "Flaky");
+            lenient().doThrow(new RuntimeException("503")).doNothing().when(smsProvider).send(flaky);
+
+            List<SendResult> results = retryingClient(2).sendAll(List.of(ok, flaky));
+
+            assertTrue(results.get(0).isSuccess());
+            assertTrue(results.get(1).isSuccess());
+            verify(smsProvider, times(1)).send(ok);
+            verify(smsProvider, times(2)).send(flaky);
+        }
+    }
+
+    @Nested
+    @DisplayName("Failover Tests")
+    class FailoverTests {
+
+        @Mock
+        private NotificationPort<EmailNotification> backupEmailProvider;
+
+        private final EmailNotification email = new EmailNotification("test@test.com", "Sub", "Body", List.of());
+
+        @BeforeEach
+        void setUpBackup() {
+            lenient().when(backupEmailProvider.supports()).thenReturn(EmailNotification.class);
+            lenient().when(backupEmailProvider.sendBatch(any())).thenCallRealMethod();
+        }
+
+        @Test
+        @DisplayName("A delivery failure on the primary must fail over to the backup provider")
+        void shouldFailOverToBackup() {
+            doThrow(new RuntimeException("503")).when(emailProvider).send(email);
+            var failoverClient = NotificationClient.builder()
+                    .registerProvider(emailProvider)
+                    .registerProvider(backupEmailProvider)
+                    .build();
+
+            assertDoesNotThrow(() -> failoverClient.send(email));
+            verify(backupEmailProvider, times(1)).send(email);
+        }
+
+        @Test
+        @DisplayName("Validation failures must not fail over since every provider would reject the same input")
+        void shouldNotFailOverValidationErrors() {
+            doThrow(new ValidationException("Invalid recipient")).when(emailProvider).send(email);
+            var failoverClient = NotificationClient.builder()
+                    .registerProvider(emailProvider)
+                    .registerProvider(backupEmailProvider)
+                    .build();
+
+            assertThrows(ValidationException.class, () -> failoverClient.send(email));
+            verify(backupEmailProvider, never()).send(any());
+        }
+
+        @Test
+        @DisplayName("The provider with the lowest priority value must be preferred regardless of registration order")
+        void shouldPreferLowestPriority() {
+            var failoverClient = NotificationClient.builder()
+                    .registerProvider(emailProvider, ProviderOptions.defaults().withPriority(2))
+                    .registerProvider(backupEmailProvider, ProviderOptions.defaults().withPriority(1))
+                    .build();
+
+            failoverClient.send(email);
+
+            verify(backupEmailProvider, times(1)).send(email);
+            verify(emailProvider, never()).send(any());
+        }
+
+        @Test
+        @DisplayName("Providers sharing a priority must split traffic according to their weights")
+        void shouldBalanceByWeight() {
+            var heavy = new SimulatedLatencyPort<>(EmailNotification.class, 0, TimeUnit.MILLISECONDS);
+            var light = new SimulatedLatencyPort<>(EmailNotification.class, 0, TimeUnit.MILLISECONDS);
+            var balancedClient = NotificationClient.builder()
+                    .registerProvider(heavy, ProviderOptions.defaults().withWeight(3))
+                    .registerProvider(light, ProviderOptions.defaults().withWeight(1))
+                    .build();
+
+            for (int i = 0; i < 2000; i++) {
+                balancedClient.send(email);
+            }
+
+            assertEquals(2000, heavy.sent() + light.sent());
+            assertTrue(heavy.sent() > 1300 && heavy.sent() < 1700, "heavy got " + heavy.sent());
+        }
+
+        @Test
+        @DisplayName("An open circuit must skip the failing provider and send straight to the backup")
+        void shouldSkipOpenCircuit() {
+            doThrow(new RuntimeException("503")).when(emailProvider).send(email);
+            var breaker = new CircuitBreakerPolicy(0.5, 2, 2, Duration.ofMinutes(1), 1);
+            var failoverClient = NotificationClient.builder()
+                    .registerProvider(emailProvider, ProviderOptions.defaults().withCircuitBreaker(breaker))
+                    .registerProvider(backupEmailProvider)
+                    .build();
+
+            for (int i = 0; i < 5; i++) {
+                failoverClient.send(email);
+            }
+
+            verify(emailProvider, times(2)).send(email);
+            verify(backupEmailProvider, times(5)).send(email);
+        }
+
+        @Test
+        @DisplayName("When every circuit is open the send must fail fast with CircuitOpenException")
+        void shouldFailFastWhenEveryCircuitIsOpen() {
+            doThrow(new RuntimeException("503")).when(emailProvider).send(email);
+            var breaker = new CircuitBreakerPolicy(0.5, 2, 2, Duration.ofMinutes(1), 1);
+            var guardedClient = NotificationClient.builder()
+                    .registerProvider(emailProvider, ProviderOptions.defaults().withCircuitBreaker(breaker))
+                    .build();
+            assertThrows(DeliveryException.class, () -> guardedClient.send(email));
+            assertThrows(DeliveryException.class, () -> guardedClient.send(email));
+
+            ExecutionException ex = assertThrows(ExecutionException.class, guardedClient.sendAsync(email)::get);
+
+            assertInstanceOf(CircuitOpenException.class, ex.getCause());
+            verify(emailProvider, times(2)).send(email);
+        }
+    }
+
+    @Nested
+    @DisplayName("Dispatch Queue Tests")
+    class DispatchQueueTests {
+
+        private NotificationClient queuedClient(int capacity, OverflowPolicy policy, Duration flushInterval, int batchSize) {
+            return NotificationClient.builder()
+                    .registerProvider(emailProvider, ProviderOptions.defaults().withBatchSize(batchSize))
+                    .withExecutor(Executors.newFixedThreadPool(2))
+                    .withDispatchQueue(new DispatchQueueOptions(capacity, policy, flushInterval))
+                    .build();
+        }
+
+        private EmailNotification email(int i) {
+            return new EmailNotification("user" + i + "@test.com", "Sub", "Body", Collections.emptyList());
+        }
+
+        @Test
+        @DisplayName("The micro-batcher must flush as soon as a provider buffer reaches its batch size")
+        void shouldFlushOnBatchSize() {
+            var queued = queuedClient(100, OverflowPolicy.BLOCK, Duration.ofHours(1), 3);
+
+            CompletableFuture<Void> future = queued.sendAllAsync(List.of(email(1), email(2), email(3), email(4), email(5), email(6)));
+
+            assertDoesNotThrow(future::join);
+            verify(emailProvider, times(2)).sendBatch(any());
+        }
+
+        @Test
+        @DisplayName("The micro-batcher must flush a partial batch once the flush interval has elapsed")
+        void shouldFlushOnInterval() {
+            var queued = queuedClient(100, OverflowPolicy.BLOCK, Duration.ofMillis(20), 100);
+
+            assertDoesNotThrow(queued.sendAsync(email(1))::join);
+            verify(emailProvider, times(1)).send(email(1));
+        }
+
+        @Test
+        @DisplayName("REJECT must fail new notifications with QueueFullException while the queue is full")
+        void shouldRejectWhenFull() throws InterruptedException {
+            var release = new CountDownLatch(1);
+            doAnswer(invocation -> {
+                release.await();
+                return null;
+            }).when(emailProvider).send(email(1));
+            var queued = queuedClient(1, OverflowPolicy.REJECT, Duration.ofHours(1), 1);
+
+            CompletableFuture<Void> first = queued.sendAsync(email(1));
+            CompletableFuture<Void> second = queued.sendAsync(email(2));
+
+            ExecutionException ex = assertThrows(ExecutionException.class, second::get);
+            assertInstanceOf(QueueFullException.class, ex.getCause());
+            release.countDown();
+            assertDoesNotThrow(first::join);
+        }
+
+        @Test
+        @DisplayName("DROP_OLDEST must fail the oldest buffered notification to make room for a new one")
+        void shouldDropOldestWhenFull() {
+            var queued = queuedClient(2, OverflowPolicy.DROP_OLDEST, Duration.ofHours(1), 10);
+
+            CompletableFuture<Void> oldest = queued.sendAsync(email(1));
+            CompletableFuture<Void> second = queued.sendAsync(email(2));
+            CompletableFuture<Void> newest = queued.sendAsync(email(3));
+            queued.flush();
+
+            ExecutionException ex = assertThrows(ExecutionException.class, oldest::get);
+            assertInstanceOf(QueueFullException.class, ex.getCause());
+            assertDoesNotThrow(second::join);
+            assertDoesNotThrow(newest::join);
+            verify(emailProvider, never()).send(email(1));
+        }
+
+        @Test
+        @DisplayName("close must deliver everything still buffered before returning")
+        void shouldFlushOnClose() {
+            var queued = queuedClient(100, OverflowPolicy.BLOCK, Duration.ofHours(1), 100);
+
+            CompletableFuture<Void> future = queued.sendAllAsync(List.of(email(1), email(2)));
+            queued.close();
+
+            assertTrue(future.isDone());
+            assertDoesNotThrow(future::join);
+            verify(emailProvider, times(1)).sendBatch(any());
+        }
+    }
+
+    @Nested
+    @DisplayName("Streaming Tests")
+    class StreamingTests {
+
+        private Iterator<Notification> smsSource(int count, AtomicInteger pulled) {
+            return Stream.iterate(0, i -> i + 1)
+                    .limit(count)
+                    .peek(i -> pulled.incrementAndGet())
+                    .<Notification>map(i -> new SmsNotification("+5058888" + String.format("%04d", i), "Stream"))
+                    .iterator();
+        }
+
+        @Test
+        @DisplayName("sendStream must send every notification while keeping at most maxInFlight sends in flight")
+        void shouldBoundInFlightSends() {
+            var slowSms = new SimulatedLatencyPort<>(SmsNotification.class, 1, TimeUnit.MILLISECONDS);
+            var streamingClient = NotificationClient.builder()
+                    .registerProvider(slowSms)
+                    .useVirtualThreads()
+                    .build();
+            var subscriber = new CollectingSubscriber(Long.MAX_VALUE);
+
+            streamingClient.sendStream(smsSource(500, new AtomicInteger()), 8).subscribe(subscriber);
+
+            assertDoesNotThrow(() -> subscriber.completion.get(10, TimeUnit.SECONDS));
+            assertEquals(500, subscriber.results.size());
+            assertTrue(subscriber.results.stream().allMatch(SendResult::isSuccess));
+            assertTrue(slowSms.maxInFlight() <= 8);
+        }
+
+        @Test
+        @DisplayName("sendStream must not read further ahead of downstream demand than maxInFlight")
+        void shouldRespectDownstreamDemand() throws InterruptedException {
+            var pulled = new AtomicInteger();
+            var subscriber = new CollectingSubscriber(3);
+
+            client.sendStream(smsSource(1_000, pulled), 4).subscribe(subscriber);
+            Thread.sleep(200);
+
+            assertEquals(3, subscriber.results.size());
+            assertTrue(pulled.get() <= 3 + 4);
+            assertFalse(subscriber.completion.isDone());
+        }
+
+        @Test
+        @DisplayName("sendStream must publish routing failures as results instead of aborting the stream")
+        void shouldPublishFailuresAsResults() {
+            var smsOnlyClient = NotificationClient.builder().registerProvider(smsProvider).build();
+            var subscriber = new CollectingSubscriber(Long.MAX_VALUE);
+            Stream<Notification> source = Stream.of(
+                    new SmsNotification("+50588888888", "Stream"),
+                    new PushNotification("token123", "Title", "Body", Collections.emptyMap()));
+
+            smsOnlyClient.sendStream(source, 2).subscribe(subscriber);
+
+            assertDoesNotThrow(() -> subscriber.completion.get(5, TimeUnit.SECONDS));
+            assertEquals(1, subscriber.results.stream().filter(SendResult::isSuccess).count());
+            assertTrue(subscriber.results.stream()
+                    .anyMatch(r -> r.error() instanceof ValidationException));
+        }
+    }
+
+    private static class CollectingSubscriber implements Flow.Subscriber<SendResult> {
+        private final long request;
+        private final List<SendResult> results = new CopyOnWriteArrayList<>();
+        private final CompletableFuture<Void> completion = new CompletableFuture<>();
+
+        private CollectingSubscriber(long request) {
+            this.request = request;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            subscription.request(request);
+        }
+
+        @Override
+        public void onNext(SendResult item) {
+            results.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            completion.completeExceptionally(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            completion.complete(null);
+        }
+    }
+
     @Nested
     @DisplayName("Batch Sending Tests")
     class BatchTests {
@@ -208,6 +718,55 @@ class NotificationClientTest {
             verify(smsProvider, times(1)).send(sms);
         }
 
+        @Test
+        @DisplayName("sendAll must group notifications per provider and split them into batchSize chunks")
+        void shouldChunkBatchesPerProvider() {
+            var chunkedClient = NotificationClient.builder()
+                    .registerProvider(emailProvider, ProviderOptions.defaults().withBatchSize(2))
+                    .registerProvider(smsProvider)
+                    .build();
+            List<Notification> batch = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                batch.add(new EmailNotification("user" + i + "@test.com", "Sub", "Body", Collections.emptyList()));
+            }
+            batch.add(new SmsNotification("+50588888888", "Batch SMS"));
+
+            List<SendResult> results = chunkedClient.sendAll(batch);
+
+            assertEquals(6, results.size());
+            assertTrue(results.stream().allMatch(SendResult::isSuccess));
+            verify(emailProvider, times(3)).sendBatch(any());
+            verify(smsProvider, times(1)).sendBatch(any());
+        }
+
+        @Test
+        @DisplayName("sendAll must report per-item failures in input order without stopping the rest")
+        void shouldReportPerItemFailures() {
+            var email = new EmailNotification("fail@test.com", "Sub", "Body", Collections.emptyList());
+            var sms = new SmsNotification("+50588888888", "Batch SMS");
+            doThrow(new RuntimeException("Connection Refused 500")).when(emailProvider).send(email);
+
+            List<SendResult> results = client.sendAll(List.of(email, sms));
+
+            assertInstanceOf(DeliveryException.class, results.get(0).error());
+            assertTrue(results.get(1).isSuccess());
+            verify(smsProvider, times(1)).send(sms);
+        }
+
+        @Test
+        @DisplayName("sendAllAsync must complete exceptionally when any notification fails")
+        void shouldFailAsyncBatchWhenAnyItemFails() {
+            var email = new EmailNotification("fail@test.com", "Sub", "Body", Collections.emptyList());
+            var sms = new SmsNotification("+50588888888", "Batch SMS");
+            doThrow(new RuntimeException("Connection Refused 500")).when(emailProvider).send(email);
+
+            CompletableFuture<Void> future = client.sendAllAsync(List.of(email, sms));
+
+            ExecutionException ex = assertThrows(ExecutionException.class, future::get);
+            assertInstanceOf(DeliveryException.class, ex.getCause());
+            verify(smsProvider, times(1)).send(sms);
+        }
+
         @Test
         @DisplayName("sendAllAsync must handle empty batch without errors and complete successfully")
         void shouldHandleEmptyBatchAsync() {
@@ -219,4 +778,420 @@ class NotificationClientTest {
             assertTrue(future.isDone());
         }
     }
-}
\ No newline at end of file
+
+    @Nested
+    @DisplayName("Durable outbox")
+    class OutboxTests {
+
+        @TempDir
+        Path directory;
+
+        private NotificationClient durableClient() {
+            return NotificationClient.builder()
+                    .registerProvider(smsProvider)
+                    .withExecutor(Executors.newSingleThreadExecutor())
+                    .withOutbox(OutboxOptions.in(directory))
+                    .build();
+        }
+
+        @Test
+        @DisplayName("Notifications that failed delivery must be replayed when the next client is built")
+        void shouldReplayUndeliveredNotifications() throws Exception {
+            var delivered = new SmsNotification("+50588888881", "Delivered");
+            var failed = new SmsNotification("+50588888882", "Provider down");
+            lenient().doThrow(new RuntimeException("503")).when(smsProvider).send(failed);
+
+            try (var client = durableClient()) {
+                client.sendAsync(delivered).join();
+                assertThrows(ExecutionException.class, client.sendAsync(failed)::get);
+            }
+
+            CountDownLatch replayed = new CountDownLatch(1);
+            lenient().doAnswer(invocation -> {
+                replayed.countDown();
+                return null;
+            }).when(smsProvider).send(failed);
+            try (var client = durableClient()) {
+                assertTrue(replayed.await(5, TimeUnit.SECONDS));
+            }
+            verify(smsProvider, times(1)).send(delivered);
+            verify(smsProvider, times(2)).send(failed);
+        }
+
+        @Test
+        @DisplayName("Notifications delivered through sendAllAsync must not be replayed")
+        void shouldNotReplayDeliveredBatch() {
+            var first = new SmsNotification("+50588888881", "One");
+            var second = new SmsNotification("+50588888882", "Two");
+
+            try (var client = durableClient()) {
+                client.sendAllAsync(List.of(first, second)).join();
+            }
+            try (var client = durableClient()) {
+                client.flush();
+            }
+
+            verify(smsProvider, times(1)).send(first);
+            verify(smsProvider, times(1)).send(second);
+        }
+
+        @Test
+        @DisplayName("A notification the outbox cannot encode must fail its future and not stay in flight")
+        void shouldFailUnencodableNotification() {
+            Map<String, String> data = new HashMap<>();
+            data.put(null, "x");
+            var push = new PushNotification("device-1", "Title", "Body", data);
+            var durable = durableClient();
+
+            CompletableFuture<Void> single = durable.sendAsync(push);
+            CompletableFuture<Void> batch = durable.sendAllAsync(List.of(push));
+
+            ExecutionException ex = assertThrows(ExecutionException.class, () -> single.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(DeliveryException.class, ex.getCause());
+            assertThrows(ExecutionException.class, () -> batch.get(5, TimeUnit.SECONDS));
+            assertEquals(0, durable.close(Duration.ofSeconds(5)).pending());
+        }
+
+        @Test
+        @DisplayName("A send waiting for room in a full BLOCK queue must not hold up the outbox committer")
+        void shouldNotBlockCommitterOnFullQueue() throws Exception {
+            var first = new SmsNotification("+50588888881", "One");
+            var second = new SmsNotification("+50588888882", "Two");
+            CountDownLatch started = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            lenient().doAnswer(invocation -> {
+                started.countDown();
+                release.await();
+                return null;
+            }).when(smsProvider).send(first);
+            var executor = Executors.newFixedThreadPool(4);
+            var durable = NotificationClient.builder()
+                    .registerProvider(smsProvider, ProviderOptions.defaults().withBatchSize(1))
+                    .withExecutor(executor)
+                    .withDispatchQueue(new DispatchQueueOptions(1, OverflowPolicy.BLOCK, Duration.ofHours(1)))
+                    .withOutbox(OutboxOptions.in(directory))
+                    .build();
+
+            try {
+                durable.sendAsync(first);
+                assertTrue(started.await(5, TimeUnit.SECONDS));
+                durable.sendAsync(second);
+                // let the second send reach the full queue
+                Thread.sleep(100);
+
+                // close() joins the committer, so it would never return if the committer were the one waiting
+                DrainReport report = CompletableFuture.supplyAsync(() -> durable.close(Duration.ofMillis(100)))
+                        .get(5, TimeUnit.SECONDS);
+                assertEquals(2, report.pending());
+            } finally {
+                release.countDown();
+                executor.shutdown();
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Deduplication")
+    class DeduplicationTests {
+
+        private NotificationClient dedupClient() {
+            return NotificationClient.builder()
+                    .registerProvider(smsProvider)
+                    .withExecutor(Executors.newSingleThreadExecutor())
+                    .withDeduplication(DeduplicationOptions.defaults())
+                    .build();
+        }
+
+        @Test
+        @DisplayName("A notification sent twice with the same idempotency key must reach the provider once")
+        void shouldSkipRepeatedIdempotencyKey() {
+            var client = dedupClient();
+            var first = new SmsNotification("+50588888888", "Your code is 1234").withIdempotencyKey("otp-1");
+            var replayed = new SmsNotification("+50588888888", "Your code is 1234 (resent)").withIdempotencyKey("otp-1");
+
+            client.send(first);
+            client.sendAsync(replayed).join();
+
+            verify(smsProvider, times(1)).send(first);
+            verify(smsProvider, never()).send(replayed);
+            assertEquals(1, client.deduplicationStats().hits());
+        }
+
+        @Test
+        @DisplayName("Identical content without a key must be deduplicated within a batch and across calls")
+        void shouldSkipIdenticalContent() {
+            var client = dedupClient();
+            var sms = new SmsNotification("+50588888888", "Same text");
+
+            List<SendResult> results = client.sendAll(List.of(sms, new SmsNotification("+50588888888", "Same text")));
+            client.sendAllAsync(List.of(sms)).join();
+
+            assertTrue(results.stream().allMatch(SendResult::isSuccess));
+            verify(smsProvider, times(1)).send(sms);
+            assertEquals(2, client.deduplicationStats().hits());
+        }
+
+        @Test
+        @DisplayName("A failed send must release its key so a later attempt still reaches the provider")
+        void shouldReleaseKeyOnFailure() {
+            var client = dedupClient();
+            var sms = new SmsNotification("+50588888888", "Flaky");
+            doThrow(new RuntimeException("503")).doNothing().when(smsProvider).send(sms);
+
+            assertThrows(DeliveryException.class, () -> client.send(sms));
+            assertDoesNotThrow(() -> client.send(sms));
+
+            verify(smsProvider, times(2)).send(sms);
+        }
+    }
+
+    @Nested
+    @DisplayName("Metrics")
+    class MetricsTests {
+
+        @Test
+        @DisplayName("Outcomes, batch sizes and latencies must be recorded per provider and notification type")
+        void shouldRecordProviderMetrics() {
+            var client = NotificationClient.builder()
+                    .registerProvider(smsProvider)
+                    .withExecutor(Executors.newSingleThreadExecutor())
+                    .build();
+            var ok = new SmsNotification("+50588888881", "Ok");
+            var invalid = new SmsNotification("+50588888882", "Invalid");
+            var down = new SmsNotification("+50588888883", "Down");
+            lenient().doThrow(new ValidationException("Unknown number")).when(smsProvider).send(invalid);
+            lenient().doThrow(new RuntimeException("503")).when(smsProvider).send(down);
+
+            client.sendAll(List.of(ok, invalid, down));
+            client.sendAsync(ok).join();
+
+            String provider = smsProvider.getClass().getSimpleName();
+            ProviderMetrics metrics = client.metrics().snapshot().provider(provider, "SmsNotification").orElseThrow();
+            assertEquals(2, metrics.successes());
+            assertEquals(1, metrics.validationFailures());
+            assertEquals(1, metrics.failures());
+            assertEquals(0, metrics.inFlight());
+            assertEquals(2, metrics.sendLatency().count());
+            assertEquals(3, metrics.batchSize().max());
+            assertEquals(1, metrics.queueWait().count());
+        }
+    }
+
+    @Nested
+    @DisplayName("Priorities and Scheduling")
+    class PriorityTests {
+
+        @Test
+        @DisplayName("Sends must be counted in the lane of their priority")
+        void shouldDispatchThroughPriorityLanes() {
+            var client = NotificationClient.builder()
+                    .registerProvider(smsProvider)
+                    .withExecutor(Executors.newSingleThreadExecutor())
+                    .withPriorityLanes(PriorityLaneOptions.defaults().withWorkers(1))
+                    .build();
+
+            client.sendAsync(new SmsNotification("+50588888888", "Your code is 1234"), Priority.HIGH).join();
+            client.sendAllAsync(List.of(new SmsNotification("+50588888888", "Sale!")), Priority.LOW).join();
+
+            List<LaneStats> lanes = client.laneStats();
+            assertEquals(1, lanes.get(Priority.HIGH.ordinal()).started());
+            assertEquals(0, lanes.get(Priority.NORMAL.ordinal()).started());
+            assertEquals(1, lanes.get(Priority.LOW.ordinal()).started());
+            assertTrue(lanes.stream().allMatch(lane -> lane.depth() == 0));
+        }
+
+        @Test
+        @DisplayName("A delayed send must not reach the provider before its delay has passed")
+        void shouldSendAfterDelay() {
+            var sms = new SmsNotification("+50588888888", "Reminder");
+            long start = System.nanoTime();
+
+            CompletableFuture<Void> future = client.sendAfter(sms, Duration.ofMillis(50));
+            assertEquals(1, client.scheduledCount());
+            future.join();
+
+            assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(50));
+            verify(smsProvider).send(sms);
+            assertEquals(0, client.scheduledCount());
+        }
+
+        @Test
+        @DisplayName("A send scheduled in the past must go out right away")
+        void shouldSendPastDeadlineImmediately() {
+            var sms = new SmsNotification("+50588888888", "Overdue");
+
+            client.sendAt(sms, Instant.now().minusSeconds(60), Priority.HIGH).join();
+
+            verify(smsProvider).send(sms);
+        }
+
+        @Test
+        @DisplayName("Closing the client must fail the scheduled sends that have not come due")
+        void shouldFailPendingScheduledSendsOnClose() {
+            var sms = new SmsNotification("+50588888888", "Tomorrow");
+            CompletableFuture<Void> future = client.sendAfter(sms, Duration.ofDays(1));
+
+            client.close();
+
+            ExecutionException error = assertThrows(ExecutionException.class, future::get);
+            assertInstanceOf(DeliveryException.class, error.getCause());
+            assertTrue(client.sendAfter(sms, Duration.ZERO).isCompletedExceptionally());
+            verify(smsProvider, never()).send(sms);
+        }
+    }
+
+    @Nested
+    @DisplayName("Push Coalescing")
+    class CoalescingTests {
+
+        private NotificationClient coalescingClient(CoalescingOptions options) {
+            return NotificationClient.builder()
+                    .registerProvider(pushProvider)
+                    .withExecutor(Executors.newSingleThreadExecutor())
+                    .withPushCoalescing(options)
+                    .build();
+        }
+
+        @Test
+        @DisplayName("A burst to one device must reach the provider once, as the latest push")
+        void shouldKeepLatestPush() {
+            var client = coalescingClient(CoalescingOptions.defaults().withWindow(Duration.ofMillis(100)));
+            List<CompletableFuture<Void>> futures = new ArrayList<>();
+            for (int i = 1; i <= 5; i++) {
+                futures.add(client.sendAsync(new PushNotification("device-1", "Score", "Goal " + i, Map.of())));
+            }
+            futures.forEach(CompletableFuture::join);
+
+            verify(pushProvider, times(1)).send(any());
+            verify(pushProvider).send(new PushNotification("device-1", "Score", "Goal 5", Map.of()));
+            CoalescingStats stats = client.coalescingStats();
+            assertEquals(5, stats.received());
+            assertEquals(4, stats.merged());
+            assertEquals(5.0, stats.ratio());
+            assertEquals(0, stats.pending());
+        }
+
+        @Test
+        @DisplayName("Digest mode must merge the data maps and count the pushes it replaced")
+        void shouldDigestDataMaps() {
+            var client = coalescingClient(CoalescingOptions.defaults()
+                    .withWindow(Duration.ofMillis(100))
+                    .withMode(CoalescingMode.DIGEST));
+
+            var first = client.sendAsync(new PushNotification("device-1", "Chat", "Hi", Map.of("from", "ana", "a", "1")));
+            var second = client.sendAsync(new PushNotification("device-1", "Chat", "Hey", Map.of("from", "luis", "b", "2")));
+            CompletableFuture.allOf(first, second).join();
+
+            verify(pushProvider).send(new PushNotification("device-1", "Chat", "Hey",
+                    Map.of("from", "luis", "a", "1", "b", "2", "coalesced_count", "2")));
+        }
+
+        @Test
+        @DisplayName("Pushes with different collapse keys or devices must not be merged")
+        void shouldKeepDistinctKeysApart() {
+            var client = coalescingClient(CoalescingOptions.defaults().withWindow(Duration.ofMillis(50)));
+
+            CompletableFuture.allOf(
+                    client.sendAsync(new PushNotification("device-1", "Chat", "Hi", Map.of("collapse_key", "chat"))),
+                    client.sendAsync(new PushNotification("device-1", "Score", "Goal", Map.of("collapse_key", "score"))),
+                    client.sendAsync(new PushNotification("device-2", "Chat", "Hi", Map.of("collapse_key", "chat")))
+            ).join();
+
+            verify(pushProvider, times(3)).send(any());
+            assertEquals(0, client.coalescingStats().merged());
+        }
+
+        @Test
+        @DisplayName("Pushes must bypass coalescing once maxPending windows are open, and close must send the rest")
+        void shouldBoundOpenWindows() {
+            var client = coalescingClient(CoalescingOptions.defaults()
+                    .withWindow(Duration.ofHours(1))
+                    .withMaxPending(1));
+
+            var held = client.sendAsync(new PushNotification("device-1", "A", "held", Map.of()));
+            client.sendAsync(new PushNotification("device-2", "B", "bypassed", Map.of())).join();
+
+            assertFalse(held.isDone());
+            assertEquals(1, client.coalescingStats().bypassed());
+            assertEquals(1, client.coalescingStats().pending());
+
+            client.close();
+            held.join();
+            verify(pushProvider, times(2)).send(any());
+        }
+    }
+
+    @Nested
+    @DisplayName("Lifecycle")
+    class LifecycleTests {
+
+        private EmailNotification email(int i) {
+            return new EmailNotification("user" + i + "@test.com", "Sub", "Body", Collections.emptyList());
+        }
+
+        @Test
+        @DisplayName("close must wait for the sends in flight and report nothing pending")
+        void shouldDrainInFlightSends() {
+            CountDownLatch release = new CountDownLatch(1);
+            doAnswer(invocation -> release.await(5, TimeUnit.SECONDS)).when(emailProvider).send(any());
+            var client = NotificationClient.builder()
+                    .registerProvider(emailProvider)
+                    .withExecutor(Executors.newFixedThreadPool(2))
+                    .build();
+
+            var first = client.sendAsync(email(1));
+            var second = client.sendAsync(email(2));
+            assertEquals(2, client.inFlightCount());
+            CompletableFuture.delayedExecutor(100, TimeUnit.MILLISECONDS).execute(release::countDown);
+
+            DrainReport report = client.close(Duration.ofSeconds(5));
+
+            assertTrue(report.isComplete());
+            assertTrue(first.isDone() && second.isDone());
+            assertDoesNotThrow(first::join);
+            assertEquals(0, client.inFlightCount());
+        }
+
+        @Test
+        @DisplayName("close must give up at the deadline, report what is pending and refuse new sends")
+        void shouldReportPendingAfterDeadline() {
+            CountDownLatch release = new CountDownLatch(1);
+            doAnswer(invocation -> release.await(5, TimeUnit.SECONDS)).when(emailProvider).send(any());
+            var client = NotificationClient.builder()
+                    .registerProvider(emailProvider)
+                    .withExecutor(Executors.newSingleThreadExecutor())
+                    .build();
+
+            var stuck = client.sendAsync(email(1));
+            var scheduled = client.sendAfter(email(2), Duration.ofHours(1));
+            DrainReport report = client.close(Duration.ofMillis(50));
+            release.countDown();
+
+            assertEquals(1, report.pending());
+            assertEquals(1, report.cancelled());
+            assertFalse(report.isComplete());
+            assertInstanceOf(DeliveryException.class, assertThrows(CompletionException.class, scheduled::join).getCause());
+            var refused = assertThrows(CompletionException.class, () -> client.sendAsync(email(3)).join());
+            assertInstanceOf(DeliveryException.class, refused.getCause());
+            assertThrows(DeliveryException.class, () -> client.send(email(4)));
+            assertDoesNotThrow(stuck::join);
+        }
+
+        @Test
+        @DisplayName("Warm-up must prime every provider once and tolerate a provider that fails to")
+        void shouldWarmUpProviders() {
+            doThrow(new DeliveryException("unreachable")).when(smsProvider).warmUp();
+
+            var client = NotificationClient.builder()
+                    .registerProvider(emailProvider)
+                    .registerProvider(smsProvider)
+                    .withWarmUp(Duration.ofSeconds(1))
+                    .build();
+
+            verify(emailProvider, times(1)).warmUp();
+            verify(smsProvider, times(1)).warmUp();
+            assertDoesNotThrow(() -> client.send(email(1)));
+            assertTrue(client.close(Duration.ofSeconds(1)).isComplete());
+        }
+    }
+}
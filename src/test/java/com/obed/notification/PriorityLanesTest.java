@@ -0,0 +1,113 @@
+package com.obed.notification;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PriorityLanesTest {
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final List<Priority> order = new CopyOnWriteArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Queued high-priority tasks must start before low-priority tasks queued earlier")
+    void shouldRunHighPriorityFirst() throws InterruptedException {
+        var lanes = new PriorityLanes(executor, PriorityLaneOptions.defaults().withWorkers(1));
+        CountDownLatch release = block(lanes);
+
+        for (int i = 0; i < 3; i++) {
+            submit(lanes, Priority.LOW);
+        }
+        for (int i = 0; i < 3; i++) {
+            submit(lanes, Priority.HIGH);
+        }
+        CountDownLatch done = new CountDownLatch(1);
+        lanes.lane(Priority.LOW).execute(done::countDown);
+
+        assertEquals(3, depth(lanes, Priority.HIGH));
+        assertEquals(4, depth(lanes, Priority.LOW));
+
+        release.countDown();
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of(Priority.HIGH, Priority.HIGH, Priority.HIGH, Priority.LOW, Priority.LOW, Priority.LOW),
+                order);
+    }
+
+    @Test
+    @DisplayName("A busy high lane must still leave low-priority tasks their weighted share")
+    void shouldShareByWeight() throws InterruptedException {
+        var lanes = new PriorityLanes(executor, PriorityLaneOptions.defaults().withWorkers(1).withWeights(3, 1, 1));
+        CountDownLatch release = block(lanes);
+
+        for (int i = 0; i < 10; i++) {
+            submit(lanes, Priority.HIGH);
+            submit(lanes, Priority.LOW);
+        }
+        CountDownLatch done = new CountDownLatch(1);
+        lanes.lane(Priority.LOW).execute(done::countDown);
+
+        release.countDown();
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(2, order.subList(0, 8).stream().filter(p -> p == Priority.LOW).count());
+    }
+
+    @Test
+    @DisplayName("Every task must be counted with its wait time in its lane")
+    void shouldRecordWaitTime() throws InterruptedException {
+        var lanes = new PriorityLanes(executor, PriorityLaneOptions.defaults().withWorkers(1));
+        CountDownLatch release = block(lanes);
+        submit(lanes, Priority.NORMAL);
+        CountDownLatch done = new CountDownLatch(1);
+        lanes.lane(Priority.NORMAL).execute(done::countDown);
+
+        Thread.sleep(20);
+        release.countDown();
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+
+        LaneStats normal = lanes.stats().get(Priority.NORMAL.ordinal());
+        assertEquals(0, normal.depth());
+        assertEquals(3, normal.started());
+        assertEquals(3, normal.waitTime().count());
+        assertTrue(normal.waitTime().max() >= TimeUnit.MILLISECONDS.toNanos(20));
+    }
+
+    /**
+     * Occupies the only worker until the returned latch is released, so later tasks queue up in their lanes.
+     */
+    private static CountDownLatch block(PriorityLanes lanes) throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        lanes.lane(Priority.NORMAL).execute(() -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        return release;
+    }
+
+    private void submit(PriorityLanes lanes, Priority priority) {
+        lanes.lane(priority).execute(() -> order.add(priority));
+    }
+
+    private static int depth(PriorityLanes lanes, Priority priority) {
+        return lanes.stats().get(priority.ordinal()).depth();
+    }
+}
@@ -0,0 +1,77 @@
+package com.obed.notification;
+
+import com.obed.notification.domain.model.EmailNotification;
+import com.obed.notification.domain.model.Notification;
+import com.obed.notification.domain.model.PushNotification;
+import com.obed.notification.domain.model.SmsNotification;
+import com.obed.notification.ports.out.NotificationPort;
+import com.obed.notification.resilience.Ticker;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the original stream-based provider lookup with {@link ProviderRouter}.
+ * The push provider is always registered last, so the scan pays for every provider in front of it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProviderRoutingBenchmark {
+
+    @Param({"1", "3", "20"})
+    public int providerCount;
+
+    private List<NotificationPort<?>> providers;
+    private ProviderRouter router;
+    private Notification notification;
+
+    @Setup
+    public void setUp() {
+        providers = new ArrayList<>();
+        for (int i = 0; i < providerCount - 1; i++) {
+            providers.add(i % 2 == 0 ? new NoOpPort<>(EmailNotification.class) : new NoOpPort<>(SmsNotification.class));
+        }
+        providers.add(new NoOpPort<>(PushNotification.class));
+
+        router = new ProviderRouter(providers.stream()
+                .map(p -> new ProviderSlot(p, ProviderOptions.defaults(), Ticker.system()))
+                .toList());
+        notification = new PushNotification("device-token", "Title", "Body", Map.of());
+    }
+
+    @Benchmark
+    public NotificationPort<?> streamScan() {
+        return providers.stream()
+                .filter(p -> p.supports().isInstance(notification))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    @Benchmark
+    public Route routingTable() {
+        return router.route(notification);
+    }
+
+    private record NoOpPort<T extends Notification>(Class<T> supports) implements NotificationPort<T> {
+        @Override
+        public void send(T notification) {
+        }
+    }
+}
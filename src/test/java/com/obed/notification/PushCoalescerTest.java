@@ -0,0 +1,87 @@
+package com.obed.notification;
+
+import com.obed.notification.domain.exception.DeliveryException;
+import com.obed.notification.domain.model.PushNotification;
+import com.obed.notification.ports.out.SendResult;
+import com.obed.notification.resilience.HashedWheelTimer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class PushCoalescerTest {
+    private final HashedWheelTimer timer = HashedWheelTimer.shared();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> new Thread(r, "test-worker"));
+    private final CoalescingOptions options = CoalescingOptions.defaults().withWindow(Duration.ofMillis(20));
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("An expired window must reach the sink on the executor, never on the timer thread")
+    void shouldSendExpiredWindowOnExecutor() {
+        AtomicReference<String> sentOn = new AtomicReference<>();
+        var coalescer = new PushCoalescer(options, timer, priority -> executor, (notification, priority) -> {
+            sentOn.set(Thread.currentThread().getName());
+            return CompletableFuture.completedFuture(SendResult.success(notification));
+        });
+
+        SendResult result = coalescer.submit(push(), Priority.NORMAL).join();
+
+        assertEquals("test-worker", sentOn.get());
+        assertEquals(push(), result.notification());
+    }
+
+    @Test
+    @DisplayName("A window whose executor rejects the send must fail its pushes")
+    void shouldFailWindowWhenExecutorRejects() {
+        executor.shutdown();
+        var coalescer = new PushCoalescer(options, timer, priority -> executor,
+                (notification, priority) -> CompletableFuture.completedFuture(SendResult.success(notification)));
+
+        SendResult result = coalescer.submit(push(), Priority.NORMAL).join();
+
+        assertFalse(result.isSuccess());
+        assertInstanceOf(DeliveryException.class, result.error());
+        assertEquals(0, coalescer.stats().pending());
+    }
+
+    @Test
+    @DisplayName("Every merged push must fail when the sink fails its future or throws")
+    void shouldFailMergedPushesWhenSinkFails() {
+        var failing = new PushCoalescer(options, timer, priority -> executor,
+                (notification, priority) -> CompletableFuture.failedFuture(new IllegalStateException("down")));
+        var throwing = new PushCoalescer(options, timer, priority -> executor, (notification, priority) -> {
+            throw new IllegalStateException("down");
+        });
+
+        for (PushCoalescer coalescer : List.of(failing, throwing)) {
+            CompletableFuture<SendResult> first = coalescer.submit(push(), Priority.NORMAL);
+            CompletableFuture<SendResult> second = coalescer.submit(push(), Priority.NORMAL);
+
+            for (SendResult result : List.of(first.orTimeout(5, TimeUnit.SECONDS).join(),
+                    second.orTimeout(5, TimeUnit.SECONDS).join())) {
+                assertFalse(result.isSuccess());
+                assertInstanceOf(DeliveryException.class, result.error());
+            }
+        }
+    }
+
+    private static PushNotification push() {
+        return new PushNotification("device-1", "Score", "Goal", Map.of());
+    }
+}
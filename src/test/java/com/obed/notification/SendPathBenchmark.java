@@ -0,0 +1,146 @@
+package com.obed.notification;
+
+import com.obed.notification.SimulatedProvider.LatencyModel;
+import com.obed.notification.domain.exception.DeliveryException;
+import com.obed.notification.domain.model.Notification;
+import com.obed.notification.domain.model.SmsNotification;
+import com.obed.notification.ports.out.NotificationPort;
+import com.obed.notification.ports.out.SendResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end cost of the four send paths of {@link NotificationClient} against {@link SimulatedProvider}s, from
+ * four caller threads. Throughput mode gives operations per second and sample mode the latency percentiles,
+ * p99 included; run with {@code -prof gc} (the {@code benchmarks} profile does) for the bytes allocated per op.
+ * Batch benchmarks count one op per notification.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Threads(4)
+@Fork(1)
+public class SendPathBenchmark {
+    private static final int BATCH_SIZE = 100;
+
+    public enum ExecutionMode { FIXED_POOL, VIRTUAL_THREADS }
+
+    public enum PortKind { BLOCKING, ASYNC }
+
+    public enum Latency {
+        NONE(LatencyModel.none()),
+        // Roughly what a healthy SMS or push API looks like from a nearby region
+        LOG_NORMAL(LatencyModel.logNormal(Duration.ofMillis(2), Duration.ofMillis(20)));
+
+        private final LatencyModel model;
+
+        Latency(LatencyModel model) {
+            this.model = model;
+        }
+    }
+
+    @Param({"FIXED_POOL", "VIRTUAL_THREADS"})
+    public ExecutionMode mode;
+
+    @Param({"BLOCKING", "ASYNC"})
+    public PortKind port;
+
+    @Param({"NONE", "LOG_NORMAL"})
+    public Latency latency;
+
+    @Param({"0", "0.01"})
+    public double errorRate;
+
+    private ExecutorService executor;
+    private NotificationClient client;
+    private Notification notification;
+    private List<Notification> batch;
+
+    @Setup
+    public void setUp() {
+        executor = mode == ExecutionMode.FIXED_POOL
+                ? Executors.newFixedThreadPool(10)
+                : Executors.newVirtualThreadPerTaskExecutor();
+        NotificationPort<SmsNotification> provider = port == PortKind.BLOCKING
+                ? SimulatedProvider.blocking(SmsNotification.class, latency.model, errorRate)
+                : SimulatedProvider.async(SmsNotification.class, latency.model, errorRate);
+
+        client = NotificationClient.builder()
+                .withExecutor(executor)
+                .registerProvider(provider, ProviderOptions.defaults().withBatchSize(BATCH_SIZE))
+                .build();
+
+        notification = new SmsNotification("+50588888888", "Benchmark");
+        batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            batch.add(new SmsNotification("+5058888" + String.format("%04d", i), "Benchmark"));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        client.close();
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public Object send() {
+        try {
+            client.send(notification);
+            return null;
+        } catch (DeliveryException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public Object sendAsync() {
+        return join(() -> client.sendAsync(notification).join());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public List<SendResult> sendAll() {
+        return client.sendAll(batch);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public Object sendAllAsync() {
+        return join(() -> client.sendAllAsync(batch).join());
+    }
+
+    /**
+     * Simulated errors make the futures fail, which is an expected outcome here rather than a broken run.
+     */
+    private static Object join(Runnable call) {
+        try {
+            call.run();
+            return null;
+        } catch (CompletionException e) {
+            return e;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.obed.notification;
+
+import com.obed.notification.domain.model.Notification;
+import com.obed.notification.ports.out.NotificationPort;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fake provider that blocks for a fixed time on every send, the way a real adapter blocks on its HTTP call.
+ */
+class SimulatedLatencyPort<T extends Notification> implements NotificationPort<T> {
+    private final Class<T> type;
+    private final long latencyNanos;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private final AtomicInteger sent = new AtomicInteger();
+
+    SimulatedLatencyPort(Class<T> type, long latency, TimeUnit unit) {
+        this.type = type;
+        this.latencyNanos = unit.toNanos(latency);
+    }
+
+    @Override
+    public void send(T notification) {
+        int current = inFlight.incrementAndGet();
+        maxInFlight.accumulateAndGet(current, Math::max);
+        try {
+            TimeUnit.NANOSECONDS.sleep(latencyNanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } finally {
+            inFlight.decrementAndGet();
+        }
+        sent.incrementAndGet();
+    }
+
+    @Override
+    public Class<T> supports() {
+        return type;
+    }
+
+    int maxInFlight() {
+        return maxInFlight.get();
+    }
+
+    int sent() {
+        return sent.get();
+    }
+}
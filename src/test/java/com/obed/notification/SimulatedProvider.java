@@ -0,0 +1,117 @@
+package com.obed.notification;
+
+import com.obed.notification.domain.model.Notification;
+import com.obed.notification.ports.out.AsyncNotificationPort;
+import com.obed.notification.ports.out.NotificationPort;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fake providers for benchmarks: every send takes a latency drawn from a {@link LatencyModel} and fails with the
+ * given probability. The blocking flavour holds the calling thread like an adapter on a synchronous HTTP client;
+ * the async one completes its future later from a timer thread, like an adapter on a non-blocking client.
+ */
+final class SimulatedProvider {
+    private static final ScheduledExecutorService TIMER = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "simulated-provider");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private SimulatedProvider() {
+    }
+
+    /**
+     * Latency of one simulated provider call, in nanoseconds.
+     */
+    @FunctionalInterface
+    interface LatencyModel {
+        long sampleNanos();
+
+        static LatencyModel none() {
+            return () -> 0;
+        }
+
+        static LatencyModel fixed(Duration latency) {
+            long nanos = latency.toNanos();
+            return () -> nanos;
+        }
+
+        static LatencyModel uniform(Duration min, Duration max) {
+            long from = min.toNanos();
+            long to = max.toNanos();
+            return () -> ThreadLocalRandom.current().nextLong(from, to + 1);
+        }
+
+        /**
+         * Long-tailed latency with the given median and 99th percentile, the usual shape of a remote API.
+         */
+        static LatencyModel logNormal(Duration median, Duration p99) {
+            double mu = Math.log(median.toNanos());
+            double sigma = Math.log((double) p99.toNanos() / median.toNanos()) / 2.326;
+            return () -> (long) Math.exp(mu + sigma * ThreadLocalRandom.current().nextGaussian());
+        }
+    }
+
+    static <T extends Notification> NotificationPort<T> blocking(Class<T> type, LatencyModel latency, double errorRate) {
+        return new Blocking<>(type, latency, errorRate);
+    }
+
+    static <T extends Notification> AsyncNotificationPort<T> async(Class<T> type, LatencyModel latency,
+                                                                   double errorRate) {
+        return new Async<>(type, latency, errorRate);
+    }
+
+    private static boolean fails(double errorRate) {
+        return errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate;
+    }
+
+    private static RuntimeException error() {
+        return new IllegalStateException("Simulated provider error");
+    }
+
+    private record Blocking<T extends Notification>(Class<T> supports, LatencyModel latency, double errorRate)
+            implements NotificationPort<T> {
+        @Override
+        public void send(T notification) {
+            long nanos = latency.sampleNanos();
+            if (nanos > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(nanos);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException(e);
+                }
+            }
+            if (fails(errorRate)) {
+                throw error();
+            }
+        }
+    }
+
+    private record Async<T extends Notification>(Class<T> supports, LatencyModel latency, double errorRate)
+            implements AsyncNotificationPort<T> {
+        @Override
+        public CompletableFuture<Void> sendAsync(T notification) {
+            long nanos = latency.sampleNanos();
+            boolean fails = fails(errorRate);
+            if (nanos <= 0) {
+                return fails ? CompletableFuture.failedFuture(error()) : CompletableFuture.completedFuture(null);
+            }
+            CompletableFuture<Void> future = new CompletableFuture<>();
+            TIMER.schedule(() -> {
+                if (fails) {
+                    future.completeExceptionally(error());
+                } else {
+                    future.complete(null);
+                }
+            }, nanos, TimeUnit.NANOSECONDS);
+            return future;
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package com.obed.notification;
+
+import com.obed.notification.domain.exception.ThrottledException;
+import com.obed.notification.domain.model.SmsNotification;
+import com.obed.notification.ports.out.NotificationPort;
+import com.obed.notification.ports.out.SendResult;
+import com.obed.notification.resilience.RateLimit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TenantNotificationClientTest {
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+    private final List<String> setUps = new CopyOnWriteArrayList<>();
+    private final Map<String, RecordingPort> ports = new ConcurrentHashMap<>();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private TenantNotificationClient.Builder builder() {
+        return TenantNotificationClient.builder()
+                .withExecutor(executor)
+                .withTenantProviders((tenantId, builder) -> {
+                    setUps.add(tenantId);
+                    builder.registerProvider(ports.computeIfAbsent(tenantId, id -> new RecordingPort()));
+                });
+    }
+
+    @Test
+    @DisplayName("Each tenant must be set up once and send through its own providers")
+    void shouldCacheTenantProviders() {
+        var client = builder().build();
+
+        client.send("acme", sms("1"));
+        client.sendAsync("acme", sms("2")).join();
+        client.sendAll("globex", List.of(sms("3"), sms("4")));
+
+        assertEquals(List.of("acme", "globex"), setUps);
+        assertEquals(2, ports.get("acme").sent.size());
+        assertEquals(2, ports.get("globex").sent.size());
+    }
+
+    @Test
+    @DisplayName("The least recently used tenant must be evicted once maxTenants are cached")
+    void shouldEvictLeastRecentlyUsedTenant() {
+        var client = builder().withMaxTenants(2).build();
+
+        client.send("a", sms("1"));
+        client.send("b", sms("2"));
+        client.send("a", sms("3"));
+        client.send("c", sms("4"));
+        client.send("a", sms("5"));
+        client.send("b", sms("6"));
+
+        assertEquals(2, client.cachedTenants());
+        assertEquals(List.of("a", "b", "c", "b"), setUps);
+    }
+
+    @Test
+    @DisplayName("Sends racing with the eviction of their tenant must still be delivered")
+    void shouldNotFailSendsRacingWithEviction() throws Exception {
+        var client = builder().withMaxTenants(2).build();
+        AtomicInteger failures = new AtomicInteger();
+
+        try (var senders = Executors.newFixedThreadPool(8)) {
+            for (int t = 0; t < 8; t++) {
+                int thread = t;
+                senders.execute(() -> {
+                    for (int i = 0; i < 500; i++) {
+                        try {
+                            client.send("tenant-" + (thread + i) % 20, sms("m" + i));
+                        } catch (RuntimeException e) {
+                            failures.incrementAndGet();
+                        }
+                    }
+                });
+            }
+        }
+
+        assertEquals(0, failures.get());
+        assertEquals(4_000, ports.values().stream().mapToInt(port -> port.sent.size()).sum());
+    }
+
+    @Test
+    @DisplayName("A tenant's quota must survive the eviction of its providers")
+    void shouldKeepQuotaAcrossEviction() {
+        var client = builder()
+                .withMaxTenants(1)
+                .withTenantLimits(tenantId -> TenantLimits.defaults()
+                        .withQuota(tenantId.equals("noisy") ? new RateLimit(0.001, 1) : null))
+                .build();
+
+        client.send("noisy", sms("1"));
+        client.send("quiet", sms("2"));
+        assertEquals(List.of("noisy", "quiet"), setUps);
+
+        assertThrows(ThrottledException.class, () -> client.send("noisy", sms("3")));
+        assertEquals(1, ports.get("noisy").sent.size());
+    }
+
+    @Test
+    @DisplayName("close must wait for the sends an evicted tenant still has in flight")
+    void shouldDrainEvictedTenants() {
+        CountDownLatch release = new CountDownLatch(1);
+        ports.put("busy", new RecordingPort(release));
+        var client = builder().build();
+
+        CompletableFuture<Void> sent = client.sendAsync("busy", sms("1"));
+        client.evict("busy");
+        CompletableFuture.delayedExecutor(200, TimeUnit.MILLISECONDS).execute(release::countDown);
+        DrainReport report = client.close(Duration.ofSeconds(5));
+
+        assertTrue(report.isComplete());
+        assertTrue(sent.isDone());
+        assertEquals(1, ports.get("busy").sent.size());
+    }
+
+    @Test
+    @DisplayName("A tenant over its quota must be throttled without affecting other tenants")
+    void shouldEnforceQuotaPerTenant() {
+        var client = builder()
+                .withTenantLimits(tenantId -> TenantLimits.defaults()
+                        .withQuota(tenantId.equals("noisy") ? new RateLimit(0.001, 1) : null))
+                .build();
+
+        client.send("noisy", sms("1"));
+        assertThrows(ThrottledException.class, () -> client.send("noisy", sms("2")));
+        assertTrue(client.sendAsync("noisy", sms("3")).isCompletedExceptionally());
+        assertTrue(client.sendAll("noisy", List.of(sms("4"))).stream().noneMatch(SendResult::isSuccess));
+
+        for (int i = 0; i < 10; i++) {
+            client.send("quiet", sms("q" + i));
+        }
+        assertEquals(1, ports.get("noisy").sent.size());
+        assertEquals(10, ports.get("quiet").sent.size());
+    }
+
+    @Test
+    @DisplayName("A tenant stuck at its concurrency limit must not hold the threads other tenants need")
+    void shouldIsolateTenantConcurrency() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        ports.put("noisy", new RecordingPort(release));
+        var client = builder().withTenantLimits(TenantLimits.defaults().withMaxConcurrency(1)).build();
+
+        List<CompletableFuture<Void>> noisy = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            noisy.add(client.sendAsync("noisy", sms("n" + i)));
+        }
+        List<CompletableFuture<Void>> quiet = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            quiet.add(client.sendAsync("quiet", sms("q" + i)));
+        }
+
+        CompletableFuture.allOf(quiet.toArray(new CompletableFuture[0])).get(5, TimeUnit.SECONDS);
+        assertEquals(19, client.laneStats("noisy").get(Priority.NORMAL.ordinal()).depth());
+
+        release.countDown();
+        CompletableFuture.allOf(noisy.toArray(new CompletableFuture[0])).get(5, TimeUnit.SECONDS);
+        assertEquals(20, ports.get("noisy").sent.size());
+    }
+
+    private static SmsNotification sms(String text) {
+        return new SmsNotification("+50588888888", text);
+    }
+
+    private static final class RecordingPort implements NotificationPort<SmsNotification> {
+        private final List<SmsNotification> sent = new CopyOnWriteArrayList<>();
+        private final CountDownLatch release;
+
+        private RecordingPort() {
+            this(new CountDownLatch(0));
+        }
+
+        private RecordingPort(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public void send(SmsNotification notification) {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            sent.add(notification);
+        }
+
+        @Override
+        public Class<SmsNotification> supports() {
+            return SmsNotification.class;
+        }
+    }
+}
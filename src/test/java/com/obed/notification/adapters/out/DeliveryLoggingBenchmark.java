@@ -0,0 +1,68 @@
+package com.obed.notification.adapters.out;
+
+import com.obed.notification.adapters.out.http.DeliveryLog;
+import com.obed.notification.adapters.out.http.Redaction;
+import com.obed.notification.domain.model.SmsNotification;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-send logging cost: the five INFO lines the adapters used to write, with recipient and body, against one
+ * {@link DeliveryLog} event with DEBUG off, sampled at 1% and logging every delivery. Output goes to /dev/null, so
+ * the numbers are formatting and appender cost only; with a real file or console the legacy lines cost more.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(value = 1, jvmArgsAppend = {
+        "-Dorg.slf4j.simpleLogger.logFile=/dev/null",
+        "-Dorg.slf4j.simpleLogger.log.com.obed.notification.delivery.Sampled=debug",
+        "-Dorg.slf4j.simpleLogger.log.com.obed.notification.delivery.Everything=debug"})
+public class DeliveryLoggingBenchmark {
+    private static final Logger legacy = LoggerFactory.getLogger("com.obed.notification.legacy.TwilioSmsAdapter");
+
+    private final SmsNotification sms = new SmsNotification("+50588888888",
+            "Tu código de verificación es 482913. Expira en 10 minutos.");
+    private final DeliveryLog debugOff = DeliveryLog.of("Off");
+    private final DeliveryLog sampled = DeliveryLog.of("Sampled").withSampleRate(0.01);
+    private final DeliveryLog everything = DeliveryLog.of("Everything").withRedaction(Redaction.PARTIAL);
+
+    @Benchmark
+    public void legacyInfoLines() {
+        legacy.info("[Twilio Provider] Preparing SMS to: {}", sms.recipient());
+        legacy.info("[Twilio Provider] From: {}", "+15550001111");
+        legacy.info("[Twilio Provider] Message: {}", sms.message());
+        legacy.info("[Twilio Provider] POST https://api.twilio.com/2010-04-01/Accounts/AC123/Messages.json");
+        legacy.info("[Twilio] Response: 201 Created for {}", sms.recipient());
+    }
+
+    @Benchmark
+    public void deliveryLogDebugOff() {
+        debugOff.delivered(sms.recipient(), 1, 96, System.nanoTime());
+    }
+
+    @Benchmark
+    public void deliveryLogSampled() {
+        sampled.delivered(sms.recipient(), 1, 96, System.nanoTime());
+    }
+
+    @Benchmark
+    public void deliveryLogEverything() {
+        everything.delivered(sms.recipient(), 1, 96, System.nanoTime());
+    }
+}
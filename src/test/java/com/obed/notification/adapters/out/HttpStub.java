@@ -0,0 +1,118 @@
+package com.obed.notification.adapters.out;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Local stand-in for a provider API. Records every request and answers with a configurable status, optionally
+ * after a delay so tests can observe how many requests are in flight at once.
+ */
+public final class HttpStub implements AutoCloseable {
+    public record Request(String method, String path, String contentType, String authorization, String body) {
+    }
+
+    private record Response(int status, String body) {
+    }
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final List<Request> requests = new CopyOnWriteArrayList<>();
+    private final Queue<Response> scripted = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private volatile Response response = new Response(200, "{}");
+    private volatile Duration delay = Duration.ZERO;
+
+    public HttpStub() {
+        try {
+            server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        server.createContext("/", this::handle);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    public URI baseUrl() {
+        return URI.create("http://127.0.0.1:" + server.getAddress().getPort());
+    }
+
+    public HttpStub respondWith(int status, String body) {
+        this.response = new Response(status, body);
+        return this;
+    }
+
+    /**
+     * Answers the next request with {@code status}, then falls back to {@link #respondWith}.
+     */
+    public HttpStub respondOnceWith(int status, String body) {
+        scripted.add(new Response(status, body));
+        return this;
+    }
+
+    public HttpStub delayResponses(Duration delay) {
+        this.delay = delay;
+        return this;
+    }
+
+    public List<Request> requests() {
+        return requests;
+    }
+
+    public int maxInFlight() {
+        return maxInFlight.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        try (exchange; InputStream in = exchange.getRequestBody()) {
+            requests.add(new Request(
+                    exchange.getRequestMethod(),
+                    exchange.getRequestURI().getPath(),
+                    exchange.getRequestHeaders().getFirst("Content-Type"),
+                    exchange.getRequestHeaders().getFirst("Authorization"),
+                    new String(in.readAllBytes(), StandardCharsets.UTF_8)));
+
+            if (!delay.isZero()) {
+                Thread.sleep(delay);
+            }
+
+            Response next = scripted.poll();
+            Response answer = next != null ? next : response;
+            byte[] body = answer.body().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(answer.status(), body.length == 0 ? -1 : body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+}
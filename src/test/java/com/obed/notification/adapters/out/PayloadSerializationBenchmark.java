@@ -0,0 +1,125 @@
+package com.obed.notification.adapters.out;
+
+import com.obed.notification.adapters.out.fcm.FcmPayloadWriter;
+import com.obed.notification.adapters.out.http.BufferPool;
+import com.obed.notification.adapters.out.sendgrid.SendGridPayloadWriter;
+import com.obed.notification.adapters.out.twilio.TwilioFormWriter;
+import com.obed.notification.domain.model.EmailNotification;
+import com.obed.notification.domain.model.PushNotification;
+import com.obed.notification.domain.model.SmsNotification;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Request body serialization: the streaming writers into a pooled buffer against building maps and calling
+ * {@code ObjectMapper.writeValueAsString} (or string concatenation with {@link URLEncoder} for Twilio), followed by
+ * the {@code getBytes} the HTTP client needs. Run with {@code -prof gc} and compare {@code gc.alloc.rate.norm} for
+ * bytes/op.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PayloadSerializationBenchmark {
+    private static final ObjectMapper MAPPER = JsonMapper.builder().build();
+
+    @Param({"1", "100"})
+    public int recipients;
+
+    private final BufferPool pool = new BufferPool(4, 4 * 1024, 1024 * 1024);
+    private List<EmailNotification> emails;
+    private SmsNotification sms;
+    private PushNotification push;
+
+    @Setup
+    public void setUp() {
+        emails = new ArrayList<>(recipients);
+        for (int i = 0; i < recipients; i++) {
+            emails.add(new EmailNotification("user" + i + "@example.com", "Your order #" + i + " has shipped",
+                    "Hi! Your package is on its way and should arrive within 3 business days.", List.of()));
+        }
+        sms = new SmsNotification("+50588888888", "Tu código de verificación es 482913. Expira en 10 minutos.");
+        push = new PushNotification("fcm-device-token-0123456789abcdef", "Order shipped", "Tap to track your package",
+                Map.of("orderId", "98765", "screen", "tracking", "carrier", "DHL"));
+    }
+
+    @Benchmark
+    public int sendGridStreaming() {
+        BufferPool.Buffer buffer = pool.acquire();
+        SendGridPayloadWriter.write(emails, "sender@example.com", buffer);
+        int size = buffer.size();
+        buffer.release();
+        return size;
+    }
+
+    @Benchmark
+    public byte[] sendGridObjectMapper() {
+        List<Map<String, Object>> personalizations = new ArrayList<>(emails.size());
+        for (EmailNotification email : emails) {
+            personalizations.add(Map.of(
+                    "to", List.of(Map.of("email", email.recipient())),
+                    "subject", email.subject()));
+        }
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("personalizations", personalizations);
+        payload.put("from", Map.of("email", "sender@example.com"));
+        payload.put("content", List.of(Map.of("type", "text/plain", "value", emails.get(0).body())));
+        return MAPPER.writeValueAsString(payload).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public int twilioStreaming() {
+        BufferPool.Buffer buffer = pool.acquire();
+        TwilioFormWriter.write(sms, "+15550001111", buffer);
+        int size = buffer.size();
+        buffer.release();
+        return size;
+    }
+
+    @Benchmark
+    public byte[] twilioUrlEncoder() {
+        String form = "To=" + URLEncoder.encode(sms.recipient(), StandardCharsets.UTF_8)
+                + "&From=" + URLEncoder.encode("+15550001111", StandardCharsets.UTF_8)
+                + "&Body=" + URLEncoder.encode(sms.message(), StandardCharsets.UTF_8);
+        return form.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public int fcmStreaming() {
+        BufferPool.Buffer buffer = pool.acquire();
+        FcmPayloadWriter.write(push, buffer);
+        int size = buffer.size();
+        buffer.release();
+        return size;
+    }
+
+    @Benchmark
+    public byte[] fcmObjectMapper() {
+        Map<String, Object> message = new LinkedHashMap<>();
+        message.put("token", push.recipient());
+        message.put("notification", Map.of("title", push.title(), "body", push.body()));
+        message.put("data", push.data());
+        return MAPPER.writeValueAsString(Map.of("message", message)).getBytes(StandardCharsets.UTF_8);
+    }
+}
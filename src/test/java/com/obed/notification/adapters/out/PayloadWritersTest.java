@@ -0,0 +1,117 @@
+package com.obed.notification.adapters.out;
+
+import com.obed.notification.adapters.out.fcm.FcmPayloadWriter;
+import com.obed.notification.adapters.out.http.BufferPool;
+import com.obed.notification.adapters.out.sendgrid.AttachmentCache;
+import com.obed.notification.adapters.out.sendgrid.SendGridPayloadWriter;
+import com.obed.notification.adapters.out.twilio.TwilioFormWriter;
+import com.obed.notification.domain.model.EmailNotification;
+import com.obed.notification.domain.model.PushNotification;
+import com.obed.notification.domain.model.SmsNotification;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.File;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class PayloadWritersTest {
+    private static final ObjectMapper MAPPER = JsonMapper.builder().build();
+
+    @Test
+    @DisplayName("The SendGrid writer must produce the same document as serializing the equivalent maps")
+    void shouldWriteSendGridPayload() throws Exception {
+        Path attachment = Files.createTempFile("invoice", ".txt");
+        Files.writeString(attachment, "total: 42");
+        File file = attachment.toFile();
+        var recipients = List.of(
+                new EmailNotification("a@test.com", "Hi \"A\"", "Línea 1\nLínea 2", List.of(file)),
+                new EmailNotification("b@test.com", "Hi B", "Línea 1\nLínea 2", List.of(file)));
+
+        Map<String, Object> expected = new LinkedHashMap<>();
+        expected.put("personalizations", List.of(
+                Map.of("to", List.of(Map.of("email", "a@test.com")), "subject", "Hi \"A\""),
+                Map.of("to", List.of(Map.of("email", "b@test.com")), "subject", "Hi B")));
+        expected.put("from", Map.of("email", "sender@test.com"));
+        expected.put("content", List.of(Map.of("type", "text/plain", "value", "Línea 1\nLínea 2")));
+        expected.put("attachments", List.of(Map.of(
+                "content", Base64.getEncoder().encodeToString("total: 42".getBytes(StandardCharsets.UTF_8)),
+                "filename", file.getName())));
+
+        BufferPool.Buffer buffer = new BufferPool(1, 16, 1024).acquire();
+        SendGridPayloadWriter.write(recipients, "sender@test.com", buffer);
+
+        assertEquals(MAPPER.readTree(MAPPER.writeValueAsString(expected)), MAPPER.readTree(buffer.asString()));
+    }
+
+    @Test
+    @DisplayName("Attachments taken from the cache must be encoded once per content and match the streamed encoding")
+    void shouldEncodeCachedAttachmentsOncePerContent() throws Exception {
+        byte[] report = new byte[100_001];
+        new Random(7).nextBytes(report);
+        File first = Files.write(Files.createTempFile("report", ".bin"), report).toFile();
+        File copy = Files.write(Files.createTempFile("report-copy", ".bin"), report).toFile();
+        var recipients = List.of(new EmailNotification("a@test.com", "Report", "See attached", List.of(first, copy)));
+        var cache = new AttachmentCache();
+
+        BufferPool.Buffer streamed = new BufferPool(2, 16, 1024).acquire();
+        BufferPool.Buffer cached = new BufferPool(2, 16, 1024).acquire();
+        SendGridPayloadWriter.write(recipients, "sender@test.com", streamed);
+        SendGridPayloadWriter.write(recipients, "sender@test.com", cache, cached);
+
+        assertEquals(streamed.asString(), cached.asString());
+        assertSame(cache.encoded(first), cache.encoded(copy));
+        assertEquals(Base64.getEncoder().encodeToString(report),
+                new String(cache.encoded(first), StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    @DisplayName("The FCM writer must include the data map and skip missing title and body")
+    void shouldWriteFcmPayload() {
+        BufferPool.Buffer buffer = new BufferPool(1, 16, 1024).acquire();
+
+        FcmPayloadWriter.write(new PushNotification("device-1", null, "Body", Map.of("k", "v")), buffer);
+
+        assertEquals("{\"message\":{\"token\":\"device-1\",\"notification\":{\"body\":\"Body\"},\"data\":{\"k\":\"v\"}}}",
+                buffer.asString());
+    }
+
+    @Test
+    @DisplayName("The Twilio writer must encode exactly like URLEncoder, including multi-byte characters")
+    void shouldEncodeLikeUrlEncoder() {
+        String message = "Hola ñandú! 50% off ~ 🎉 a+b=c&d";
+        BufferPool.Buffer buffer = new BufferPool(1, 16, 1024).acquire();
+
+        TwilioFormWriter.write(new SmsNotification("+50588888888", message), "+15550001111", buffer);
+
+        assertEquals("To=" + URLEncoder.encode("+50588888888", StandardCharsets.UTF_8)
+                + "&From=" + URLEncoder.encode("+15550001111", StandardCharsets.UTF_8)
+                + "&Body=" + URLEncoder.encode(message, StandardCharsets.UTF_8), buffer.asString());
+    }
+
+    @Test
+    @DisplayName("A released buffer must be handed out again, emptied")
+    void shouldReuseReleasedBuffers() {
+        var pool = new BufferPool(1, 16, 1024);
+        BufferPool.Buffer buffer = pool.acquire();
+        buffer.write(42);
+        buffer.release();
+
+        BufferPool.Buffer reused = pool.acquire();
+
+        assertSame(buffer, reused);
+        assertEquals(0, reused.size());
+    }
+}
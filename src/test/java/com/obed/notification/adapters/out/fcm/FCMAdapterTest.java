@@ -0,0 +1,65 @@
+package com.obed.notification.adapters.out.fcm;
+
+import com.obed.notification.adapters.out.HttpStub;
+import com.obed.notification.domain.model.PushNotification;
+import com.obed.notification.ports.out.SendResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FCMAdapterTest {
+    private HttpStub stub;
+    private FCMAdapter adapter;
+
+    @BeforeEach
+    void setUp() {
+        stub = new HttpStub().respondWith(200, "{\"name\":\"projects/my-app/messages/0:1\"}");
+        adapter = new FCMAdapter(new FcmConfig("my-app", "ya29.token", stub.baseUrl()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        stub.close();
+    }
+
+    @Test
+    @DisplayName("send must POST a v1 message for the device token to the project's messages:send endpoint")
+    void shouldPostMessage() {
+        adapter.send(new PushNotification("device-1", "Title", "Body", Map.of("orderId", "42")));
+
+        HttpStub.Request request = stub.requests().get(0);
+        assertEquals("/v1/projects/my-app/messages:send", request.path());
+        assertEquals("Bearer ya29.token", request.authorization());
+        assertEquals("{\"message\":{\"token\":\"device-1\",\"notification\":{\"title\":\"Title\",\"body\":\"Body\"},"
+                + "\"data\":{\"orderId\":\"42\"}}}", request.body());
+    }
+
+    @Test
+    @DisplayName("sendBatch must send one request per device token")
+    void shouldSendOneRequestPerToken() {
+        List<SendResult> results = adapter.sendBatch(List.of(
+                new PushNotification("device-1", "T", "B", Map.of()),
+                new PushNotification("device-2", "T", "B", Map.of()),
+                new PushNotification("device-3", "T", "B", Map.of())));
+
+        assertTrue(results.stream().allMatch(SendResult::isSuccess));
+        assertEquals(3, stub.requests().size());
+    }
+
+    @Test
+    @DisplayName("warmUp must reach the messages:send endpoint without sending a message")
+    void shouldPrimeConnection() {
+        adapter.warmUp();
+
+        HttpStub.Request request = stub.requests().get(0);
+        assertEquals("HEAD", request.method());
+        assertEquals("/v1/projects/my-app/messages:send", request.path());
+    }
+}
@@ -0,0 +1,29 @@
+package com.obed.notification.adapters.out.http;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DeliveryLogTest {
+
+    @Test
+    @DisplayName("Partial redaction must keep only the first character and domain of emails and the tail of numbers")
+    void shouldRedactRecipients() {
+        assertEquals("u***@example.com", Redaction.PARTIAL.apply("user.name@example.com"));
+        assertEquals("***8888", Redaction.PARTIAL.apply("+50588888888"));
+        assertEquals("***", Redaction.PARTIAL.apply("+123"));
+        assertEquals("***", Redaction.FULL.apply("+50588888888"));
+        assertEquals("+50588888888", Redaction.NONE.apply("+50588888888"));
+    }
+
+    @Test
+    @DisplayName("Sample rates outside [0, 1] must be rejected")
+    void shouldValidateSampleRate() {
+        assertThrows(IllegalArgumentException.class, () -> DeliveryLog.of("Twilio").withSampleRate(1.5));
+        assertThrows(IllegalArgumentException.class, () -> DeliveryLog.of("Twilio").withSampleRate(Double.NaN));
+        assertDoesNotThrow(() -> DeliveryLog.of("Twilio").withSampleRate(0).delivered("+50588888888", 1, 10, System.nanoTime()));
+    }
+}
@@ -0,0 +1,123 @@
+package com.obed.notification.adapters.out.sendgrid;
+
+import com.obed.notification.adapters.out.HttpStub;
+import com.obed.notification.domain.exception.DeliveryException;
+import com.obed.notification.domain.exception.ThrottledException;
+import com.obed.notification.domain.exception.ValidationException;
+import com.obed.notification.domain.model.EmailNotification;
+import com.obed.notification.ports.out.SendResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SendGridEmailAdapterTest {
+    private HttpStub stub;
+    private SendGridEmailAdapter adapter;
+
+    @BeforeEach
+    void setUp() {
+        stub = new HttpStub().respondWith(202, "");
+        adapter = new SendGridEmailAdapter(new SendGridConfig("SG.test-key", "sender@test.com", stub.baseUrl()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        stub.close();
+    }
+
+    @Test
+    @DisplayName("send must POST the mail as JSON to /v3/mail/send with the API key as bearer token")
+    void shouldPostMail() {
+        adapter.send(new EmailNotification("user@test.com", "Hello", "Body", List.of()));
+
+        HttpStub.Request request = stub.requests().get(0);
+        assertEquals("POST", request.method());
+        assertEquals("/v3/mail/send", request.path());
+        assertEquals("Bearer SG.test-key", request.authorization());
+        assertEquals("application/json", request.contentType());
+        assertTrue(request.body().contains("\"email\":\"user@test.com\""));
+        assertTrue(request.body().contains("\"subject\":\"Hello\""));
+    }
+
+    @Test
+    @DisplayName("send must stream attachments into the same body the buffered writer produces")
+    void shouldStreamAttachments(@TempDir Path dir) throws Exception {
+        byte[] content = new byte[10_000];
+        new Random(7).nextBytes(content);
+        File report = Files.write(dir.resolve("report.bin"), content).toFile();
+        File notes = Files.writeString(dir.resolve("notes.txt"), "odd length!").toFile();
+        EmailNotification email = new EmailNotification("user@test.com", "Report", "See attached", List.of(report, notes));
+
+        adapter.send(email);
+
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        SendGridPayloadWriter.write(List.of(email), "sender@test.com", expected);
+        assertEquals(expected.toString(StandardCharsets.UTF_8), stub.requests().get(0).body());
+    }
+
+    @Test
+    @DisplayName("send must fail with a ValidationException before any request when an attachment is missing")
+    void shouldRejectMissingAttachment(@TempDir Path dir) {
+        EmailNotification email = new EmailNotification("user@test.com", "Report", "Body",
+                List.of(dir.resolve("missing.pdf").toFile()));
+
+        assertThrows(ValidationException.class, () -> adapter.send(email));
+        assertEquals(0, stub.requests().size());
+    }
+
+    @Test
+    @DisplayName("sendBatch must send one request per distinct body, with one personalization per recipient")
+    void shouldGroupBatchByBody() {
+        List<SendResult> results = adapter.sendBatch(List.of(
+                new EmailNotification("a@test.com", "Hi", "Same", List.of()),
+                new EmailNotification("b@test.com", "Hi", "Same", List.of()),
+                new EmailNotification("c@test.com", "Hi", "Other", List.of())));
+
+        assertTrue(results.stream().allMatch(SendResult::isSuccess));
+        assertEquals(2, stub.requests().size());
+    }
+
+    @Test
+    @DisplayName("Provider errors must map to validation, throttling and delivery failures")
+    void shouldMapErrorStatuses() {
+        var email = new EmailNotification("user@test.com", "Hello", "Body", List.of());
+
+        stub.respondOnceWith(400, "{\"errors\":[{\"message\":\"bad email\"}]}");
+        assertThrows(ValidationException.class, () -> adapter.send(email));
+
+        stub.respondOnceWith(429, "");
+        assertThrows(ThrottledException.class, () -> adapter.send(email));
+
+        stub.respondOnceWith(503, "");
+        DeliveryException ex = assertThrows(DeliveryException.class, () -> adapter.send(email));
+        assertTrue(ex.getMessage().contains("503"));
+    }
+
+    @Test
+    @DisplayName("A failed request in a batch must only fail the recipients it carried")
+    void shouldFailOnlyTheFailedRequest() {
+        stub.respondOnceWith(500, "");
+
+        List<SendResult> results = adapter.sendBatch(List.of(
+                new EmailNotification("a@test.com", "Hi", "First", List.of()),
+                new EmailNotification("b@test.com", "Hi", "Second", List.of())));
+
+        assertEquals(1, results.stream().filter(SendResult::isSuccess).count());
+        assertInstanceOf(DeliveryException.class, results.stream().filter(r -> !r.isSuccess()).findFirst().orElseThrow().error());
+    }
+}
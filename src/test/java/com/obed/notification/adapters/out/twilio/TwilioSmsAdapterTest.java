@@ -0,0 +1,70 @@
+package com.obed.notification.adapters.out.twilio;
+
+import com.obed.notification.NotificationClient;
+import com.obed.notification.adapters.out.HttpStub;
+import com.obed.notification.domain.model.Notification;
+import com.obed.notification.domain.model.SmsNotification;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TwilioSmsAdapterTest {
+    private HttpStub stub;
+    private TwilioSmsAdapter adapter;
+
+    @BeforeEach
+    void setUp() {
+        stub = new HttpStub().respondWith(201, "{\"sid\":\"SM123\",\"status\":\"queued\"}");
+        adapter = new TwilioSmsAdapter(new TwilioConfig("AC123", "secret", "+15550001111", stub.baseUrl()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        stub.close();
+    }
+
+    @Test
+    @DisplayName("send must POST a form to the account's Messages resource with basic auth")
+    void shouldPostForm() {
+        adapter.send(new SmsNotification("+50588888888", "Hola & adiós"));
+
+        HttpStub.Request request = stub.requests().get(0);
+        assertEquals("/2010-04-01/Accounts/AC123/Messages.json", request.path());
+        assertEquals("application/x-www-form-urlencoded", request.contentType());
+        assertEquals("Basic " + Base64.getEncoder().encodeToString("AC123:secret".getBytes(StandardCharsets.UTF_8)),
+                request.authorization());
+        assertEquals("To=%2B50588888888&From=%2B15550001111&Body=Hola+%26+adi%C3%B3s", request.body());
+    }
+
+    @Test
+    @DisplayName("A single executor thread must be enough to keep every request of a batch in flight at once")
+    void shouldNotHoldThreadsWhileRequestsAreInFlight() {
+        stub.delayResponses(Duration.ofMillis(200));
+        try (var client = NotificationClient.builder()
+                .withExecutor(Executors.newSingleThreadExecutor())
+                .registerProvider(adapter)
+                .build()) {
+
+            List<Notification> batch = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                batch.add(new SmsNotification("+5058888888" + (i % 10), "Message " + i));
+            }
+
+            assertDoesNotThrow(() -> client.sendAllAsync(batch).join());
+            assertEquals(20, stub.requests().size());
+            assertTrue(stub.maxInFlight() > 1, "max in flight was " + stub.maxInFlight());
+        }
+    }
+}
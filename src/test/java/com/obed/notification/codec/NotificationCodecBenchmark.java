@@ -0,0 +1,83 @@
+package com.obed.notification.codec;
+
+import com.obed.notification.domain.model.Notification;
+import com.obed.notification.domain.model.PushNotification;
+import com.obed.notification.domain.model.SmsNotification;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link NotificationCodec} against Jackson JSON for one notification: encoding into a reused buffer, full decoding,
+ * and reading only the recipient for routing. Run with {@code -prof gc} for bytes/op.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NotificationCodecBenchmark {
+    private static final ObjectMapper MAPPER = JsonMapper.builder().build();
+
+    @Param({"SMS", "PUSH"})
+    public String type;
+
+    private Notification notification;
+    private final ByteBuffer buffer = ByteBuffer.allocate(4096);
+    private ByteBuffer encoded;
+    private byte[] json;
+
+    @Setup
+    public void setUp() {
+        notification = type.equals("SMS")
+                ? new SmsNotification("+50588888888", "Your verification code is 482913")
+                : new PushNotification("fcm-token-abcdef0123456789", "Goal!", "Nicaragua 1 - 0 Honduras",
+                        Map.of("collapse_key", "match-17", "type", "score", "matchId", "17"));
+        encoded = ByteBuffer.allocate(NotificationCodec.encodedSize(notification));
+        NotificationCodec.encode(notification, encoded);
+        encoded.flip();
+        json = MAPPER.writeValueAsBytes(notification);
+    }
+
+    @Benchmark
+    public ByteBuffer binaryEncode() {
+        buffer.clear();
+        NotificationCodec.encode(notification, buffer);
+        return buffer;
+    }
+
+    @Benchmark
+    public byte[] jsonEncode() {
+        return MAPPER.writeValueAsBytes(notification);
+    }
+
+    @Benchmark
+    public Notification binaryDecode() {
+        return NotificationCodec.decode(encoded.duplicate());
+    }
+
+    @Benchmark
+    public Notification jsonDecode() {
+        return MAPPER.readValue(json, notification.getClass());
+    }
+
+    @Benchmark
+    public String binaryPeekRecipient() {
+        return NotificationCodec.peekRecipient(encoded);
+    }
+}
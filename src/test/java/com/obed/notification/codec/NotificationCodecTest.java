@@ -0,0 +1,167 @@
+package com.obed.notification.codec;
+
+import com.obed.notification.domain.model.EmailNotification;
+import com.obed.notification.domain.model.Notification;
+import com.obed.notification.domain.model.PushNotification;
+import com.obed.notification.domain.model.SmsNotification;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.File;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NotificationCodecTest {
+    private static final List<Notification> SAMPLES = List.of(
+            new EmailNotification("user@test.com", "Your invoice", "Hi Ana, your invoice for March is attached.",
+                    List.of(new File("/tmp/invoice-0042.pdf"))),
+            new EmailNotification("reset@test.com", "Password reset", "Use this link to reset your password.", null)
+                    .withIdempotencyKey("reset-7"),
+            new SmsNotification("+50588888888", "Your code is 123456"),
+            new SmsNotification("+50588888889", "Pedido enviado 🚚 — llega mañana").withIdempotencyKey("order-42"),
+            new PushNotification("fcm-token-abcdef0123456789", "Goal!", "Nicaragua 1 - 0 Honduras",
+                    Map.of("collapse_key", "match-17", "type", "score", "matchId", "17")),
+            new PushNotification("fcm-token-0123456789abcdef", null, "Ping", null));
+
+    @Test
+    @DisplayName("Every notification type must round-trip, including nulls and non-ASCII text")
+    void shouldRoundTrip() {
+        ByteBuffer buffer = ByteBuffer.allocate(4096);
+        for (Notification notification : SAMPLES) {
+            NotificationCodec.encode(notification, buffer);
+        }
+        assertEquals(SAMPLES.stream().mapToInt(NotificationCodec::encodedSize).sum(), buffer.position());
+
+        buffer.flip();
+        for (Notification notification : SAMPLES) {
+            assertEquals(notification, NotificationCodec.decode(buffer));
+        }
+        assertFalse(buffer.hasRemaining());
+    }
+
+    @Test
+    @DisplayName("Strings must be encoded exactly as String.getBytes would, even through a direct buffer")
+    void shouldMatchJdkUtf8() {
+        String text = "aé中🚀 lone\ud800 end";
+        var sms = new SmsNotification("+50588888888", text);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(NotificationCodec.encodedSize(sms));
+        NotificationCodec.encode(sms, buffer);
+        buffer.flip();
+
+        byte[] expected = text.getBytes(StandardCharsets.UTF_8);
+        byte[] written = new byte[expected.length];
+        buffer.get(10, written);
+        assertArrayEquals(expected, written);
+        assertEquals(new String(expected, StandardCharsets.UTF_8),
+                ((SmsNotification) NotificationCodec.decode(buffer)).message());
+    }
+
+    @Test
+    @DisplayName("Type and recipient must be readable without decoding or consuming the record")
+    void shouldPeekTypeAndRecipient() {
+        ByteBuffer buffer = ByteBuffer.allocate(1024);
+        NotificationCodec.encode(SAMPLES.get(4), buffer);
+        buffer.flip();
+
+        assertEquals(PushNotification.class, NotificationCodec.peekType(buffer));
+        assertEquals("fcm-token-abcdef0123456789", NotificationCodec.peekRecipient(buffer));
+        assertEquals(0, buffer.position());
+    }
+
+    @Test
+    @DisplayName("Encoded records must be at most half the size of Jackson JSON")
+    void shouldBeHalfTheSizeOfJson() {
+        var mapper = JsonMapper.builder().build();
+        int json = 0;
+        int binary = 0;
+        for (Notification notification : SAMPLES) {
+            json += mapper.writeValueAsBytes(notification).length;
+            binary += NotificationCodec.encodedSize(notification);
+        }
+
+        assertTrue(binary * 2 <= json, "binary " + binary + " bytes vs JSON " + json + " bytes");
+    }
+
+    @Test
+    @DisplayName("A buffer too small must be left untouched and later versions must be rejected")
+    void shouldFailCleanly() {
+        ByteBuffer small = ByteBuffer.allocate(10);
+        small.put((byte) 7);
+        assertThrows(BufferOverflowException.class, () -> NotificationCodec.encode(SAMPLES.get(0), small));
+        assertEquals(1, small.position());
+
+        ByteBuffer buffer = ByteBuffer.allocate(1024);
+        NotificationCodec.encode(SAMPLES.get(2), buffer);
+        buffer.flip();
+        buffer.put(0, (byte) 0x82);
+        assertThrows(IllegalArgumentException.class, () -> NotificationCodec.decode(buffer));
+
+        ByteBuffer truncated = ByteBuffer.wrap(new byte[]{(byte) 0x81, 2, 20, 'x'});
+        assertThrows(IllegalArgumentException.class, () -> NotificationCodec.decode(truncated));
+    }
+
+    @Test
+    @DisplayName("Counts larger than the record and varints that overflow must be rejected before allocating")
+    void shouldRejectMalformedInput() {
+        // email with null strings and 2^31 - 2 attachments
+        ByteBuffer attachments = ByteBuffer.wrap(new byte[]{(byte) 0x81, 1, 0, 0, 0,
+                (byte) 0xff, (byte) 0xff, (byte) 0xff, (byte) 0xff, 0x07, 0});
+        assertThrows(IllegalArgumentException.class, () -> NotificationCodec.decode(attachments));
+
+        // push with null strings and 2^28 - 2 data entries
+        ByteBuffer data = ByteBuffer.wrap(new byte[]{(byte) 0x81, 3, 0, 0, 0,
+                (byte) 0xff, (byte) 0xff, (byte) 0xff, 0x7f, 0});
+        assertThrows(IllegalArgumentException.class, () -> NotificationCodec.decode(data));
+
+        // recipient length wrapping to -1 must not be read as a null recipient
+        ByteBuffer negative = ByteBuffer.wrap(new byte[]{(byte) 0x81, 3,
+                (byte) 0xff, (byte) 0xff, (byte) 0xff, (byte) 0xff, 0x0f, 0, 0, 1, 0});
+        assertThrows(IllegalArgumentException.class, () -> NotificationCodec.decode(negative));
+        assertThrows(IllegalArgumentException.class, () -> NotificationCodec.peekRecipient(negative));
+
+        ByteBuffer overlong = ByteBuffer.wrap(new byte[]{(byte) 0x81, 3,
+                (byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, 0, 0, 0, 1, 0});
+        assertThrows(IllegalArgumentException.class, () -> NotificationCodec.decode(overlong));
+    }
+
+    @Test
+    @DisplayName("Records whose fields the notification rejects must fail as malformed records")
+    void shouldRejectInvalidFields() {
+        ByteBuffer email = ByteBuffer.wrap(new byte[]{(byte) 0x81, 1, 2, 'x', 2, 'S', 2, 'B', 0, 0});
+        assertThrows(IllegalArgumentException.class, () -> NotificationCodec.decode(email));
+
+        // BCD nibbles above 9 decode to characters that are not digits
+        ByteBuffer sms = ByteBuffer.wrap(new byte[]{(byte) 0x81, 2, 2, (byte) 0xab, 3, 'H', 'i', 0});
+        assertThrows(IllegalArgumentException.class, () -> NotificationCodec.decode(sms));
+    }
+
+    @Test
+    @DisplayName("Well-known data keys must take a single byte and unknown ones must survive unchanged")
+    void shouldCompactDataKeys() {
+        Map<String, String> data = new LinkedHashMap<>();
+        data.put("collapse_key", "x");
+        var withKnownKey = new PushNotification("device-1", null, null, data);
+        data = new LinkedHashMap<>();
+        data.put("custom_key", "x");
+        var withCustomKey = new PushNotification("device-1", null, null, data);
+
+        assertEquals("custom_key".length(),
+                NotificationCodec.encodedSize(withCustomKey) - NotificationCodec.encodedSize(withKnownKey));
+
+        ByteBuffer buffer = ByteBuffer.allocate(256);
+        NotificationCodec.encode(withCustomKey, buffer);
+        buffer.flip();
+        assertEquals(withCustomKey, NotificationCodec.decode(buffer));
+    }
+}
@@ -0,0 +1,54 @@
+package com.obed.notification.domain.template;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rendering one email body with four variables: a compiled {@link Template} into a reused builder against
+ * {@code String.format} and a chain of {@code String.replace} calls on the raw template.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TemplateBenchmark {
+    private static final String SOURCE = "Hola {{name}}, tu pedido {{orderId}} por {{total}} fue enviado "
+            + "y llegará el {{day}}. Gracias por comprar con nosotros.";
+    private static final String FORMAT = "Hola %s, tu pedido %s por %s fue enviado "
+            + "y llegará el %s. Gracias por comprar con nosotros.";
+
+    private final Template template = Template.compile(SOURCE);
+    private final StringBuilder scratch = new StringBuilder(template.estimatedLength());
+    private final Map<String, Object> values = Map.of(
+            "name", "Ana", "orderId", "98765", "total", "$42.50", "day", "lunes");
+
+    @Benchmark
+    public String compiledTemplate() {
+        return template.render(values, scratch);
+    }
+
+    @Benchmark
+    public String stringFormat() {
+        return String.format(FORMAT, values.get("name"), values.get("orderId"), values.get("total"), values.get("day"));
+    }
+
+    @Benchmark
+    public String replaceChain() {
+        return SOURCE.replace("{{name}}", (String) values.get("name"))
+                .replace("{{orderId}}", (String) values.get("orderId"))
+                .replace("{{total}}", (String) values.get("total"))
+                .replace("{{day}}", (String) values.get("day"));
+    }
+}
@@ -0,0 +1,89 @@
+package com.obed.notification.domain.template;
+
+import com.obed.notification.domain.exception.ValidationException;
+import com.obed.notification.domain.model.SmsNotification;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TemplateTest {
+
+    @Test
+    @DisplayName("Placeholders must be replaced by their values, ignoring whitespace inside the braces")
+    void shouldRenderPlaceholders() {
+        Template template = Template.compile("Hola {{name}}, tu pedido {{ orderId }} llega el {{day}}. {{name}}!");
+
+        assertEquals("Hola Ana, tu pedido 42 llega el lunes. Ana!",
+                template.render(Map.of("name", "Ana", "orderId", 42, "day", "lunes")));
+        assertEquals(List.of("name", "orderId", "day"), List.copyOf(template.placeholders()));
+        assertEquals("Sin variables", Template.compile("Sin variables").render(Map.of()));
+    }
+
+    @Test
+    @DisplayName("Malformed templates and missing values must be rejected")
+    void shouldRejectInvalidInput() {
+        assertThrows(ValidationException.class, () -> Template.compile("Hola {{name"));
+        assertThrows(ValidationException.class, () -> Template.compile("Hola {{ }}"));
+        assertThrows(ValidationException.class, () -> Template.compile("Hola {{name}}").render(Map.of()));
+    }
+
+    @Test
+    @DisplayName("The registry must fall back from country to language to root and compile each key once")
+    void shouldResolveLocalesAndCache() {
+        AtomicInteger loads = new AtomicInteger();
+        var registry = new TemplateRegistry((id, locale) -> {
+            loads.incrementAndGet();
+            if (locale.equals(Locale.of("es"))) return "Hola {{name}}";
+            if (locale.equals(Locale.ROOT)) return "Hello {{name}}";
+            return null;
+        }, 10);
+
+        Template nicaragua = registry.get("welcome", Locale.of("es", "NI"));
+        assertEquals("Hola Ana", nicaragua.render(Map.of("name", "Ana")));
+        assertEquals("Hello Ana", registry.get("welcome", Locale.GERMAN).render(Map.of("name", "Ana")));
+        assertSame(nicaragua, registry.get("welcome", Locale.of("es", "NI")));
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    @DisplayName("The registry must never hold more than maxSize templates")
+    void shouldBoundRegistry() {
+        var registry = new TemplateRegistry((id, locale) -> "Template " + id, 3);
+
+        for (int i = 0; i < 10; i++) {
+            registry.get("t" + i, Locale.ROOT);
+        }
+
+        assertEquals(3, registry.size());
+    }
+
+    @Test
+    @DisplayName("bindAll must render each recipient only when it is pulled")
+    void shouldBindLazily() {
+        record Customer(String phone, String name) {
+        }
+        List<String> rendered = new ArrayList<>();
+        var template = SmsTemplate.of("Hola {{name}}");
+        var customers = List.of(new Customer("+50588888881", "Ana"), new Customer("+50588888882", "Luis"));
+
+        Iterator<SmsNotification> notifications = template.bindAll(customers.iterator(), Customer::phone, c -> {
+            rendered.add(c.name());
+            return Map.of("name", c.name());
+        });
+
+        assertEquals(List.of(), rendered);
+        assertEquals(new SmsNotification("+50588888881", "Hola Ana"), notifications.next());
+        assertEquals(List.of("Ana"), rendered);
+        assertEquals(new SmsNotification("+50588888882", "Hola Luis"), notifications.next());
+    }
+}
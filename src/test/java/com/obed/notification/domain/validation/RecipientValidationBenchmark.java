@@ -0,0 +1,63 @@
+package com.obed.notification.domain.validation;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * The patterns the notification records used to match against {@link RecipientValidator}. Run with
+ * {@code -prof gc}: the pattern side allocates a {@link java.util.regex.Matcher} per call, the validator nothing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RecipientValidationBenchmark {
+    private static final Pattern EMAIL_PATTERN = Pattern.compile("^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+$");
+    private static final Pattern PHONE_PATTERN = Pattern.compile("^\\+[1-9]\\d{1,14}$");
+
+    @Param({"valid", "invalid"})
+    public String kind;
+
+    private String email;
+    private String phone;
+
+    @Setup
+    public void setUp() {
+        email = kind.equals("valid") ? "customer.name+promo@mail.example.com" : "customer.name+promo@mail example.com";
+        phone = kind.equals("valid") ? "+50588888888" : "+505-8888-8888";
+    }
+
+    @Benchmark
+    public boolean emailPattern() {
+        return EMAIL_PATTERN.matcher(email).matches();
+    }
+
+    @Benchmark
+    public boolean emailValidator() {
+        return RecipientValidator.isEmail(email);
+    }
+
+    @Benchmark
+    public boolean phonePattern() {
+        return PHONE_PATTERN.matcher(phone).matches();
+    }
+
+    @Benchmark
+    public boolean phoneValidator() {
+        return RecipientValidator.isE164(phone);
+    }
+}
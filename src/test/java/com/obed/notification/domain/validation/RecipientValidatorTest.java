@@ -0,0 +1,100 @@
+package com.obed.notification.domain.validation;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RecipientValidatorTest {
+    private static final Pattern EMAIL_PATTERN = Pattern.compile("^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+$");
+    private static final Pattern PHONE_PATTERN = Pattern.compile("^\\+[1-9]\\d{1,14}$");
+
+    // Every character class the patterns distinguish, plus look-alikes: unicode digits and letters, line terminators
+    private static final char[] EMAIL_ALPHABET = "aZ09+_.-@ \n\r\t!#é٣ＡxX".toCharArray();
+    private static final char[] PHONE_ALPHABET = "+0123456789 -\n()٣a".toCharArray();
+    private static final int SAMPLES = 200_000;
+
+    @Test
+    @DisplayName("isEmail must agree with the original pattern on random and mutated inputs")
+    void emailMustMatchPattern() {
+        Random random = new Random(17);
+        for (int i = 0; i < SAMPLES; i++) {
+            String input = i % 2 == 0
+                    ? randomString(random, EMAIL_ALPHABET, 12)
+                    : mutate(random, "user.name+tag_1@mail-server.example.com", EMAIL_ALPHABET);
+            assertEquals(EMAIL_PATTERN.matcher(input).matches(), RecipientValidator.isEmail(input), input);
+        }
+    }
+
+    @Test
+    @DisplayName("isE164 must agree with the original pattern on random and mutated inputs")
+    void phoneMustMatchPattern() {
+        Random random = new Random(23);
+        for (int i = 0; i < SAMPLES; i++) {
+            String input = i % 2 == 0
+                    ? randomString(random, PHONE_ALPHABET, 18)
+                    : mutate(random, random.nextBoolean() ? "+50588888888" : "+123456789012345", PHONE_ALPHABET);
+            assertEquals(PHONE_PATTERN.matcher(input).matches(), RecipientValidator.isE164(input), input);
+        }
+    }
+
+    @Test
+    @DisplayName("Boundary inputs must be classified like the patterns do")
+    void shouldHandleBoundaries() {
+        for (String input : List.of("", "@", "a@", "@b", "a@b", "a@@b", "a@b\n", "+1", "+12", "+0123",
+                "+123456789012345", "+1234567890123456", "+12\n")) {
+            assertEquals(EMAIL_PATTERN.matcher(input).matches(), RecipientValidator.isEmail(input), input);
+            assertEquals(PHONE_PATTERN.matcher(input).matches(), RecipientValidator.isE164(input), input);
+        }
+        assertFalse(RecipientValidator.isEmail(null));
+        assertFalse(RecipientValidator.isE164(null));
+    }
+
+    @Test
+    @DisplayName("Bulk validation must report every invalid recipient by index without throwing")
+    void shouldReportFailuresByIndex() {
+        ValidationReport report = RecipientValidator.validatePhones(
+                Arrays.asList("+50588888881", "88888888", "+50588888883", null, "+0123"));
+
+        assertEquals(5, report.checked());
+        assertEquals(List.of(1, 3, 4), report.failures().stream().map(ValidationReport.Failure::index).toList());
+        assertTrue(RecipientValidator.validateEmails(List.of("a@b.com", "c@d.org")).isValid());
+    }
+
+    private static String randomString(Random random, char[] alphabet, int maxLength) {
+        char[] chars = new char[random.nextInt(maxLength + 1)];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = alphabet[random.nextInt(alphabet.length)];
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Applies one to three random insertions, deletions or replacements to a valid input.
+     */
+    private static String mutate(Random random, String valid, char[] alphabet) {
+        StringBuilder builder = new StringBuilder(valid);
+        int mutations = 1 + random.nextInt(3);
+        for (int m = 0; m < mutations; m++) {
+            int position = random.nextInt(builder.length() + 1);
+            char c = alphabet[random.nextInt(alphabet.length)];
+            switch (random.nextInt(3)) {
+                case 0 -> builder.insert(position, c);
+                case 1 -> {
+                    if (position < builder.length()) builder.deleteCharAt(position);
+                }
+                default -> {
+                    if (position < builder.length()) builder.setCharAt(position, c);
+                }
+            }
+        }
+        return builder.toString();
+    }
+}
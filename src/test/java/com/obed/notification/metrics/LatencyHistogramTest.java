@@ -0,0 +1,46 @@
+package com.obed.notification.metrics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LatencyHistogramTest {
+
+    @Test
+    @DisplayName("Every value must land in a bucket whose reported value is within 3.2% above it")
+    void shouldBoundRelativeError() {
+        long previousIndex = -1;
+        for (long value = 0; value < 5_000_000; value += 1 + value / 100) {
+            int index = LatencyHistogram.index(value);
+            long reported = LatencyHistogram.highestEquivalent(index);
+
+            assertTrue(index >= previousIndex);
+            assertTrue(reported >= value);
+            assertTrue(reported - value <= value / 31);
+            previousIndex = index;
+        }
+        assertTrue(LatencyHistogram.index(Long.MAX_VALUE) >= 0);
+    }
+
+    @Test
+    @DisplayName("Percentiles must reflect values recorded concurrently")
+    void shouldComputePercentiles() {
+        var histogram = new LatencyHistogram();
+        try (var executor = Executors.newFixedThreadPool(4)) {
+            IntStream.rangeClosed(1, 10_000).forEach(i -> executor.execute(() -> histogram.record(i * 1_000L)));
+        }
+
+        HistogramSnapshot snapshot = histogram.snapshot();
+
+        assertEquals(10_000, snapshot.count());
+        assertEquals(10_000_000, snapshot.max());
+        assertEquals(5_000_500, snapshot.mean(), 1);
+        assertEquals(5_000_000, snapshot.p50(), 5_000_000 * 0.032);
+        assertEquals(9_900_000, snapshot.p99(), 9_900_000 * 0.032);
+    }
+}
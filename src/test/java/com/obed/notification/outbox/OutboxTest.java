@@ -0,0 +1,187 @@
+package com.obed.notification.outbox;
+
+import com.obed.notification.codec.NotificationCodec;
+import com.obed.notification.domain.model.EmailNotification;
+import com.obed.notification.domain.model.Notification;
+import com.obed.notification.domain.model.PushNotification;
+import com.obed.notification.domain.model.SmsNotification;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OutboxTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Records that were never acknowledged must be recovered, in order, when the outbox is reopened")
+    void shouldRecoverUnacknowledgedRecords() {
+        var email = new EmailNotification("user@test.com", "Sub", "Body", List.of(new File("/tmp/report.pdf")));
+        var sms = new SmsNotification("+50588888888", "Hola ñ");
+        var push = new PushNotification("device-1", null, "Body", Map.of("orderId", "42"));
+
+        try (Outbox outbox = Outbox.open(OutboxOptions.in(directory))) {
+            outbox.append(email).join();
+            long delivered = outbox.append(sms).join();
+            outbox.append(push).join();
+            outbox.acknowledge(delivered);
+        }
+
+        try (Outbox outbox = Outbox.open(OutboxOptions.in(directory))) {
+            List<Notification> recovered = outbox.recovered().stream().map(Outbox.Entry::notification).toList();
+
+            assertEquals(List.of(email, push), recovered);
+            assertTrue(outbox.recovered().isEmpty());
+        }
+    }
+
+    @Test
+    @DisplayName("Appends from many threads must all become durable and get distinct ids")
+    void shouldGroupCommitConcurrentAppends() throws Exception {
+        int count = 2_000;
+        try (Outbox outbox = Outbox.open(OutboxOptions.in(directory));
+             var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<CompletableFuture<Long>> appends = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                var sms = new SmsNotification("+5058888" + String.format("%04d", i), "Code " + i);
+                appends.add(CompletableFuture.supplyAsync(() -> outbox.append(sms), executor).thenCompose(f -> f));
+            }
+            assertEquals(count, appends.stream().map(CompletableFuture::join).distinct().count());
+        }
+
+        try (Outbox outbox = Outbox.open(OutboxOptions.in(directory))) {
+            assertEquals(count, outbox.recovered().size());
+        }
+    }
+
+    @Test
+    @DisplayName("Segments must be deleted once every record in them is acknowledged")
+    void shouldCompactAcknowledgedSegments() {
+        var options = OutboxOptions.in(directory).withSegmentSize(4096);
+        List<SmsNotification> notifications = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            notifications.add(new SmsNotification("+50588888888", "Message number " + i));
+        }
+
+        try (Outbox outbox = Outbox.open(options)) {
+            long[] ids = outbox.appendAll(notifications).join();
+            assertTrue(outbox.segmentCount() > 1);
+
+            for (long id : ids) {
+                outbox.acknowledge(id);
+            }
+            assertEquals(1, outbox.segmentCount());
+        }
+
+        try (Outbox outbox = Outbox.open(options)) {
+            assertTrue(outbox.recovered().isEmpty());
+        }
+    }
+
+    @Test
+    @DisplayName("Ids must not be reused after compaction left only acknowledgements on disk")
+    void shouldNotReuseIdsAfterCompactingToAcknowledgements() throws Exception {
+        var options = OutboxOptions.in(directory).withSegmentSize(4096);
+        var sms = new SmsNotification("+50588888888", "Code 1234");
+        long lastId;
+
+        try (Outbox outbox = Outbox.open(options)) {
+            // append and acknowledge until an acknowledgement opens a new segment and compaction drops the old one
+            while (true) {
+                long id = outbox.append(sms).join();
+                List<Path> before = segmentFiles();
+                outbox.acknowledge(id);
+                if (!before.equals(segmentFiles())) {
+                    lastId = id;
+                    break;
+                }
+            }
+            assertEquals(1, outbox.segmentCount());
+        }
+
+        try (Outbox outbox = Outbox.open(options)) {
+            assertTrue(outbox.recovered().isEmpty());
+            long id = outbox.append(sms).join();
+            assertTrue(id > lastId, "id " + id + " was handed out again");
+            outbox.acknowledge(id);
+
+            for (int i = 0; i < 2_000; i++) {
+                outbox.acknowledge(outbox.append(sms).join());
+            }
+            assertEquals(1, outbox.segmentCount());
+        }
+    }
+
+    @Test
+    @DisplayName("A notification that cannot be encoded must fail its append and leave nothing in the log")
+    void shouldFailAppendOfUnencodableNotification() {
+        Map<String, String> data = new HashMap<>();
+        data.put(null, "x");
+        var push = new PushNotification("device-1", "Title", "Body", data);
+        var sms = new SmsNotification("+50588888888", "Hola");
+        OutboxOptions options = OutboxOptions.in(directory).withSegmentSize(4096);
+
+        try (Outbox outbox = Outbox.open(options)) {
+            assertThrows(CompletionException.class, outbox.append(push)::join);
+            assertThrows(CompletionException.class, outbox.appendAll(List.of(sms, push))::join);
+        }
+        try (Outbox outbox = Outbox.open(options)) {
+            assertTrue(outbox.recovered().isEmpty());
+        }
+    }
+
+    private List<Path> segmentFiles() throws Exception {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted().toList();
+        }
+    }
+
+    @Test
+    @DisplayName("A torn record at the tail must be ignored and appends must continue after the last intact one")
+    void shouldStopAtTornRecord() throws Exception {
+        var first = new SmsNotification("+50588888881", "First");
+        var second = new SmsNotification("+50588888882", "Second");
+        OutboxOptions options = OutboxOptions.in(directory).withSegmentSize(4096);
+        try (Outbox outbox = Outbox.open(options)) {
+            outbox.append(first).join();
+            outbox.append(second).join();
+        }
+
+        // [firstId], then [length][crc][kind][id][payload] per record
+        int recordHeader = Integer.BYTES * 2 + 1 + Long.BYTES;
+        long secondPayload = Long.BYTES + recordHeader + NotificationCodec.encodedSize(first) + recordHeader;
+        try (var file = new RandomAccessFile(segmentFiles().getFirst().toFile(), "rw")) {
+            file.seek(secondPayload);
+            int original = file.read();
+            file.seek(secondPayload);
+            file.write(original ^ 0xFF);
+        }
+
+        var third = new SmsNotification("+50588888883", "Third");
+        try (Outbox outbox = Outbox.open(options)) {
+            assertEquals(List.of(first), outbox.recovered().stream().map(Outbox.Entry::notification).toList());
+            outbox.append(third).join();
+        }
+        try (Outbox outbox = Outbox.open(options)) {
+            assertEquals(List.of(first, third), outbox.recovered().stream().map(Outbox.Entry::notification).toList());
+        }
+    }
+}
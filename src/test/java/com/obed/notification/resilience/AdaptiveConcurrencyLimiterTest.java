@@ -0,0 +1,64 @@
+package com.obed.notification.resilience;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptiveConcurrencyLimiterTest {
+    private static final long FAST = Duration.ofMillis(10).toNanos();
+    private static final long SLOW = Duration.ofSeconds(1).toNanos();
+
+    private final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(
+            new AdaptiveConcurrency(4, 1, 8, Duration.ofMillis(100), 0.5));
+
+    private void complete(int sends, long latencyNanos, boolean throttled) {
+        for (int i = 0; i < sends; i++) {
+            assertTrue(limiter.tryAcquire());
+            limiter.release(latencyNanos, throttled);
+        }
+    }
+
+    @Test
+    @DisplayName("Fast sends must grow the limit additively up to maxLimit")
+    void shouldGrowOnFastSends() {
+        complete(5, FAST, false);
+        assertEquals(5, limiter.limit());
+
+        complete(1_000, FAST, false);
+        assertEquals(8, limiter.limit());
+    }
+
+    @Test
+    @DisplayName("A throttled send must cut the limit multiplicatively, never below minLimit")
+    void shouldBackOffOnThrottling() {
+        complete(1, FAST, true);
+        assertEquals(2, limiter.limit());
+
+        complete(10, FAST, true);
+        assertEquals(1, limiter.limit());
+    }
+
+    @Test
+    @DisplayName("A send slower than the latency threshold must count as congestion")
+    void shouldBackOffOnSlowSends() {
+        complete(1, SLOW, false);
+
+        assertEquals(2, limiter.limit());
+    }
+
+    @Test
+    @DisplayName("tryAcquire must refuse once the current limit is in flight")
+    void shouldRefuseAboveLimit() {
+        for (int i = 0; i < 4; i++) {
+            assertTrue(limiter.tryAcquire());
+        }
+
+        assertFalse(limiter.tryAcquire());
+        assertEquals(4, limiter.inFlight());
+    }
+}
@@ -0,0 +1,109 @@
+package com.obed.notification.resilience;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CircuitBreakerTest {
+    private FakeTicker ticker;
+    private CircuitBreaker breaker;
+
+    @BeforeEach
+    void setUp() {
+        ticker = new FakeTicker();
+        breaker = new CircuitBreaker(new CircuitBreakerPolicy(0.5, 4, 4, Duration.ofSeconds(10), 2), ticker);
+    }
+
+    @Test
+    @DisplayName("The circuit must stay closed until minimumCalls outcomes have been recorded")
+    void shouldWaitForMinimumCalls() {
+        breaker.onFailure();
+        breaker.onFailure();
+        breaker.onFailure();
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+        assertTrue(breaker.tryAcquirePermission());
+    }
+
+    @Test
+    @DisplayName("The circuit must open once the failure rate of the window reaches the threshold")
+    void shouldOpenOnFailureRate() {
+        breaker.onSuccess();
+        breaker.onSuccess();
+        breaker.onFailure();
+        breaker.onFailure();
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+        assertFalse(breaker.tryAcquirePermission());
+    }
+
+    @Test
+    @DisplayName("Old outcomes must slide out of the window")
+    void shouldForgetOldOutcomes() {
+        breaker.onFailure();
+        breaker.onSuccess();
+        breaker.onSuccess();
+        breaker.onSuccess();
+        breaker.onSuccess();
+
+        assertEquals(0.0, breaker.failureRate());
+    }
+
+    @Test
+    @DisplayName("After openDuration only halfOpenCalls probes pass, and their success closes the circuit")
+    void shouldCloseAfterSuccessfulProbes() {
+        trip();
+        ticker.advance(Duration.ofSeconds(10));
+
+        assertTrue(breaker.tryAcquirePermission());
+        assertTrue(breaker.tryAcquirePermission());
+        assertFalse(breaker.tryAcquirePermission());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.state());
+
+        breaker.onSuccess();
+        breaker.onSuccess();
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+        assertEquals(0.0, breaker.failureRate());
+    }
+
+    @Test
+    @DisplayName("A failed probe must open the circuit again for another openDuration")
+    void shouldReopenOnFailedProbe() {
+        trip();
+        ticker.advance(Duration.ofSeconds(10));
+        assertTrue(breaker.tryAcquirePermission());
+
+        breaker.onFailure();
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+        ticker.advance(Duration.ofSeconds(9));
+        assertFalse(breaker.tryAcquirePermission());
+    }
+
+    @Test
+    @DisplayName("A released probe permission must be handed to the next caller")
+    void shouldReturnReleasedProbes() {
+        trip();
+        ticker.advance(Duration.ofSeconds(10));
+        assertTrue(breaker.tryAcquirePermission());
+        assertTrue(breaker.tryAcquirePermission());
+
+        breaker.releasePermission();
+
+        assertTrue(breaker.tryAcquirePermission());
+    }
+
+    private void trip() {
+        for (int i = 0; i < 4; i++) {
+            breaker.onFailure();
+        }
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+    }
+}
@@ -0,0 +1,67 @@
+package com.obed.notification.resilience;
+
+import com.obed.notification.domain.exception.DeliveryException;
+import com.obed.notification.domain.exception.QueueFullException;
+import com.obed.notification.domain.exception.ValidationException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RetryPolicyTest {
+
+    @Test
+    @DisplayName("Without jitter the backoff must double per attempt until it reaches maxBackoff")
+    void shouldGrowExponentiallyUpToMax() {
+        var policy = RetryPolicy.exponential(10, Duration.ofMillis(100), Duration.ofMillis(500)).withJitter(0);
+
+        assertEquals(Duration.ofMillis(100).toNanos(), policy.backoffNanos(1));
+        assertEquals(Duration.ofMillis(200).toNanos(), policy.backoffNanos(2));
+        assertEquals(Duration.ofMillis(400).toNanos(), policy.backoffNanos(3));
+        assertEquals(Duration.ofMillis(500).toNanos(), policy.backoffNanos(4));
+    }
+
+    @Test
+    @DisplayName("Jitter must only ever shorten the delay, never stretch it")
+    void shouldKeepJitteredDelayWithinBounds() {
+        var policy = RetryPolicy.exponential(10, Duration.ofMillis(100), Duration.ofSeconds(1)).withJitter(1);
+
+        for (int i = 0; i < 1000; i++) {
+            long delay = policy.backoffNanos(2);
+            assertTrue(delay >= 0 && delay <= Duration.ofMillis(200).toNanos());
+        }
+    }
+
+    @Test
+    @DisplayName("Only delivery failures must be retried, and never past maxAttempts")
+    void shouldRetryTransientFailuresOnly() {
+        var policy = RetryPolicy.exponential(3, Duration.ofMillis(1), Duration.ofMillis(1));
+
+        assertTrue(policy.shouldRetry(new DeliveryException("503"), 2));
+        assertFalse(policy.shouldRetry(new DeliveryException("503"), 3));
+        assertFalse(policy.shouldRetry(new ValidationException("bad input"), 1));
+        assertFalse(policy.shouldRetry(new QueueFullException("full"), 1));
+    }
+
+    @Test
+    @DisplayName("The timer wheel must run a task once its delay has elapsed and skip cancelled ones")
+    void shouldFireScheduledTimeouts() throws InterruptedException {
+        var timer = new HashedWheelTimer(Duration.ofMillis(1), 8, "test-timer");
+        var fired = new CountDownLatch(1);
+
+        HashedWheelTimer.Timeout cancelled = timer.schedule(() -> { throw new AssertionError("cancelled"); }, 5, TimeUnit.MILLISECONDS);
+        HashedWheelTimer.Timeout timeout = timer.schedule(fired::countDown, 20, TimeUnit.MILLISECONDS);
+        cancelled.cancel();
+
+        assertTrue(fired.await(1, TimeUnit.SECONDS));
+        assertTrue(timeout.isExpired());
+        assertTrue(cancelled.isCancelled());
+        assertEquals(0, timer.pendingTimeouts());
+    }
+}
@@ -0,0 +1,62 @@
+package com.obed.notification.resilience;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenBucketRateLimiterTest {
+    private FakeTicker ticker;
+    private TokenBucketRateLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        ticker = new FakeTicker();
+        limiter = new TokenBucketRateLimiter(new RateLimit(10, 3), ticker);
+    }
+
+    @Test
+    @DisplayName("A full bucket must hand out its whole burst without any wait")
+    void shouldAllowBurstImmediately() {
+        assertEquals(0, limiter.reserve(1));
+        assertEquals(0, limiter.reserve(1));
+        assertEquals(0, limiter.reserve(1));
+    }
+
+    @Test
+    @DisplayName("Once the burst is spent, each further permit must wait one refill interval more")
+    void shouldDelayBeyondBurst() {
+        limiter.reserve(3);
+
+        assertEquals(Duration.ofMillis(100).toNanos(), limiter.reserve(1));
+        assertEquals(Duration.ofMillis(200).toNanos(), limiter.reserve(1));
+    }
+
+    @Test
+    @DisplayName("tryAcquire must fail without taking permits when the bucket is empty")
+    void shouldNotTakePermitsOnFailedTryAcquire() {
+        assertTrue(limiter.tryAcquire(3));
+        assertFalse(limiter.tryAcquire(1));
+
+        ticker.advance(Duration.ofMillis(100));
+
+        assertTrue(limiter.tryAcquire(1));
+        assertFalse(limiter.tryAcquire(1));
+    }
+
+    @Test
+    @DisplayName("An idle limiter must refill up to its burst and no further")
+    void shouldRefillUpToBurst() {
+        limiter.reserve(3);
+
+        ticker.advance(Duration.ofSeconds(10));
+
+        assertTrue(limiter.tryAcquire(3));
+        assertFalse(limiter.tryAcquire(1));
+    }
+}